@@ -0,0 +1,67 @@
+package greencity.benchmarks;
+
+import greencity.dto.user.UserAuthDto;
+import greencity.entity.Language;
+import greencity.entity.OwnSecurity;
+import greencity.entity.User;
+import greencity.entity.VerifyEmail;
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.security.jwt.JwtTool;
+import java.time.LocalDateTime;
+
+/**
+ * Data shared by the benchmarks. Users are filled as they are loaded from the
+ * database, with all associations that the mappers read.
+ */
+final class BenchmarkData {
+    static final String TOKEN_KEY = "benchmark-token-key-which-is-long-enough-for-hmac-sha-256";
+    static final String EMAIL = "benchmark@mail.com";
+
+    private BenchmarkData() {
+    }
+
+    static JwtTool jwtTool() {
+        return new JwtTool(15, 60, TOKEN_KEY);
+    }
+
+    static UserAuthDto userAuth() {
+        return UserAuthDto.builder()
+            .id(1L)
+            .name("Benchmark")
+            .email(EMAIL)
+            .role(Role.ROLE_USER)
+            .userStatus(UserStatus.ACTIVATED)
+            .password("hash")
+            .refreshTokenKey("refresh-token-key")
+            .build();
+    }
+
+    static User user() {
+        User user = User.builder()
+            .id(1L)
+            .name("Benchmark")
+            .firstName("Benchmark")
+            .email(EMAIL)
+            .role(Role.ROLE_USER)
+            .userStatus(UserStatus.ACTIVATED)
+            .emailNotification(EmailNotification.DISABLED)
+            .dateOfRegistration(LocalDateTime.now())
+            .lastActivityTime(LocalDateTime.now())
+            .refreshTokenKey("refresh-token-key")
+            .profilePicturePath("https://storage/benchmark.png")
+            .rating(10.0)
+            .city("Lviv")
+            .userCredo("Benchmarks first")
+            .showLocation(true)
+            .showEcoPlace(true)
+            .showShoppingList(true)
+            .language(Language.builder().id(1L).code("en").build())
+            .build();
+        user.setOwnSecurity(OwnSecurity.builder().id(1L).password("hash").user(user).build());
+        user.setVerifyEmail(VerifyEmail.builder().id(1L).token("verify-token").user(user)
+            .expiryDate(LocalDateTime.now().plusHours(24)).build());
+        return user;
+    }
+}
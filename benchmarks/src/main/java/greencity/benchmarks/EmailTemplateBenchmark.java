@@ -0,0 +1,72 @@
+package greencity.benchmarks;
+
+import greencity.service.EmailServiceImpl;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Rendering of emails by {@link EmailServiceImpl} with the templates and
+ * messages of the application. The rendered message is built but not sent, so
+ * no mail server is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+    private EmailServiceImpl emailService;
+
+    /**
+     * Creates the template engine as Spring Boot configures it, with the
+     * template cache on.
+     */
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        emailService = new EmailServiceImpl(new JavaMailSenderImpl(), templateEngine, null, command -> {
+        }, "http://localhost:4200", "http://localhost:4200/#/news", "http://localhost:8060",
+            "greencity@mail.com");
+    }
+
+    /**
+     * Renders the email with the link to confirm a new account.
+     */
+    @Benchmark
+    public void verificationEmail() {
+        emailService.sendVerificationEmail(1L, "Benchmark", BenchmarkData.EMAIL, "verify-token", "en", false);
+    }
+
+    /**
+     * Renders the email with the link to restore a password.
+     */
+    @Benchmark
+    public void restoreEmail() {
+        emailService.sendRestoreEmail(1L, "Benchmark", BenchmarkData.EMAIL, "restore-token", "en", false);
+    }
+}
@@ -0,0 +1,52 @@
+package greencity.benchmarks;
+
+import greencity.security.jwt.JwtTool;
+import greencity.security.providers.JwtAuthenticationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Verification of an access token by {@link JwtAuthenticationProvider}, which
+ * runs on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationProviderBenchmark {
+    private JwtAuthenticationProvider provider;
+    private Authentication authentication;
+
+    /**
+     * Creates the provider and a valid access token.
+     */
+    @Setup
+    public void setUp() {
+        JwtTool jwtTool = BenchmarkData.jwtTool();
+        provider = new JwtAuthenticationProvider(jwtTool, new SimpleMeterRegistry());
+        authentication = new UsernamePasswordAuthenticationToken(
+            jwtTool.createAccessToken(BenchmarkData.userAuth()), null);
+    }
+
+    /**
+     * Authenticates a request with a valid access token.
+     */
+    @Benchmark
+    public Authentication authenticate() {
+        return provider.authenticate(authentication);
+    }
+}
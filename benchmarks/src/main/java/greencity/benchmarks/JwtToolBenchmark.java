@@ -0,0 +1,74 @@
+package greencity.benchmarks;
+
+import greencity.dto.user.UserAuthDto;
+import greencity.enums.Role;
+import greencity.security.jwt.JwtTool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creation and parsing of tokens by {@link JwtTool}, as on sign in, token
+ * refresh and every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtToolBenchmark {
+    private JwtTool jwtTool;
+    private UserAuthDto user;
+    private String accessToken;
+
+    /**
+     * Creates the tool and a token to parse.
+     */
+    @Setup
+    public void setUp() {
+        jwtTool = BenchmarkData.jwtTool();
+        user = BenchmarkData.userAuth();
+        accessToken = jwtTool.createAccessToken(user);
+    }
+
+    /**
+     * Signs an access token with the user claims.
+     */
+    @Benchmark
+    public String createAccessToken() {
+        return jwtTool.createAccessToken(user);
+    }
+
+    /**
+     * Signs a refresh token.
+     */
+    @Benchmark
+    public String createRefreshToken() {
+        return jwtTool.createRefreshToken(BenchmarkData.EMAIL, Role.ROLE_USER, "refresh-token-key");
+    }
+
+    /**
+     * Reads the email from an access token without verification.
+     */
+    @Benchmark
+    public String getEmailOutOfAccessToken() {
+        return jwtTool.getEmailOutOfAccessToken(accessToken);
+    }
+
+    /**
+     * Verifies the signature and expiry of an access token.
+     */
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtTool.isTokenValid(accessToken, BenchmarkData.TOKEN_KEY);
+    }
+}
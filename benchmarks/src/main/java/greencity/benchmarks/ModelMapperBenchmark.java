@@ -0,0 +1,82 @@
+package greencity.benchmarks;
+
+import greencity.config.MapperConfig;
+import greencity.dto.user.UserProfileDtoResponse;
+import greencity.dto.user.UserVO;
+import greencity.entity.User;
+import greencity.mapping.LanguageMapper;
+import greencity.mapping.UserVOMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.Converter;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversions of users with the {@link ModelMapper} of the application: the
+ * {@link UserVOMapper} converter and the mappings that ModelMapper builds by
+ * matching fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelMapperBenchmark {
+    private ModelMapper modelMapper;
+    private User user;
+    private UserVO userVO;
+
+    /**
+     * Configures the mapper as {@link MapperConfig} does.
+     */
+    @Setup
+    public void setUp() {
+        List<Converter<?, ?>> converters = List.of(new UserVOMapper(), new LanguageMapper());
+        modelMapper = new MapperConfig().getModelMapper(converters);
+        user = BenchmarkData.user();
+        userVO = modelMapper.map(user, UserVO.class);
+    }
+
+    /**
+     * Converts a user with {@link UserVOMapper}.
+     */
+    @Benchmark
+    public UserVO userToUserVO() {
+        return modelMapper.map(user, UserVO.class);
+    }
+
+    /**
+     * Maps a user to its profile by matching fields.
+     */
+    @Benchmark
+    public UserProfileDtoResponse userToProfile() {
+        return modelMapper.map(user, UserProfileDtoResponse.class);
+    }
+
+    /**
+     * Maps a user value object back to the entity by matching fields, as on save.
+     */
+    @Benchmark
+    public User userVOToUser() {
+        return modelMapper.map(userVO, User.class);
+    }
+
+    /**
+     * Converts a language code to its id with {@link LanguageMapper}.
+     */
+    @Benchmark
+    public Long languageCodeToId() {
+        return modelMapper.map("en", Long.class);
+    }
+}
@@ -0,0 +1,66 @@
+package greencity.benchmarks;
+
+import greencity.mapping.MultipartBase64ImageMapper;
+import greencity.validator.ImageProbe;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Conversion of a profile picture sent in base64 by
+ * {@link MultipartBase64ImageMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultipartBase64ImageMapperBenchmark {
+    @Param({"256", "1024"})
+    private int size;
+    private MultipartBase64ImageMapper mapper;
+    private String image;
+
+    /**
+     * Encodes a square jpeg image of the given size as a data url.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new MultipartBase64ImageMapper(ImageProbe.withDefaults());
+        BufferedImage picture = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = picture.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.GREEN, size, size, Color.BLUE));
+        graphics.fillRect(0, 0, size, size);
+        graphics.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(picture, "jpg", bytes);
+        image = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Converts the data url to a multipart file.
+     */
+    @Benchmark
+    public MultipartFile convert() {
+        return mapper.convert(image);
+    }
+}
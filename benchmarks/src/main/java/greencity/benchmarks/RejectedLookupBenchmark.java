@@ -0,0 +1,95 @@
+package greencity.benchmarks;
+
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.WrongEmailException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of a lookup of an unknown user as seen by one rejected request. The
+ * lookup is made below {@code depth} frames, as a service call below the filter
+ * chain, the proxies and the controller, and its outcome is taken at the top,
+ * as by the exception handler or the authentication filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RejectedLookupBenchmark {
+    private static final WrongEmailException PREALLOCATED =
+        new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, false);
+
+    @Param({"20", "150"})
+    private int depth;
+
+    /**
+     * Throws a new exception with a stack trace.
+     */
+    @Benchmark
+    public String exceptionWithStackTrace() {
+        try {
+            return call(depth, () -> {
+                throw new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL);
+            });
+        } catch (WrongEmailException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Throws a new exception without a stack trace.
+     */
+    @Benchmark
+    public String stacklessException() {
+        try {
+            return call(depth, () -> {
+                throw new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, false);
+            });
+        } catch (WrongEmailException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Throws the same exception without a stack trace every time.
+     */
+    @Benchmark
+    public String preallocatedException() {
+        try {
+            return call(depth, () -> {
+                throw PREALLOCATED;
+            });
+        } catch (WrongEmailException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Returns an empty {@link Optional} through the same frames.
+     */
+    @Benchmark
+    public String emptyOptional() {
+        return call(depth, Optional::<String>empty).orElse(ErrorMessage.USER_NOT_FOUND_BY_EMAIL);
+    }
+
+    private static <T> T call(int depth, Lookup<T> lookup) {
+        return depth == 0 ? lookup.find() : call(depth - 1, lookup);
+    }
+
+    @FunctionalInterface
+    private interface Lookup<T> {
+        T find();
+    }
+}
@@ -0,0 +1,108 @@
+package greencity.benchmarks;
+
+import greencity.dto.filter.FilterUserDto;
+import greencity.entity.Language;
+import greencity.entity.OwnSecurity;
+import greencity.entity.RestorePasswordEmail;
+import greencity.entity.User;
+import greencity.entity.UserDeactivationReason;
+import greencity.entity.VerifyEmail;
+import greencity.filters.SearchCriteria;
+import greencity.filters.UserSpecification;
+import greencity.repository.options.UserFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building of the search predicates of the user management pages by
+ * {@link UserSpecification} and {@link UserFilter}. The criteria API of
+ * Hibernate is used over an empty in-memory database, so only the building is
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPredicateBenchmark {
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private UserSpecification specification;
+    private UserFilter filter;
+
+    /**
+     * Builds the metamodel of the user entities and the search criteria of a
+     * page filtered by every column.
+     */
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(Language.class)
+            .addAnnotatedClass(OwnSecurity.class)
+            .addAnnotatedClass(VerifyEmail.class)
+            .addAnnotatedClass(RestorePasswordEmail.class)
+            .addAnnotatedClass(UserDeactivationReason.class)
+            .setProperty("hibernate.connection.url", "jdbc:h2:mem:benchmarks")
+            .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        specification = new UserSpecification(List.of(
+            criteria("id", "1"),
+            criteria("name", "Bench"),
+            criteria("email", "mail.com"),
+            criteria("userCredo", "first"),
+            criteria("role", "0"),
+            criteria("userStatus", "2")));
+        filter = new UserFilter(new FilterUserDto("bench"));
+    }
+
+    /**
+     * Closes the session factory.
+     */
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    /**
+     * Builds the predicate of the user management search.
+     */
+    @Benchmark
+    public Predicate userSpecification() {
+        CriteriaQuery<User> query = criteriaBuilder.createQuery(User.class);
+        Root<User> root = query.from(User.class);
+        return specification.toPredicate(root, query, criteriaBuilder);
+    }
+
+    /**
+     * Builds the predicate of the user filter.
+     */
+    @Benchmark
+    public Predicate userFilter() {
+        CriteriaQuery<User> query = criteriaBuilder.createQuery(User.class);
+        Root<User> root = query.from(User.class);
+        return filter.toPredicate(root, query, criteriaBuilder);
+    }
+
+    private static SearchCriteria criteria(String key, String value) {
+        return SearchCriteria.builder().key(key).type(key).value(value).build();
+    }
+}
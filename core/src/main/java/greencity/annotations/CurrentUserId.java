@@ -5,6 +5,12 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Annotation is used for injecting the id of the current user into controller
+ * by {@link greencity.converters.CurrentUserIdArgumentResolver}. Only the id is
+ * read, the user is never loaded for it. It is not meant for path variables,
+ * whose value comes from the path and is resolved before it.
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
 public @interface CurrentUserId {
@@ -1,5 +1,6 @@
 package greencity.config;
 
+import greencity.jfr.RecordingModelMapper;
 import org.modelmapper.Converter;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.config.Configuration.AccessLevel;
@@ -14,7 +15,8 @@ public class MapperConfig {
      * Provides a new ModelMapper object. Provides configuration for the object.
      * Sets source properties to be strictly matched to destination properties. Sets
      * matching fields to be enabled. Skips when the property value is {@code null}.
-     * Sets {@code AccessLevel} to private.
+     * Sets {@code AccessLevel} to private. Conversions are recorded as
+     * {@link greencity.jfr.ModelMapperConversionEvent}.
      *
      * @param converters Converters, that are used by {@link ModelMapper} and are
      *                   discovered by Spring.
@@ -22,7 +24,7 @@ public class MapperConfig {
      */
     @Bean
     public ModelMapper getModelMapper(List<Converter<?, ?>> converters) {
-        ModelMapper modelMapper = new ModelMapper();
+        ModelMapper modelMapper = new RecordingModelMapper();
         modelMapper
             .getConfiguration()
             .setMatchingStrategy(MatchingStrategies.STRICT)
@@ -3,11 +3,16 @@ package greencity.config;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
+import greencity.security.context.CurrentUserHolder;
+import greencity.security.crypto.BulkheadPasswordEncoder;
 import greencity.security.filters.AccessTokenAuthenticationFilter;
 import greencity.security.jwt.JwtTool;
 import greencity.security.providers.JwtAuthenticationProvider;
 import greencity.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -22,9 +27,13 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.Executor;
 import static greencity.constant.AppConstant.*;
 import static jakarta.servlet.http.HttpServletResponse.SC_FORBIDDEN;
 import static jakarta.servlet.http.HttpServletResponse.SC_UNAUTHORIZED;
@@ -42,31 +51,53 @@ import static org.springframework.security.config.http.SessionCreationPolicy.STA
 public class SecurityConfig {
     private final JwtTool jwtTool;
     private final UserService userService;
+    private final CurrentUserHolder currentUserHolder;
     private static final String USER_LINK = "/user";
     private final AuthenticationConfiguration authenticationConfiguration;
+    private final boolean statelessClaims;
+    private final MeterRegistry meterRegistry;
+    private final int managementPort;
 
     /**
      * Constructor.
      */
 
     @Autowired
-    public SecurityConfig(JwtTool jwtTool, UserService userService,
-                          AuthenticationConfiguration authenticationConfiguration) {
+    public SecurityConfig(JwtTool jwtTool, UserService userService, CurrentUserHolder currentUserHolder,
+        AuthenticationConfiguration authenticationConfiguration, MeterRegistry meterRegistry,
+        @Value("${greencity.security.stateless-claims:false}") boolean statelessClaims,
+        @Value("${management.server.port:-1}") int managementPort) {
         this.jwtTool = jwtTool;
+        this.managementPort = managementPort;
         this.userService = userService;
+        this.currentUserHolder = currentUserHolder;
+        this.statelessClaims = statelessClaims;
+        this.meterRegistry = meterRegistry;
         this.authenticationConfiguration = authenticationConfiguration;
     }
 
     /**
-     * Bean {@link PasswordEncoder} that uses in coding password.
+     * Bean {@link PasswordEncoder} that uses in coding password. Hashing runs on
+     * the {@code passwordHashingExecutor}, and passwords stored with a lower
+     * strength are rehashed on sign in.
+     *
+     * @param executor     dedicated hashing executor.
+     * @param strength     BCrypt log rounds.
+     * @param queueTimeout maximum time in milliseconds to wait for a hashing
+     *                     thread.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Qualifier("passwordHashingExecutor") Executor executor,
+        @Value("${greencity.password.bcrypt-strength:10}") int strength,
+        @Value("${greencity.password.hashing.queue-timeout-ms:500}") long queueTimeout) {
+        return new BulkheadPasswordEncoder(new BCryptPasswordEncoder(strength), executor,
+            Duration.ofMillis(queueTimeout), meterRegistry);
     }
 
     /**
-     * Method for configure security.
+     * Method for configure security. Only {@code /actuator/health} is public;
+     * {@code /actuator/prometheus} is open on the management port, which is not
+     * exposed by the ingress, and needs an admin everywhere else.
      *
      * @param http {@link HttpSecurity}
      */
@@ -89,7 +120,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(STATELESS))
                 .addFilterBefore(
-                        new AccessTokenAuthenticationFilter(jwtTool, authenticationManager(), userService),
+                        new AccessTokenAuthenticationFilter(jwtTool, authenticationManager(), userService,
+                            currentUserHolder, statelessClaims, meterRegistry),
                         UsernamePasswordAuthenticationFilter.class)
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint((req, resp, exc) -> resp.sendError(
@@ -107,6 +139,12 @@ public class SecurityConfig {
                         .permitAll()
                         .requestMatchers("/error")
                         .permitAll()
+                        .requestMatchers("/actuator/health")
+                        .permitAll()
+                        .requestMatchers(new AndRequestMatcher(
+                                new AntPathRequestMatcher("/actuator/prometheus"),
+                                request -> request.getLocalPort() == managementPort))
+                        .permitAll()
                         .requestMatchers(
                                 "/swagger-resources/**",
                                 "/webjars/**",
@@ -136,6 +174,7 @@ public class SecurityConfig {
                                 "/user/shopping-list-items/habits/{habitId}/shopping-list",
                                 "/user/{userId}/{habitId}/custom-shopping-list-items/available",
                                 "/user/{userId}/profile/", "/user/isOnline/{userId}/",
+                                "/user/{userId}/profilePicture/{size}",
                                 "/user/{userId}/profileStatistics/",
                                 "/user/userAndSixFriendsWithOnlineStatus",
                                 "/user/userAndAllFriendsWithOnlineStatus",
@@ -205,7 +244,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST,
                                 "/user/filter",
                                 "/email/sendHabitNotification",
-                                "/ownSecurity/register")
+                                "/ownSecurity/register",
+                                "/ownSecurity/import-employees")
                         .hasAnyRole(ADMIN)
                         .requestMatchers(HttpMethod.PATCH,
                                 "/user/status",
@@ -232,7 +272,7 @@ public class SecurityConfig {
      */
     @Autowired
     public void configureGlobal(AuthenticationManagerBuilder auth) {
-        auth.authenticationProvider(new JwtAuthenticationProvider(jwtTool));
+        auth.authenticationProvider(new JwtAuthenticationProvider(jwtTool, meterRegistry));
     }
 
     /**
@@ -1,7 +1,8 @@
 package greencity.config;
 
+import greencity.converters.CurrentUserIdArgumentResolver;
 import greencity.converters.UserArgumentResolver;
-import greencity.service.UserService;
+import greencity.security.context.CurrentUserHolder;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
@@ -22,7 +23,7 @@ import java.util.Locale;
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
     @Autowired
-    private UserService userService;
+    private CurrentUserHolder currentUserHolder;
     @Autowired
     private ModelMapper modelMapper;
 
@@ -94,6 +95,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
-        resolvers.add(new UserArgumentResolver(userService, modelMapper));
+        resolvers.add(new UserArgumentResolver(currentUserHolder, modelMapper));
+        resolvers.add(new CurrentUserIdArgumentResolver(currentUserHolder));
     }
 }
@@ -3,11 +3,14 @@ package greencity.constant;
 public final class HttpStatuses {
     public static final String OK = "OK";
     public static final String CREATED = "Created";
+    public static final String ACCEPTED = "Accepted";
+    public static final String FOUND = "Found";
     public static final String BAD_REQUEST = "Bad Request";
     public static final String FORBIDDEN = "Forbidden";
     public static final String SEE_OTHER = "See Other";
     public static final String UNAUTHORIZED = "Unauthorized";
     public static final String NOT_FOUND = "Not Found";
+    public static final String TOO_MANY_REQUESTS = "Too Many Requests";
 
     HttpStatuses() {
     }
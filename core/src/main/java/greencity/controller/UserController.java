@@ -12,9 +12,12 @@ import greencity.dto.shoppinglist.CustomShoppingListItemResponseDto;
 import greencity.dto.ubs.UbsTableCreationDto;
 import greencity.dto.user.*;
 import greencity.enums.EmailNotification;
+import greencity.enums.ProfilePictureSize;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
+import greencity.service.BulkJobService;
 import greencity.service.EmailService;
+import greencity.service.ProfilePictureService;
 import greencity.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,7 +32,9 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
@@ -37,10 +42,12 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import springfox.documentation.annotations.ApiIgnore;
 
+import java.net.URI;
 import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -52,6 +59,8 @@ import java.util.regex.Pattern;
 public class UserController {
     private final UserService userService;
     private final EmailService emailService;
+    private final ProfilePictureService profilePictureService;
+    private final BulkJobService bulkJobService;
 
     /**
      * The method which update user status. Parameter principal are ignored because
@@ -257,7 +266,7 @@ public class UserController {
     })
     @GetMapping("/{userId}/{habitId}/custom-shopping-list-items/available")
     public ResponseEntity<List<CustomShoppingListItemResponseDto>> getAvailableCustomShoppingListItems(
-        @Parameter(description = "Id of current user. Cannot be empty.") @PathVariable @CurrentUserId Long userId,
+        @Parameter(description = "Id of current user. Cannot be empty.") @PathVariable Long userId,
         @PathVariable Long habitId) {
         return ResponseEntity
             .status(HttpStatus.OK)
@@ -325,6 +334,36 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
+    /**
+     * Method returns resized profile picture of the user. The picture is served
+     * from the local thumbnail cache, otherwise the client is redirected to the
+     * stored thumbnail or to the original picture.
+     *
+     * @param userId id of the user.
+     * @param size   {@link ProfilePictureSize} of the thumbnail.
+     * @return encoded thumbnail or redirect to its location.
+     */
+    @Operation(summary = "Get resized user profile picture")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK),
+        @ApiResponse(responseCode = "302", description = HttpStatuses.FOUND),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "404", description = HttpStatuses.NOT_FOUND)
+    })
+    @GetMapping("/{userId}/profilePicture/{size}")
+    public ResponseEntity<byte[]> getProfilePictureThumbnail(@PathVariable Long userId,
+        @PathVariable ProfilePictureSize size) {
+        return profilePictureService.getCachedThumbnail(userId, size)
+            .map(thumbnail -> ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
+                .body(thumbnail))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(profilePictureService.getThumbnailPath(userId, size)))
+                .build());
+    }
+
     /**
      * Method for save user profile information {@link UserProfileDtoResponse}.
      *
@@ -361,7 +400,7 @@ public class UserController {
     })
     @GetMapping("/{userId}/profile/")
     public ResponseEntity<UserProfileDtoResponse> getUserProfileInformation(
-        @Parameter(description = "Id of current user. Cannot be empty.") @PathVariable @CurrentUserId Long userId) {
+        @Parameter(description = "Id of current user. Cannot be empty.") @PathVariable Long userId) {
         return ResponseEntity
             .status(HttpStatus.OK)
             .body(userService.getUserProfileInformation(userId));
@@ -402,7 +441,7 @@ public class UserController {
     })
     @GetMapping("/{userId}/profileStatistics/")
     public ResponseEntity<UserProfileStatisticsDto> getUserProfileStatistics(
-        @Parameter(description = "Id of current user. Cannot be empty.") @PathVariable @CurrentUserId Long userId) {
+        @Parameter(description = "Id of current user. Cannot be empty.") @PathVariable Long userId) {
         return ResponseEntity.status(HttpStatus.OK)
             .body(userService.getUserProfileStatistics(userId));
     }
@@ -560,7 +599,7 @@ public class UserController {
     /**
      * Update {@link UserVO} Last Activity Time.
      *
-     * @param userVO {@link UserVO}.
+     * @param userId id of the current {@link UserVO}.
      * @author Orest Mamchuk
      */
     @Operation(summary = "Update User Last Activity Time")
@@ -571,10 +610,10 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
     })
     @PutMapping("/updateUserLastActivityTime/{date}")
-    public ResponseEntity<Object> updateUserLastActivityTime(@ApiIgnore @CurrentUser UserVO userVO,
+    public ResponseEntity<Object> updateUserLastActivityTime(@ApiIgnore @CurrentUserId Long userId,
         @PathVariable(value = "date") @DateTimeFormat(
             pattern = "yyyy-MM-dd.HH:mm:ss.SSSSSS") LocalDateTime userLastActivityTime) {
-        userService.updateUserLastActivityTime(userVO.getId(), userLastActivityTime);
+        userService.updateUserLastActivityTime(userId, userLastActivityTime);
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
@@ -602,7 +641,9 @@ public class UserController {
     }
 
     /**
-     * Method for getting {@link String} user language.
+     * Method for getting {@link String} user language. The language is read from
+     * the loaded user, as the user may have changed it after the access token was
+     * issued.
      *
      * @param userVO {@link UserVO} the current user that wants to get his profile
      *               language
@@ -646,7 +687,7 @@ public class UserController {
     /**
      * Method that change user language.
      *
-     * @param userVO     {@link UserVO} the current user that wants to change his
+     * @param userId     id of the current {@link UserVO} that wants to change his
      *                   profile language
      * @param languageId {@link Long} language id.
      */
@@ -657,9 +698,9 @@ public class UserController {
         @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
     })
     @PutMapping("/language/{languageId}")
-    public ResponseEntity<Object> setUserLanguage(@ApiIgnore @CurrentUser UserVO userVO,
+    public ResponseEntity<Object> setUserLanguage(@ApiIgnore @CurrentUserId Long userId,
         @PathVariable Long languageId) {
-        userService.updateUserLanguage(userVO.getId(), languageId);
+        userService.updateUserLanguage(userId, languageId);
         return ResponseEntity.ok().build();
     }
 
@@ -703,6 +744,90 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.OK).body(userService.deactivateAllUsers(listId));
     }
 
+    /**
+     * Method for setting to a list of {@link UserVO} status DEACTIVATED in a
+     * background job. The users are changed and notified by email chunk by chunk.
+     *
+     * @param listId {@link List} populated with ids of {@link UserVO} to be
+     *               deactivated.
+     * @return {@link BulkJobDto} of the submitted job.
+     */
+    @Operation(summary = "Deactivate all users in a background job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = HttpStatuses.ACCEPTED,
+            content = @Content(schema = @Schema(implementation = BulkJobDto.class))),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @PutMapping("/deactivateAll/job")
+    public ResponseEntity<BulkJobDto> submitDeactivationOfAllUsers(@RequestBody List<Long> listId,
+        @ApiIgnore Principal principal) {
+        return accepted(bulkJobService.submitDeactivation(listId, principal.getName()));
+    }
+
+    /**
+     * Method for setting to a list of {@link UserVO} status ACTIVATED. The users
+     * are changed and notified by email in a background job.
+     *
+     * @param listId {@link List} populated with ids of {@link UserVO} to be
+     *               activated.
+     * @return {@link BulkJobDto} of the submitted job.
+     */
+    @Operation(summary = "Activate all users")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = HttpStatuses.ACCEPTED,
+            content = @Content(schema = @Schema(implementation = BulkJobDto.class))),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @PutMapping("/activateAll")
+    public ResponseEntity<BulkJobDto> activateAllUsers(@RequestBody List<Long> listId,
+        @ApiIgnore Principal principal) {
+        return accepted(bulkJobService.submitActivation(listId, principal.getName()));
+    }
+
+    /**
+     * Method for changing the role of a list of {@link UserVO} in a background job.
+     *
+     * @param role   new {@link Role} of the users.
+     * @param listId {@link List} populated with ids of {@link UserVO}.
+     * @return {@link BulkJobDto} of the submitted job.
+     */
+    @Operation(summary = "Change role of all users")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = HttpStatuses.ACCEPTED,
+            content = @Content(schema = @Schema(implementation = BulkJobDto.class))),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @PutMapping("/roleAll")
+    public ResponseEntity<BulkJobDto> updateRoleOfAllUsers(@RequestParam Role role,
+        @RequestBody List<Long> listId, @ApiIgnore Principal principal) {
+        return accepted(bulkJobService.submitRoleChange(listId, role, principal.getName()));
+    }
+
+    /**
+     * Method for getting status and progress of a bulk job.
+     *
+     * @param jobId id of the job.
+     * @return {@link BulkJobDto}
+     */
+    @Operation(summary = "Get status of a bulk job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK,
+            content = @Content(schema = @Schema(implementation = BulkJobDto.class))),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN),
+        @ApiResponse(responseCode = "404", description = HttpStatuses.NOT_FOUND)
+    })
+    @GetMapping("/bulk-jobs/{jobId}")
+    public ResponseEntity<BulkJobDto> getBulkJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(bulkJobService.getJob(jobId));
+    }
+
     /**
      * Method that allow you to save new {@link UserVO}.
      *
@@ -789,4 +914,10 @@ public class UserController {
     public ResponseEntity<List<String>> findAllUsersCities() {
         return ResponseEntity.status(HttpStatus.OK).body(userService.findAllUsersCities());
     }
+
+    private static ResponseEntity<BulkJobDto> accepted(BulkJobDto job) {
+        return ResponseEntity.accepted()
+            .location(URI.create("/user/bulk-jobs/" + job.getId()))
+            .body(job);
+    }
 }
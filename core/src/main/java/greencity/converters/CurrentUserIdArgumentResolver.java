@@ -0,0 +1,43 @@
+package greencity.converters;
+
+import greencity.annotations.CurrentUserId;
+import greencity.security.context.CurrentUserHolder;
+import lombok.AllArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import java.security.Principal;
+
+@Component
+@AllArgsConstructor
+public class CurrentUserIdArgumentResolver implements HandlerMethodArgumentResolver {
+    CurrentUserHolder currentUserHolder;
+
+    /**
+     * Method checks if parameter is {@link Long} and is annotated with
+     * {@link CurrentUserId}.
+     *
+     * @param parameter method parameter
+     * @return boolean
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterAnnotation(CurrentUserId.class) != null
+            && parameter.getParameterType().equals(Long.class);
+    }
+
+    /**
+     * Method returns id of the user by principal without loading the user.
+     *
+     * @return {@link Long}
+     */
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Principal principal = webRequest.getUserPrincipal();
+        return principal != null ? currentUserHolder.getUserId(principal.getName()) : null;
+    }
+}
@@ -2,7 +2,7 @@ package greencity.converters;
 
 import greencity.annotations.CurrentUser;
 import greencity.dto.user.UserVO;
-import greencity.service.UserService;
+import greencity.security.context.CurrentUserHolder;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.core.MethodParameter;
@@ -16,7 +16,7 @@ import java.security.Principal;
 @Component
 @AllArgsConstructor
 public class UserArgumentResolver implements HandlerMethodArgumentResolver {
-    UserService userService;
+    CurrentUserHolder currentUserHolder;
     ModelMapper modelMapper;
 
     /**
@@ -33,7 +33,8 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
     }
 
     /**
-     * Method returns {@link UserVO} by principal.
+     * Method returns {@link UserVO} by principal. The user loaded by the
+     * authentication filter is reused.
      *
      * @return {@link UserVO}
      */
@@ -41,6 +42,6 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
     public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
         NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
         Principal principal = webRequest.getUserPrincipal();
-        return principal != null ? userService.findByEmail(principal.getName()) : null;
+        return principal != null ? currentUserHolder.getUser(principal.getName()) : null;
     }
 }
@@ -0,0 +1,135 @@
+package greencity.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint which starts and stops a flight recording with the
+ * {@code profile} settings of the JDK and the events of the application, and
+ * dumps it as a {@code .jfr} file. {@code POST /actuator/jfr} starts the
+ * recording, {@code DELETE /actuator/jfr} stops it and
+ * {@code GET /actuator/jfr} returns the recorded data, also while the recording
+ * is running. Operations are serialized with a lock rather than
+ * {@code synchronized}, so a dump written to disk does not pin the carrier of a
+ * virtual thread.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+    private static final String RECORDING_NAME = "greencity";
+    private final Duration maxAge;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    private Path dump;
+
+    /**
+     * Constructor.
+     *
+     * @param maxAgeMinutes how long the data of a running recording is kept.
+     */
+    public JfrRecordingEndpoint(@Value("${greencity.jfr.recording.max-age-minutes:30}") long maxAgeMinutes) {
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    /**
+     * Starts a new recording. A running recording is left as it is.
+     *
+     * @return state of the recording.
+     */
+    @WriteOperation
+    public Map<String, Object> start() throws IOException, ParseException {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                closeRecording();
+                recording = new Recording(Configuration.getConfiguration("profile"));
+                recording.setName(RECORDING_NAME);
+                recording.setToDisk(true);
+                recording.setMaxAge(maxAge);
+                recording.start();
+                log.info("Flight recording started");
+            }
+            return state();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the recording. Its data can still be dumped until the next start.
+     *
+     * @return state of the recording.
+     */
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+                log.info("Flight recording stopped");
+            }
+            return state();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dumps the data of the recording.
+     *
+     * @return {@code .jfr} file, or status 404 if nothing was recorded.
+     */
+    @ReadOperation
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() == RecordingState.NEW) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            deleteDump();
+            dump = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+            recording.dump(dump);
+            return new WebEndpointResponse<>(new FileSystemResource(dump));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Object> state() {
+        return Map.of("name", RECORDING_NAME, "state", recording == null ? "NONE" : recording.getState().name());
+    }
+
+    private void closeRecording() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        deleteDump();
+    }
+
+    private void deleteDump() throws IOException {
+        if (dump != null) {
+            Files.deleteIfExists(dump);
+            dump = null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package greencity.jfr;
+
+import java.lang.reflect.Type;
+import org.modelmapper.ModelMapper;
+
+/**
+ * {@link ModelMapper} which records a {@link ModelMapperConversionEvent} for
+ * every conversion started by the application. Conversions nested in converters
+ * are part of the outer event.
+ */
+public class RecordingModelMapper extends ModelMapper {
+    @Override
+    public <D> D map(Object source, Class<D> destinationType) {
+        ModelMapperConversionEvent event = new ModelMapperConversionEvent();
+        event.begin();
+        try {
+            return super.map(source, destinationType);
+        } finally {
+            commit(event, source, destinationType);
+        }
+    }
+
+    @Override
+    public void map(Object source, Object destination) {
+        ModelMapperConversionEvent event = new ModelMapperConversionEvent();
+        event.begin();
+        try {
+            super.map(source, destination);
+        } finally {
+            commit(event, source, destination.getClass());
+        }
+    }
+
+    @Override
+    public <D> D map(Object source, Type destinationType) {
+        ModelMapperConversionEvent event = new ModelMapperConversionEvent();
+        event.begin();
+        try {
+            return super.map(source, destinationType);
+        } finally {
+            commit(event, source, destinationType);
+        }
+    }
+
+    private static void commit(ModelMapperConversionEvent event, Object source, Type destinationType) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sourceType = source == null ? null : source.getClass().getName();
+            event.destinationType = destinationType.getTypeName();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package greencity.security.context;
+
+import greencity.dto.user.UserVO;
+import greencity.service.UserService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Holds the user of the current request. The user loaded by
+ * {@link greencity.security.filters.AccessTokenAuthenticationFilter} is kept
+ * here, so controller arguments annotated with
+ * {@link greencity.annotations.CurrentUser} do not load it again. A lookup of
+ * the id alone never loads the user. When the filter trusts the claims of the
+ * token, only the id of the user built from them is kept, and the full user is
+ * loaded on the first request for it.
+ */
+@Component
+@RequestScope
+public class CurrentUserHolder {
+    private final UserService userService;
+    private String email;
+    private UserVO user;
+    private Long userId;
+
+    /**
+     * Constructor.
+     */
+    public CurrentUserHolder(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Keeps the user authenticated for the request.
+     *
+     * @param email email of the authenticated user.
+     * @param user  {@link UserVO} loaded for the email.
+     */
+    public void setUser(String email, UserVO user) {
+        this.email = email;
+        this.user = user;
+        this.userId = user.getId();
+    }
+
+    /**
+     * Keeps the id of the user built from verified claims of the access token.
+     *
+     * @param email      email of the authenticated user.
+     * @param claimsUser lightweight {@link UserVO} built from the claims.
+     */
+    public void setClaimsUser(String email, UserVO claimsUser) {
+        this.email = email;
+        this.user = null;
+        this.userId = claimsUser.getId();
+    }
+
+    /**
+     * Returns the user with the given email, loading it only if the request has not
+     * loaded it yet.
+     *
+     * @param email email of the principal.
+     * @return {@link UserVO}, or {@code null} if there is no such user.
+     */
+    public UserVO getUser(String email) {
+        forEmail(email);
+        if (user == null) {
+            user = userService.findByEmail(email);
+            if (user != null) {
+                userId = user.getId();
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Returns the id of the user with the given email. The id is taken from the
+     * loaded user if there is one, otherwise only the id is read.
+     *
+     * @param email email of the principal.
+     * @return id of the user.
+     */
+    public Long getUserId(String email) {
+        forEmail(email);
+        if (userId == null) {
+            userId = userService.findIdByEmail(email);
+        }
+        return userId;
+    }
+
+    private void forEmail(String email) {
+        if (!email.equals(this.email)) {
+            this.email = email;
+            this.user = null;
+            this.userId = null;
+        }
+    }
+}
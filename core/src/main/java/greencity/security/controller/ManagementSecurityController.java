@@ -2,14 +2,17 @@ package greencity.security.controller;
 
 import greencity.exception.exceptions.EmailNotVerified;
 import greencity.exception.exceptions.LowRoleLevelException;
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
 import greencity.exception.exceptions.UserDeactivatedException;
 import greencity.exception.exceptions.WrongEmailException;
 import greencity.exception.exceptions.WrongPasswordException;
 import greencity.security.dto.SuccessSignInDto;
 import greencity.security.dto.ownsecurity.OwnSignInDto;
+import greencity.security.service.LoginAttemptService;
 import greencity.security.service.OwnSecurityService;
 import greencity.service.UserService;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class ManagementSecurityController {
     private final OwnSecurityService service;
     private final UserService userService;
+    private final LoginAttemptService loginAttemptService;
     @Value("${greencity.server.address}")
     private String greenCityServerAddress;
     private static final String SIGN_IN_FORM = "signInForm";
@@ -38,11 +42,15 @@ public class ManagementSecurityController {
      * @param service     - - {@link OwnSecurityService} - service for security
      *                    logic.
      * @param userService - {@link UserService} - service for User manipulations.
+     * @param loginAttemptService - {@link LoginAttemptService} - service for sign
+     *                            in throttling.
      */
     @Autowired
-    public ManagementSecurityController(OwnSecurityService service, UserService userService) {
+    public ManagementSecurityController(OwnSecurityService service, UserService userService,
+        LoginAttemptService loginAttemptService) {
         this.service = service;
         this.userService = userService;
+        this.loginAttemptService = loginAttemptService;
     }
 
     /**
@@ -60,12 +68,13 @@ public class ManagementSecurityController {
     /**
      * Redirects user to management page with access toket set in cookies.
      *
-     * @param dto - {@link OwnSignInDto} - form filled with log in data.
+     * @param dto     - {@link OwnSignInDto} - form filled with log in data.
+     * @param request - {@link HttpServletRequest} to get the client address.
      * @return View template path {@link String}.
      */
     @PostMapping("/login")
     public String signIn(@Valid @ModelAttribute("signInForm") OwnSignInDto dto,
-        BindingResult bindingResult, Model model) {
+        BindingResult bindingResult, Model model, HttpServletRequest request) {
         if (bindingResult.hasErrors()) {
             return MANAGEMENT_LOGIN_PAGE;
         }
@@ -74,9 +83,15 @@ public class ManagementSecurityController {
         String email = "email";
         String signInFormEmailError = "signInForm.email";
         try {
+            loginAttemptService.checkAttempt(dto.getEmail(), request.getRemoteAddr());
             result = service.signIn(dto);
+            loginAttemptService.loginSucceeded(dto.getEmail());
 
             userService.findAdminById(result.getUserId());
+        } catch (TooManyLoginAttemptsException e) {
+            bindingResult.rejectValue(email, signInFormEmailError, "Забагато спроб входу, спробуйте пізніше");
+            model.addAttribute(SIGN_IN_FORM, dto);
+            return MANAGEMENT_LOGIN_PAGE;
         } catch (LowRoleLevelException e) {
             bindingResult.rejectValue(email, signInFormEmailError, "У вас немає прав адміністратора");
             model.addAttribute(SIGN_IN_FORM, dto);
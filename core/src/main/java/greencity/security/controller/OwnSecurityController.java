@@ -8,6 +8,8 @@ import greencity.dto.user.UserManagementDto;
 import greencity.security.dto.SuccessSignInDto;
 import greencity.security.dto.SuccessSignUpDto;
 import greencity.security.dto.ownsecurity.*;
+import greencity.security.service.EmployeeImportService;
+import greencity.security.service.LoginAttemptService;
 import greencity.security.service.OwnSecurityService;
 import greencity.security.service.PasswordRecoveryService;
 import greencity.security.service.VerifyEmailService;
@@ -17,18 +19,23 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -49,6 +56,8 @@ public class OwnSecurityController {
     private final OwnSecurityService service;
     private final VerifyEmailService verifyEmailService;
     private final PasswordRecoveryService passwordRecoveryService;
+    private final LoginAttemptService loginAttemptService;
+    private final EmployeeImportService employeeImportService;
 
     /**
      * Constructor.
@@ -57,14 +66,22 @@ public class OwnSecurityController {
      *                           logic.
      * @param verifyEmailService {@link VerifyEmailService} - service for email
      *                           verification.
+     * @param loginAttemptService {@link LoginAttemptService} - service for sign
+     *                           in throttling.
+     * @param employeeImportService {@link EmployeeImportService} - service for
+     *                           bulk employee sign-up.
      */
     @Autowired
     public OwnSecurityController(OwnSecurityService service,
         VerifyEmailService verifyEmailService,
-        PasswordRecoveryService passwordRecoveryService) {
+        PasswordRecoveryService passwordRecoveryService,
+        LoginAttemptService loginAttemptService,
+        EmployeeImportService employeeImportService) {
         this.service = service;
         this.verifyEmailService = verifyEmailService;
         this.passwordRecoveryService = passwordRecoveryService;
+        this.loginAttemptService = loginAttemptService;
+        this.employeeImportService = employeeImportService;
     }
 
     /**
@@ -106,21 +123,50 @@ public class OwnSecurityController {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.signUpEmployee(dto, locale.getLanguage()));
     }
 
+    /**
+     * Method for signing-up employees from a CSV file.
+     *
+     * @param file - CSV file with columns name, email, uuid and an optional isUbs.
+     * @return {@link EmployeeImportResultDto} with the rows that were not imported.
+     * @throws IOException if the file can not be opened.
+     */
+    @Operation(summary = "Sign-up employees from a CSV file")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = HttpStatuses.OK,
+            content = @Content(schema = @Schema(implementation = EmployeeImportResultDto.class))),
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "401", description = HttpStatuses.UNAUTHORIZED),
+        @ApiResponse(responseCode = "403", description = HttpStatuses.FORBIDDEN)
+    })
+    @PostMapping(value = "/import-employees", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ApiLocale
+    public EmployeeImportResultDto importEmployees(@RequestPart MultipartFile file,
+        @Parameter(hidden = true) @ValidLanguage Locale locale) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return employeeImportService.importEmployees(csv, locale.getLanguage());
+        }
+    }
+
     /**
      * Method for sign-in by our security logic.
      *
-     * @param dto - {@link OwnSignInDto} that have sign-in information.
+     * @param dto     - {@link OwnSignInDto} that have sign-in information.
+     * @param request - {@link HttpServletRequest} to get the client address.
      * @return {@link ResponseEntity}
      */
     @Operation(summary = "Sign-in by own security logic")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = HttpStatuses.OK,
             content = @Content(schema = @Schema(implementation = SuccessSignInDto.class))),
-        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST)
+        @ApiResponse(responseCode = "400", description = HttpStatuses.BAD_REQUEST),
+        @ApiResponse(responseCode = "429", description = HttpStatuses.TOO_MANY_REQUESTS)
     })
     @PostMapping("/signIn")
-    public SuccessSignInDto singIn(@Valid @RequestBody OwnSignInDto dto) {
-        return service.signIn(dto);
+    public SuccessSignInDto singIn(@Valid @RequestBody OwnSignInDto dto, HttpServletRequest request) {
+        loginAttemptService.checkAttempt(dto.getEmail(), request.getRemoteAddr());
+        SuccessSignInDto result = service.signIn(dto);
+        loginAttemptService.loginSucceeded(dto.getEmail());
+        return result;
     }
 
     /**
@@ -1,15 +1,23 @@
 package greencity.security.filters;
 
 import greencity.dto.user.UserVO;
+import greencity.enums.UserStatus;
+import greencity.logging.LogRedaction;
+import greencity.logging.RateLimitedLogger;
+import greencity.security.context.CurrentUserHolder;
 import greencity.security.jwt.JwtTool;
 import greencity.service.UserService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
@@ -20,25 +28,54 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
- * Class that provide Authentication object based on JWT.
+ * Class that provide Authentication object based on JWT. Nothing is logged for
+ * an accepted token above {@code DEBUG}, and rejected tokens are logged at a
+ * limited rate with a fingerprint instead of the token.
  *
  * @author Yurii Koval.
  * @version 1.0
  */
 @Slf4j
 public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
+    private static final String METRIC_NAME = "greencity.auth.filter";
     private final JwtTool jwtTool;
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final CurrentUserHolder currentUserHolder;
+    private final boolean statelessClaims;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitedLogger rejectedTokensLog;
 
     /**
      * Constructor.
+     *
+     * @param statelessClaims whether a token with the current version of user
+     *                        claims is trusted without loading the user. A change
+     *                        of the user status then takes effect when the token is
+     *                        refreshed.
+     * @param meterRegistry   registry of the authentication timer.
      */
     public AccessTokenAuthenticationFilter(JwtTool jwtTool, AuthenticationManager authenticationManager,
-        UserService userService) {
+        UserService userService, CurrentUserHolder currentUserHolder, boolean statelessClaims,
+        MeterRegistry meterRegistry) {
+        this(jwtTool, authenticationManager, userService, currentUserHolder, statelessClaims, meterRegistry,
+            new RateLimitedLogger(log, 10, Duration.ofMinutes(1)));
+    }
+
+    /**
+     * Constructor with the logger of rejected tokens, whose limit is counted per
+     * filter.
+     */
+    AccessTokenAuthenticationFilter(JwtTool jwtTool, AuthenticationManager authenticationManager,
+        UserService userService, CurrentUserHolder currentUserHolder, boolean statelessClaims,
+        MeterRegistry meterRegistry, RateLimitedLogger rejectedTokensLog) {
         this.jwtTool = jwtTool;
         this.authenticationManager = authenticationManager;
         this.userService = userService;
+        this.currentUserHolder = currentUserHolder;
+        this.statelessClaims = statelessClaims;
+        this.meterRegistry = meterRegistry;
+        this.rejectedTokensLog = rejectedTokensLog;
     }
 
     private String getTokenFromCookies(Cookie[] cookies) {
@@ -60,7 +97,8 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * Checks if request has token in header, if this token still valid, and set
-     * authentication for spring.
+     * authentication for spring. The time spent on a token is recorded by its
+     * outcome.
      *
      * @param request  this is servlet that take request
      * @param response this is response servlet
@@ -72,24 +110,54 @@ public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
         @SuppressWarnings("NullableProblems") FilterChain chain)
         throws IOException, ServletException {
         String token = extractToken(request);
-        log.info("token {}", token);
 
         if (token != null) {
-            try {
-                Authentication authentication = authenticationManager
-                    .authenticate(new UsernamePasswordAuthenticationToken(token, ""));
-                Optional<UserVO> user = userService.findNotDeactivatedByEmail((String) authentication.getPrincipal());
-                log.info("user {}", user);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = authenticate(token);
+            sample.stop(Timer.builder(METRIC_NAME)
+                .description("Time spent on authentication of an access token")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String authenticate(String token) {
+        try {
+            Authentication authentication = authenticationManager
+                .authenticate(new UsernamePasswordAuthenticationToken(token, ""));
+            String email = (String) authentication.getPrincipal();
+            Optional<UserVO> claimsUser = getUserOutOfClaims(authentication);
+            if (claimsUser.isPresent()) {
+                if (claimsUser.get().getUserStatus() != UserStatus.DEACTIVATED) {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    currentUserHolder.setClaimsUser(email, claimsUser.get());
+                    return "claims";
+                }
+            } else {
+                Optional<UserVO> user = userService.findNotDeactivatedByEmail(email);
                 if (user.isPresent()) {
-                    log.debug("User successfully authenticate - {}", authentication.getPrincipal());
+                    log.debug("User successfully authenticate - {}", email);
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    currentUserHolder.setUser(email, user.get());
+                    return "database";
                 }
-            } catch (ExpiredJwtException e) {
-                log.info("Token has expired: " + token);
-            } catch (Exception e) {
-                log.info("Access denied with token: " + e.getMessage());
             }
+            return "deactivated";
+        } catch (ExpiredJwtException e) {
+            rejectedTokensLog.info("Token {} has expired", LogRedaction.token(token));
+            return "expired";
+        } catch (Exception e) {
+            rejectedTokensLog.info("Access denied with token {}: {}", LogRedaction.token(token), e.getMessage());
+            return "denied";
         }
-        chain.doFilter(request, response);
+    }
+
+    private Optional<UserVO> getUserOutOfClaims(Authentication authentication) {
+        if (statelessClaims && authentication.getDetails() instanceof Claims claims) {
+            return jwtTool.getUserOutOfClaims(claims);
+        }
+        return Optional.empty();
     }
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package greencity.security.providers;
 
 import static greencity.constant.AppConstant.ROLE;
+import greencity.jfr.TokenVerificationEvent;
 import greencity.security.jwt.JwtTool;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.crypto.SecretKey;
@@ -21,18 +26,25 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
  */
 public class JwtAuthenticationProvider implements AuthenticationProvider {
     private final JwtTool jwtTool;
+    private final Timer authenticateTimer;
 
     /**
      * Constructor.
      *
-     * @param jwtTool {@link JwtTool}
+     * @param jwtTool       {@link JwtTool}
+     * @param meterRegistry registry of the token verification timer.
      */
-    public JwtAuthenticationProvider(JwtTool jwtTool) {
+    public JwtAuthenticationProvider(JwtTool jwtTool, MeterRegistry meterRegistry) {
         this.jwtTool = jwtTool;
+        this.authenticateTimer = Timer.builder("greencity.auth.jwt")
+            .description("Time spent on verification of an access token")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
 
     /**
-     * Method that provide authentication.
+     * Method that provide authentication. The verified claims of the token are set
+     * as details of the returned {@link Authentication}.
      *
      * @param authentication {@link Authentication} - authentication that has jwt
      *                       access token.
@@ -47,24 +59,41 @@ public class JwtAuthenticationProvider implements AuthenticationProvider {
      */
     @Override
     public Authentication authenticate(Authentication authentication) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        String outcome = "invalid";
+        try {
+            Authentication result = authenticateTimer.record(() -> verify(authentication));
+            outcome = "valid";
+            return result;
+        } catch (ExpiredJwtException e) {
+            outcome = "expired";
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private Authentication verify(Authentication authentication) {
         SecretKey key = Keys.hmacShaKeyFor(jwtTool.getAccessTokenKey().getBytes());
 
-        String email = Jwts.parser()
+        Claims claims = Jwts.parser()
             .verifyWith(key).build()
             .parseSignedClaims(authentication.getName())
-            .getPayload()
-            .getSubject();
+            .getPayload();
         @SuppressWarnings({"unchecked, rawtype"})
-        List<String> authorities = (List<String>) Jwts.parser()
-            .verifyWith(key).build()
-            .parseSignedClaims(authentication.getName())
-            .getPayload()
-            .get(ROLE);
+        List<String> authorities = (List<String>) claims.get(ROLE);
 
-        return new UsernamePasswordAuthenticationToken(
-            email,
+        UsernamePasswordAuthenticationToken result = new UsernamePasswordAuthenticationToken(
+            claims.getSubject(),
             "",
             authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+        result.setDetails(claims);
+        return result;
     }
 
     /**
@@ -1,14 +1,34 @@
 package greencity.validator;
 
 import greencity.annotations.ImageValidation;
+import greencity.exception.exceptions.BadRequestException;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.Arrays;
 import java.util.List;
 
 public class ImageValidator implements ConstraintValidator<ImageValidation, MultipartFile> {
     private final List<String> validType = Arrays.asList("image/jpeg", "image/png", "image/jpg");
+    private final ImageProbe imageProbe;
+
+    /**
+     * Constructor used when validator is created outside of Spring context.
+     */
+    public ImageValidator() {
+        this(ImageProbe.withDefaults());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param imageProbe {@link ImageProbe} with configured budgets.
+     */
+    @Autowired
+    public ImageValidator(ImageProbe imageProbe) {
+        this.imageProbe = imageProbe;
+    }
 
     @Override
     public void initialize(ImageValidation constraintAnnotation) {
@@ -19,8 +39,15 @@ public class ImageValidator implements ConstraintValidator<ImageValidation, Mult
     public boolean isValid(MultipartFile image, ConstraintValidatorContext constraintValidatorContext) {
         if (image == null) {
             return true;
-        } else {
-            return validType.contains(image.getContentType());
+        }
+        if (!validType.contains(image.getContentType())) {
+            return false;
+        }
+        try {
+            imageProbe.probe(image);
+            return true;
+        } catch (BadRequestException e) {
+            return false;
         }
     }
 }
@@ -2,11 +2,14 @@ package greencity;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import greencity.dto.PageableAdvancedDto;
+import greencity.dto.user.BulkJobDto;
 import greencity.dto.user.UserManagementDto;
 import greencity.dto.user.UserManagementUpdateDto;
 import greencity.dto.user.UserVO;
 import greencity.dto.violation.UserViolationMailDto;
 import greencity.entity.User;
+import greencity.enums.BulkJobStatus;
+import greencity.enums.BulkJobType;
 import greencity.enums.Role;
 import java.text.DateFormat;
 import java.text.ParseException;
@@ -41,6 +44,15 @@ public class ModelUtils {
 
     }
 
+    public static BulkJobDto getBulkJobDto() {
+        return BulkJobDto.builder()
+            .id(1L)
+            .type(BulkJobType.DEACTIVATE)
+            .status(BulkJobStatus.PENDING)
+            .total(4)
+            .build();
+    }
+
     public static UserManagementDto getUserManagementDto() {
         return UserManagementDto.builder()
             .id(1L)
@@ -7,6 +7,7 @@ import greencity.TestConst;
 import static greencity.constant.AppConstant.AUTHORIZATION;
 
 import greencity.constant.AppConstant;
+import greencity.converters.CurrentUserIdArgumentResolver;
 import greencity.converters.UserArgumentResolver;
 import greencity.dto.PageableAdvancedDto;
 import greencity.dto.filter.FilterUserDto;
@@ -20,10 +21,15 @@ import greencity.dto.user.UserStatusDto;
 import greencity.dto.user.UserUpdateDto;
 import greencity.dto.user.UserVO;
 import greencity.enums.EmailNotification;
+import greencity.enums.ProfilePictureSize;
 import greencity.enums.Role;
 import greencity.repository.UserRepo;
+import greencity.security.context.CurrentUserHolder;
+import greencity.service.BulkJobService;
+import greencity.service.ProfilePictureService;
 import greencity.service.UserService;
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -37,9 +43,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -62,6 +71,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -76,14 +86,21 @@ class UserControllerTest {
     private UserService userService;
     @Mock
     private UserRepo userRepo;
+    @Mock
+    private ProfilePictureService profilePictureService;
+    @Mock
+    private BulkJobService bulkJobService;
     private ObjectMapper objectMapper;
+    private CurrentUserHolder currentUserHolder;
 
     @BeforeEach
     void setup() {
+        currentUserHolder = new CurrentUserHolder(userService);
         this.mockMvc = MockMvcBuilders
             .standaloneSetup(userController)
             .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver(),
-                new UserArgumentResolver(userService, new ModelMapper()))
+                new UserArgumentResolver(currentUserHolder, new ModelMapper()),
+                new CurrentUserIdArgumentResolver(currentUserHolder))
             .build();
         objectMapper = new ObjectMapper();
     }
@@ -297,6 +314,26 @@ class UserControllerTest {
         verify(userService, times(1)).deleteUserProfilePicture("test@email.com");
     }
 
+    @Test
+    void getProfilePictureThumbnailFromCacheTest() throws Exception {
+        byte[] thumbnail = {1, 2, 3};
+        when(profilePictureService.getCachedThumbnail(1L, ProfilePictureSize.SMALL))
+            .thenReturn(Optional.of(thumbnail));
+        mockMvc.perform(get(userLink + "/{userId}/profilePicture/{size}", 1, "SMALL"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+            .andExpect(content().bytes(thumbnail));
+    }
+
+    @Test
+    void getProfilePictureThumbnailRedirectTest() throws Exception {
+        when(profilePictureService.getCachedThumbnail(1L, ProfilePictureSize.LARGE)).thenReturn(Optional.empty());
+        when(profilePictureService.getThumbnailPath(1L, ProfilePictureSize.LARGE)).thenReturn("https://path");
+        mockMvc.perform(get(userLink + "/{userId}/profilePicture/{size}", 1, "LARGE"))
+            .andExpect(status().isFound())
+            .andExpect(header().string(HttpHeaders.LOCATION, "https://path"));
+    }
+
     @Test
     void getUserProfileInformationTest() throws Exception {
         mockMvc.perform(get(userLink + "/{userId}/profile/", 1))
@@ -487,24 +524,31 @@ class UserControllerTest {
     @Test
     void updateUserLanguageTest() throws Exception {
         Principal principal = mock(Principal.class);
-        String languageCode = AppConstant.DEFAULT_LANGUAGE_CODE;
         long userId = 1L;
-        UserVO userVO = UserVO.builder()
-            .id(userId)
-            .languageVO(LanguageVO.builder()
-                .id(2L)
-                .code(languageCode)
-                .build())
-            .build();
 
         when(principal.getName()).thenReturn(TestConst.EMAIL);
-        when(userService.findByEmail(principal.getName())).thenReturn(userVO);
+        when(userService.findIdByEmail(TestConst.EMAIL)).thenReturn(userId);
 
         mockMvc.perform(put(userLink + "/language/{languageId}", 1)
             .principal(principal))
             .andExpect(status().isOk());
 
         verify(userService).updateUserLanguage(userId, 1L);
+        verify(userService, never()).findByEmail(any());
+    }
+
+    @Test
+    void updateUserLastActivityTimeTest() throws Exception {
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn(TestConst.EMAIL);
+        when(userService.findIdByEmail(TestConst.EMAIL)).thenReturn(1L);
+
+        mockMvc.perform(put(userLink + "/updateUserLastActivityTime/{date}", "2024-01-02.03:04:05.000006")
+            .principal(principal))
+            .andExpect(status().isOk());
+
+        verify(userService).updateUserLastActivityTime(1L, LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6000));
+        verify(userService, never()).findByEmail(any());
     }
 
     @Test
@@ -526,6 +570,29 @@ class UserControllerTest {
             .andExpect(status().isOk());
     }
 
+    @Test
+    void getUserLangIsNotTakenFromTokenClaimsTest() throws Exception {
+        Principal principal = mock(Principal.class);
+        UserVO claimsUser = UserVO.builder()
+            .id(1L)
+            .email(TestConst.EMAIL)
+            .languageVO(LanguageVO.builder().code("en").build())
+            .build();
+        UserVO user = UserVO.builder()
+            .id(1L)
+            .email(TestConst.EMAIL)
+            .languageVO(LanguageVO.builder().id(1L).code("ua").build())
+            .build();
+        currentUserHolder.setClaimsUser(TestConst.EMAIL, claimsUser);
+        when(principal.getName()).thenReturn(TestConst.EMAIL);
+        when(userService.findByEmail(TestConst.EMAIL)).thenReturn(user);
+
+        this.mockMvc.perform(get(userLink + "/lang")
+            .principal(principal))
+            .andExpect(content().string("ua"))
+            .andExpect(status().isOk());
+    }
+
     @Test
     void getReasonsOfDeactivation() throws Exception {
         List<String> test = List.of("test", "test");
@@ -545,7 +612,61 @@ class UserControllerTest {
             .content(objectMapper.writeValueAsString(ids)))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.length()").value(4));
+        verifyNoInteractions(bulkJobService);
+    }
+
+    @Test
+    void submitDeactivationOfAllUsersTest() throws Exception {
+        List<Long> ids = List.of(1L, 2L, 3L, 4L);
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("testmail@gmail.com");
+        when(bulkJobService.submitDeactivation(ids, "testmail@gmail.com")).thenReturn(ModelUtils.getBulkJobDto());
+        mockMvc.perform(put(userLink + "/deactivateAll/job")
+            .principal(principal)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(ids)))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/user/bulk-jobs/1"))
+            .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void activateAllUserTest() throws Exception {
+        List<Long> ids = List.of(1L, 2L);
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("testmail@gmail.com");
+        when(bulkJobService.submitActivation(ids, "testmail@gmail.com")).thenReturn(ModelUtils.getBulkJobDto());
+        mockMvc.perform(put(userLink + "/activateAll")
+            .principal(principal)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(ids)))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/user/bulk-jobs/1"));
+    }
 
+    @Test
+    void updateRoleOfAllUsersTest() throws Exception {
+        List<Long> ids = List.of(1L, 2L);
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("testmail@gmail.com");
+        when(bulkJobService.submitRoleChange(ids, Role.ROLE_MODERATOR, "testmail@gmail.com"))
+            .thenReturn(ModelUtils.getBulkJobDto());
+        mockMvc.perform(put(userLink + "/roleAll")
+            .param("role", "ROLE_MODERATOR")
+            .principal(principal)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(ids)))
+            .andExpect(status().isAccepted());
+        verify(bulkJobService).submitRoleChange(ids, Role.ROLE_MODERATOR, "testmail@gmail.com");
+    }
+
+    @Test
+    void getBulkJobTest() throws Exception {
+        when(bulkJobService.getJob(1L)).thenReturn(ModelUtils.getBulkJobDto());
+        mockMvc.perform(get(userLink + "/bulk-jobs/{jobId}", 1L))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(1))
+            .andExpect(jsonPath("$.total").value(4));
     }
 
     @Test
@@ -0,0 +1,42 @@
+package greencity.jfr;
+
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrRecordingEndpointTest {
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(5);
+
+    @AfterEach
+    void stopRecording() {
+        endpoint.stop();
+    }
+
+    @Test
+    void dumpWithoutRecordingTest() throws Exception {
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump().getStatus());
+    }
+
+    @Test
+    void startStopAndDumpTest() throws Exception {
+        assertEquals("RUNNING", endpoint.start().get("state"));
+        assertEquals("RUNNING", endpoint.start().get("state"));
+
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.outcome = "valid";
+        event.commit();
+
+        assertEquals("STOPPED", endpoint.stop().get("state"));
+        WebEndpointResponse<Resource> response = endpoint.dump();
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(response.getBody().getFile().toPath());
+        assertTrue(events.stream().anyMatch(recorded -> recorded.getEventType().getName()
+            .equals("greencity.TokenVerification") && "valid".equals(recorded.getString("outcome"))));
+    }
+}
@@ -0,0 +1,88 @@
+package greencity.security.context;
+
+import greencity.dto.user.UserVO;
+import greencity.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserHolderTest {
+    @Mock
+    private UserService userService;
+
+    private CurrentUserHolder currentUserHolder;
+
+    @BeforeEach
+    void setUp() {
+        currentUserHolder = new CurrentUserHolder(userService);
+    }
+
+    @Test
+    void getUserReusesUserOfFilterTest() {
+        UserVO user = UserVO.builder().id(1L).email("test@mail.com").build();
+        currentUserHolder.setUser("test@mail.com", user);
+
+        assertSame(user, currentUserHolder.getUser("test@mail.com"));
+        assertEquals(1L, currentUserHolder.getUserId("test@mail.com"));
+        verify(userService, never()).findByEmail(anyString());
+        verify(userService, never()).findIdByEmail(anyString());
+    }
+
+    @Test
+    void getUserLoadsUserOnceTest() {
+        UserVO user = UserVO.builder().id(1L).email("test@mail.com").build();
+        when(userService.findByEmail("test@mail.com")).thenReturn(user);
+
+        assertSame(user, currentUserHolder.getUser("test@mail.com"));
+        assertSame(user, currentUserHolder.getUser("test@mail.com"));
+        verify(userService, times(1)).findByEmail("test@mail.com");
+    }
+
+    @Test
+    void getUserIdDoesNotLoadUserTest() {
+        when(userService.findIdByEmail("test@mail.com")).thenReturn(1L);
+
+        assertEquals(1L, currentUserHolder.getUserId("test@mail.com"));
+        assertEquals(1L, currentUserHolder.getUserId("test@mail.com"));
+        verify(userService, times(1)).findIdByEmail("test@mail.com");
+        verify(userService, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void getUserIdOfClaimsUserDoesNotLoadUserTest() {
+        currentUserHolder.setClaimsUser("test@mail.com", UserVO.builder().id(1L).email("test@mail.com").build());
+
+        assertEquals(1L, currentUserHolder.getUserId("test@mail.com"));
+        verify(userService, never()).findByEmail(anyString());
+        verify(userService, never()).findIdByEmail(anyString());
+    }
+
+    @Test
+    void getUserLoadsFullUserOverClaimsTest() {
+        UserVO user = UserVO.builder().id(1L).email("test@mail.com").name("name").build();
+        currentUserHolder.setClaimsUser("test@mail.com", UserVO.builder().id(1L).build());
+        when(userService.findByEmail("test@mail.com")).thenReturn(user);
+
+        assertSame(user, currentUserHolder.getUser("test@mail.com"));
+    }
+
+    @Test
+    void getUserOfAnotherEmailLoadsItTest() {
+        UserVO other = UserVO.builder().id(2L).email("other@mail.com").build();
+        currentUserHolder.setUser("test@mail.com", UserVO.builder().id(1L).build());
+        when(userService.findByEmail("other@mail.com")).thenReturn(other);
+
+        assertSame(other, currentUserHolder.getUser("other@mail.com"));
+        assertEquals(2L, currentUserHolder.getUserId("other@mail.com"));
+    }
+}
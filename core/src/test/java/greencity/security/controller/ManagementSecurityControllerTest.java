@@ -3,6 +3,7 @@ package greencity.security.controller;
 import greencity.exception.exceptions.*;
 import greencity.security.dto.SuccessSignInDto;
 import greencity.security.dto.ownsecurity.OwnSignInDto;
+import greencity.security.service.LoginAttemptService;
 import greencity.security.service.OwnSecurityService;
 import greencity.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,10 @@ import org.springframework.web.servlet.view.InternalResourceViewResolver;
 
 import static greencity.ModelUtils.TEST_USER_VO;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -40,6 +45,9 @@ class ManagementSecurityControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
     @Mock
     BindingResult bindingResult;
 
@@ -133,4 +141,17 @@ class ManagementSecurityControllerTest {
             .flashAttr("signInForm", dto))
             .andExpect(view().name("core/management_login"));
     }
+
+    @Test
+    void signInThrottled() throws Exception {
+        OwnSignInDto dto = new OwnSignInDto("test@mail.com", "Vovk@1998");
+        doThrow(new TooManyLoginAttemptsException("Too many attempts", 10L))
+            .when(loginAttemptService).checkAttempt(eq("test@mail.com"), any());
+
+        mockMvc.perform(post(LINK + "/login")
+            .flashAttr("signInForm", dto))
+            .andExpect(view().name("core/management_login"));
+
+        verify(ownSecurityService, never()).signIn(any());
+    }
 }
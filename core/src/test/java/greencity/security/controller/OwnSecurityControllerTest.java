@@ -2,7 +2,10 @@ package greencity.security.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import greencity.ModelUtils;
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
 import greencity.security.dto.ownsecurity.*;
+import greencity.security.service.EmployeeImportService;
+import greencity.security.service.LoginAttemptService;
 import greencity.security.service.OwnSecurityService;
 import greencity.security.service.PasswordRecoveryService;
 import greencity.security.service.VerifyEmailService;
@@ -14,15 +17,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +53,12 @@ class OwnSecurityControllerTest {
     @Mock
     private PasswordRecoveryService passwordRecoveryService;
 
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private EmployeeImportService employeeImportService;
+
     @BeforeEach
     void setUp() {
         this.mockMvc = MockMvcBuilders
@@ -89,6 +106,20 @@ class OwnSecurityControllerTest {
         verify(ownSecurityService).signUpEmployee(dto, "en");
     }
 
+    @Test
+    void importEmployeesTest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "employees.csv", "text/csv",
+            "name,email,uuid\nTest,test@mail.com,uuid\n".getBytes());
+        when(employeeImportService.importEmployees(any(), eq("en")))
+            .thenReturn(EmployeeImportResultDto.builder().total(1).imported(1).build());
+
+        mockMvc.perform(multipart(LINK + "/import-employees?lang=en").file(file))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+
+        verify(employeeImportService).importEmployees(any(), eq("en"));
+    }
+
     @Test
     void signInTest() throws Exception {
         String content = """
@@ -104,7 +135,23 @@ class OwnSecurityControllerTest {
             .andExpect(status().isOk());
 
         OwnSignInDto dto = ModelUtils.getObjectMapper().readValue(content, OwnSignInDto.class);
+        verify(loginAttemptService).checkAttempt("test@mail.com", "127.0.0.1");
         verify(ownSecurityService).signIn(dto);
+        verify(loginAttemptService).loginSucceeded("test@mail.com");
+    }
+
+    @Test
+    void signInThrottledTest() {
+        OwnSignInDto dto = new OwnSignInDto("test@mail.com", "String-123");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        doThrow(new TooManyLoginAttemptsException("Too many attempts", 10L))
+            .when(loginAttemptService).checkAttempt("test@mail.com", "10.0.0.1");
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> ownSecurityController.singIn(dto, request));
+
+        verify(ownSecurityService, never()).signIn(any());
+        verify(loginAttemptService, never()).loginSucceeded(anyString());
     }
 
     @Test
@@ -1,9 +1,18 @@
 package greencity.security.filters;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import greencity.dto.user.UserVO;
+import greencity.enums.UserStatus;
+import greencity.logging.LogRedaction;
+import greencity.logging.RateLimitedLogger;
+import greencity.security.context.CurrentUserHolder;
 import greencity.security.jwt.JwtTool;
 import greencity.service.UserService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,19 +21,21 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -32,8 +43,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class AccessTokenAuthenticationFilterTest {
-    private PrintStream systemOut;
-    private ByteArrayOutputStream systemOutContent;
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessTokenAuthenticationFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
 
     @Mock
     HttpServletRequest request;
@@ -47,20 +58,27 @@ class AccessTokenAuthenticationFilterTest {
     AuthenticationManager authenticationManager;
     @Mock
     UserService userService;
+    @Mock
+    CurrentUserHolder currentUserHolder;
+
+    @Mock
+    Claims claims;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
     private AccessTokenAuthenticationFilter authenticationFilter;
 
     @BeforeEach
     void setUp() {
-        systemOut = System.out;
-        systemOutContent = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(systemOutContent));
+        meterRegistry = new SimpleMeterRegistry();
+        authenticationFilter = new AccessTokenAuthenticationFilter(jwtTool, authenticationManager, userService,
+            currentUserHolder, false, meterRegistry, new RateLimitedLogger(logger, 10, Duration.ofMinutes(1)));
+        appender.start();
+        logger.addAppender(appender);
     }
 
     @AfterEach
-    void restoreSystemOutStream() {
-        System.setOut(systemOut);
+    void detachAppender() {
+        logger.detachAppender(appender);
     }
 
     @Test
@@ -68,13 +86,53 @@ class AccessTokenAuthenticationFilterTest {
         when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
         when(authenticationManager.authenticate(any()))
             .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null));
-        when(userService.findNotDeactivatedByEmail("test@mail.com"))
-            .thenReturn(Optional.of(UserVO.builder().id(1L).build()));
+        UserVO user = UserVO.builder().id(1L).build();
+        when(userService.findNotDeactivatedByEmail("test@mail.com")).thenReturn(Optional.of(user));
         doNothing().when(chain).doFilter(request, response);
 
         authenticationFilter.doFilterInternal(request, response, chain);
         verify(authenticationManager).authenticate(any());
+        verify(currentUserHolder).setUser("test@mail.com", user);
         verify(chain).doFilter(request, response);
+        assertEquals(1, meterRegistry.get("greencity.auth.filter").tag("outcome", "database").timer().count());
+    }
+
+    @Test
+    void doFilterInternalWithStatelessClaimsTest() throws IOException, ServletException {
+        authenticationFilter = new AccessTokenAuthenticationFilter(jwtTool, authenticationManager, userService,
+            currentUserHolder, true, meterRegistry);
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken("test@mail.com", null);
+        authentication.setDetails(claims);
+        UserVO user = UserVO.builder().id(1L).userStatus(UserStatus.ACTIVATED).build();
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(jwtTool.getUserOutOfClaims(claims)).thenReturn(Optional.of(user));
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+
+        verify(currentUserHolder).setClaimsUser("test@mail.com", user);
+        verify(userService, never()).findNotDeactivatedByEmail(any());
+        verify(chain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternalWithStaleClaimsLoadsUserTest() throws IOException, ServletException {
+        authenticationFilter = new AccessTokenAuthenticationFilter(jwtTool, authenticationManager, userService,
+            currentUserHolder, true, meterRegistry);
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken("test@mail.com", null);
+        authentication.setDetails(claims);
+        UserVO user = UserVO.builder().id(1L).build();
+        when(jwtTool.getTokenFromHttpServletRequest(request)).thenReturn("SuperSecretAccessToken");
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(jwtTool.getUserOutOfClaims(claims)).thenReturn(Optional.empty());
+        when(userService.findNotDeactivatedByEmail("test@mail.com")).thenReturn(Optional.of(user));
+
+        authenticationFilter.doFilterInternal(request, response, chain);
+
+        verify(currentUserHolder).setUser("test@mail.com", user);
+        verify(currentUserHolder, never()).setClaimsUser(any(), any());
     }
 
 //    @Test
@@ -96,6 +154,10 @@ class AccessTokenAuthenticationFilterTest {
             .thenReturn(new UsernamePasswordAuthenticationToken("test@mail.com", null));
         when(userService.findNotDeactivatedByEmail("test@mail.com")).thenThrow(RuntimeException.class);
         authenticationFilter.doFilterInternal(request, response, chain);
-        assertTrue(systemOutContent.toString().contains("Access denied with token: "));
+
+        List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertEquals(1, messages.size());
+        assertTrue(messages.get(0).startsWith("Access denied with token " + LogRedaction.token(token) + ": "));
+        assertFalse(messages.get(0).contains(token));
     }
 }
@@ -2,11 +2,14 @@ package greencity.security.providers;
 
 import greencity.enums.Role;
 import greencity.security.jwt.JwtTool;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,7 +34,7 @@ class JwtAuthenticationProviderTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtTool);
+        jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtTool, new SimpleMeterRegistry());
     }
 
     @Test
@@ -56,6 +59,7 @@ class JwtAuthenticationProviderTest {
                 .collect(Collectors.toList()),
             actual.getAuthorities());
         assertEquals("", actual.getCredentials());
+        assertEquals(expectedEmail, assertInstanceOf(Claims.class, actual.getDetails()).getSubject());
     }
 
     @Test
@@ -0,0 +1,34 @@
+package greencity.dto.user;
+
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Columns of an imported employee together with the rows of their password and
+ * of their restore password email.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@EqualsAndHashCode
+public class EmployeeImportRecord {
+    private final String name;
+    private final String email;
+    private final String uuid;
+    private final Role role;
+    private final UserStatus userStatus;
+    private final EmailNotification emailNotification;
+    private final Double rating;
+    private final Long languageId;
+    private final String refreshTokenKey;
+    private final LocalDateTime registeredAt;
+    private final String password;
+    private final String restoreToken;
+    private final LocalDateTime restoreTokenExpiryDate;
+}
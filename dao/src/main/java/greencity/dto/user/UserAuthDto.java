@@ -0,0 +1,28 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Columns of a user that are needed for sign in and token refresh. Selected
+ * with one query instead of loading the {@code User} entity with its
+ * associations.
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserAuthDto {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final Role role;
+    private final UserStatus userStatus;
+    private final String password;
+    private final String refreshTokenKey;
+    private final boolean verifyEmailPending;
+}
@@ -0,0 +1,23 @@
+package greencity.dto.user;
+
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Columns of a user that are needed to change the user in a bulk operation and
+ * to send a notification email to them.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserRecipientDto {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final Role role;
+    private final UserStatus userStatus;
+    private final String languageCode;
+}
@@ -0,0 +1,66 @@
+package greencity.entity;
+
+import greencity.enums.BulkJobStatus;
+import greencity.enums.BulkJobType;
+import greencity.enums.Role;
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Bulk operation over a list of users that runs in the background. The ids are
+ * processed in chunks in their order, and {@code processed} is the number of
+ * ids handled so far. {@code heartbeatAt} is moved on every saved chunk, so a
+ * job whose node has stopped can be told apart from a slow one.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "bulk_jobs")
+public class BulkJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BulkJobType type;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BulkJobStatus status;
+
+    @Enumerated(value = EnumType.STRING)
+    @Column(length = 50)
+    private Role role;
+
+    @Column(nullable = false)
+    private Long[] userIds;
+
+    @Column(nullable = false)
+    private String createdBy;
+
+    private int total;
+
+    private int processed;
+
+    private int updated;
+
+    private int notified;
+
+    private int notificationsFailed;
+
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime heartbeatAt;
+
+    private LocalDateTime finishedAt;
+}
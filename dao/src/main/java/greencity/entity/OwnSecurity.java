@@ -8,11 +8,12 @@ import jakarta.persistence.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = "user")
+@ToString(exclude = {"user", "password"})
 @Table(name = "own_security")
 public class OwnSecurity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "own_security_seq")
+    @SequenceGenerator(name = "own_security_seq", sequenceName = "own_security_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
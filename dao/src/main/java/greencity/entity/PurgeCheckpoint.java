@@ -0,0 +1,27 @@
+package greencity.entity;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Last id deleted by an unfinished run of a purge job. The next run of the job
+ * resumes after it, on whichever node it runs.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "purge_checkpoints")
+public class PurgeCheckpoint {
+    @Id
+    @Column(length = 64)
+    private String job;
+
+    @Column(nullable = false)
+    private Long lastId;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
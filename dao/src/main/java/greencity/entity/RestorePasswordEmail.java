@@ -10,10 +10,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @EqualsAndHashCode
+@ToString(exclude = "token")
 @Table(name = "restore_password_email")
 public class RestorePasswordEmail {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restore_password_email_seq")
+    @SequenceGenerator(name = "restore_password_email_seq", sequenceName = "restore_password_email_seq",
+        allocationSize = 50)
     private Long id;
 
     @OneToOne(cascade = CascadeType.DETACH)
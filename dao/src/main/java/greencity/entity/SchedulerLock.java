@@ -0,0 +1,30 @@
+package greencity.entity;
+
+import lombok.*;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Lease of a scheduled job. The node which holds an unexpired lease is the only
+ * one that runs the job.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "scheduler_locks")
+public class SchedulerLock {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private Instant lockedUntil;
+
+    @Column(nullable = false)
+    private Instant lockedAt;
+
+    @Column(nullable = false)
+    private String lockedBy;
+}
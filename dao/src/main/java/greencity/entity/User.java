@@ -27,6 +27,12 @@ import java.util.List;
         + "WHERE EXTRACT(YEAR from date_of_registration) = EXTRACT(YEAR FROM CURRENT_DATE) "
         + "GROUP BY month",
     resultSetMapping = "monthsStatisticsMapping")
+@NamedEntityGraph(name = "User.details", attributeNodes = {
+    @NamedAttributeNode("language"),
+    @NamedAttributeNode("ownSecurity"),
+    @NamedAttributeNode("verifyEmail"),
+    @NamedAttributeNode("restorePasswordEmail")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -35,10 +41,11 @@ import java.util.List;
 @Table(name = "users")
 @EqualsAndHashCode(
     exclude = {"verifyEmail", "ownSecurity",
-        "refreshTokenKey", "restorePasswordEmail"})
+        "refreshTokenKey", "restorePasswordEmail", "userDeactivationReasons"})
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 30)
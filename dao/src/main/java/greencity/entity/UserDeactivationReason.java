@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 @Builder
 public class UserDeactivationReason {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reasons_for_user_deactivation_seq")
+    @SequenceGenerator(name = "reasons_for_user_deactivation_seq", sequenceName = "reasons_for_user_deactivation_seq",
+        allocationSize = 50)
     private Long id;
     @Column(name = "date_of_deactivation")
     private LocalDateTime dateTimeOfDeactivation;
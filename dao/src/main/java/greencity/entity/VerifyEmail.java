@@ -9,11 +9,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = "user")
+@ToString(exclude = {"user", "token"})
 @Table(name = "verify_emails")
 public class VerifyEmail {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "verify_emails_seq")
+    @SequenceGenerator(name = "verify_emails_seq", sequenceName = "verify_emails_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(cascade = CascadeType.DETACH)
@@ -0,0 +1,5 @@
+package greencity.enums;
+
+public enum BulkJobType {
+    DEACTIVATE, ACTIVATE, CHANGE_ROLE
+}
@@ -0,0 +1,109 @@
+package greencity.repository;
+
+import greencity.entity.BulkJob;
+import greencity.enums.BulkJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BulkJobRepo extends JpaRepository<BulkJob, Long> {
+    /**
+     * Find {@link BulkJob} by id. Unlike the inherited method, it is not read-only,
+     * so it reads from the primary: a job is read right after it was submitted or
+     * claimed, when the replica may not have it yet.
+     *
+     * @param id id of the job.
+     * @return {@link BulkJob}
+     */
+    @Override
+    @Transactional
+    Optional<BulkJob> findById(Long id);
+
+    /**
+     * Moves a job from one status to another if it is still in the expected status,
+     * so only one worker picks a job up.
+     *
+     * @param id        id of the job.
+     * @param expected  current status of the job.
+     * @param status    new status of the job.
+     * @param startedAt time the job is started.
+     * @return {@code 1} if the job was moved, otherwise {@code 0}.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob SET status = :status, startedAt = :startedAt, heartbeatAt = :startedAt "
+        + "WHERE id = :id AND status = :expected")
+    int claim(Long id, BulkJobStatus expected, BulkJobStatus status, LocalDateTime startedAt);
+
+    /**
+     * Saves progress of a job that is not finished yet.
+     *
+     * @param id                  id of the job.
+     * @param processed           number of ids handled so far.
+     * @param updated             number of users changed so far.
+     * @param notified            number of notification emails queued so far.
+     * @param notificationsFailed number of notification emails that could not be
+     *                            queued.
+     * @param heartbeatAt         time the progress is saved.
+     * @return {@code 1} if the progress was saved, {@code 0} if the job has been
+     *         finished meanwhile.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob SET processed = :processed, updated = :updated, notified = :notified, "
+        + "notificationsFailed = :notificationsFailed, heartbeatAt = :heartbeatAt "
+        + "WHERE id = :id AND finishedAt IS NULL")
+    int updateProgress(Long id, int processed, int updated, int notified, int notificationsFailed,
+        LocalDateTime heartbeatAt);
+
+    /**
+     * Finishes a job that is not finished yet.
+     *
+     * @param id           id of the job.
+     * @param status       final status of the job.
+     * @param errorMessage reason of a failure, {@code null} if the job completed.
+     * @param finishedAt   time the job is finished.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob SET status = :status, errorMessage = :errorMessage, finishedAt = :finishedAt "
+        + "WHERE id = :id AND finishedAt IS NULL")
+    void finish(Long id, BulkJobStatus status, String errorMessage, LocalDateTime finishedAt);
+
+    /**
+     * Finishes the jobs in the given status that have not saved progress since the
+     * given time, such as jobs whose node stopped while they were running.
+     *
+     * @param expected     current status of the jobs.
+     * @param staleBefore  jobs not saved since this time are finished.
+     * @param status       final status of the jobs.
+     * @param errorMessage reason of the failure.
+     * @param finishedAt   time the jobs are finished.
+     * @return number of finished jobs.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob SET status = :status, errorMessage = :errorMessage, finishedAt = :finishedAt "
+        + "WHERE finishedAt IS NULL AND status = :expected AND heartbeatAt < :staleBefore")
+    int finishStale(BulkJobStatus expected, LocalDateTime staleBefore, BulkJobStatus status, String errorMessage,
+        LocalDateTime finishedAt);
+
+    /**
+     * Finds ids of the jobs in the given status that were created before the given
+     * time. It is not read-only, so it reads from the primary and does not return
+     * jobs that have just been claimed.
+     *
+     * @param status        status of the jobs.
+     * @param createdBefore jobs created before this time are found.
+     * @return ids of the jobs in the order they were created.
+     */
+    @Transactional
+    @Query("SELECT id FROM BulkJob WHERE status = :status AND createdAt < :createdBefore ORDER BY id")
+    List<Long> findIdsByStatusCreatedBefore(BulkJobStatus status, LocalDateTime createdBefore);
+}
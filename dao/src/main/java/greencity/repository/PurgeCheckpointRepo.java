@@ -0,0 +1,47 @@
+package greencity.repository;
+
+import greencity.entity.PurgeCheckpoint;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for {@link PurgeCheckpoint}.
+ */
+@Repository
+public interface PurgeCheckpointRepo extends JpaRepository<PurgeCheckpoint, String> {
+    /**
+     * Returns the last id deleted by an unfinished run of a job.
+     *
+     * @param job name of the job.
+     * @return {@link Optional} of the id, empty if the last run has completed.
+     */
+    @Query(nativeQuery = true, value = "SELECT last_id FROM purge_checkpoints WHERE job = :job")
+    Optional<Long> findLastId(String job);
+
+    /**
+     * Saves the last id deleted by a run of a job, replacing the previous one.
+     *
+     * @param job    name of the job.
+     * @param lastId last deleted id.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "INSERT INTO purge_checkpoints (job, last_id, updated_at) "
+        + "VALUES (:job, :lastId, CURRENT_TIMESTAMP) "
+        + "ON CONFLICT (job) DO UPDATE SET last_id = EXCLUDED.last_id, updated_at = EXCLUDED.updated_at")
+    void saveLastId(String job, Long lastId);
+
+    /**
+     * Removes the checkpoint of a job whose run has completed.
+     *
+     * @param job name of the job.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM purge_checkpoints WHERE job = :job")
+    void deleteByJob(String job);
+}
@@ -0,0 +1,48 @@
+package greencity.repository;
+
+import greencity.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for {@link SchedulerLock}. Lease times are taken from the database
+ * clock, so clock skew between nodes does not matter.
+ */
+@Repository
+public interface SchedulerLockRepo extends JpaRepository<SchedulerLock, String> {
+    /**
+     * Takes the lease of a job if nobody holds it or the lease has expired.
+     *
+     * @param name          name of the job.
+     * @param owner         id of the node which takes the lease.
+     * @param lockAtMostFor lease length in milliseconds.
+     * @return {@code 1} if the lease is taken, otherwise {@code 0}.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by) "
+        + "VALUES (:name, CURRENT_TIMESTAMP + :lockAtMostFor * INTERVAL '1 millisecond', CURRENT_TIMESTAMP, :owner) "
+        + "ON CONFLICT (name) DO UPDATE SET locked_until = EXCLUDED.locked_until, "
+        + "locked_at = EXCLUDED.locked_at, locked_by = EXCLUDED.locked_by "
+        + "WHERE scheduler_locks.locked_until <= EXCLUDED.locked_at")
+    int tryAcquire(String name, String owner, long lockAtMostFor);
+
+    /**
+     * Releases the lease of a job held by a node. The lease is kept for at least
+     * the given time after it was taken, so other nodes skip the same run.
+     *
+     * @param name           name of the job.
+     * @param owner          id of the node which holds the lease.
+     * @param lockAtLeastFor minimum lease length in milliseconds.
+     * @return {@code 1} if the lease was held by the node, otherwise {@code 0}.
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "UPDATE scheduler_locks SET locked_until = "
+        + "GREATEST(locked_at + :lockAtLeastFor * INTERVAL '1 millisecond', CURRENT_TIMESTAMP) "
+        + "WHERE name = :name AND locked_by = :owner")
+    int release(String name, String owner, long lockAtLeastFor);
+}
@@ -1,12 +1,16 @@
 package greencity.repository;
 
 import greencity.dto.user.RegistrationStatisticsDtoResponse;
+import greencity.dto.user.UserAuthDto;
+import greencity.dto.user.UserRecipientDto;
 import greencity.entity.User;
 import greencity.enums.EmailNotification;
+import greencity.enums.Role;
 import greencity.enums.UserStatus;
 import java.time.LocalDateTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -15,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 import jakarta.persistence.NamedNativeQuery;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -27,11 +32,28 @@ import java.util.stream.Collectors;
 @Repository
 public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     /**
-     * Find {@link User} by email.
+     * Find {@link User} by id. Language, password, and verify and restore emails
+     * are joined in the same query, so the user can be mapped after the session is
+     * closed. Unlike the inherited method, it is not read-only, so outside of a
+     * read-only transaction it reads from the primary: the result is cached right
+     * after a change of the user, when the replica may not have it yet.
+     *
+     * @param id user id.
+     * @return {@link User}
+     */
+    @Override
+    @Transactional
+    @EntityGraph("User.details")
+    Optional<User> findById(Long id);
+
+    /**
+     * Find {@link User} by email. Associations are joined as in
+     * {@link #findById(Long)}.
      *
      * @param email user email.
      * @return {@link User}
      */
+    @EntityGraph("User.details")
     Optional<User> findByEmail(String email);
 
     /**
@@ -62,6 +84,19 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     @Query("SELECT uuid FROM User WHERE email=:email")
     Optional<String> findUuidByEmail(String email);
 
+    /**
+     * Find the columns needed for authentication by email. Password hash and
+     * verification state are joined in the same query, so no associations of
+     * {@link User} are loaded.
+     *
+     * @param email - {@link User}'s email
+     * @return {@link UserAuthDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserAuthDto(u.id, u.name, u.email, u.role, u.userStatus, os.password, "
+        + "u.refreshTokenKey, CASE WHEN ve.id IS NULL THEN false ELSE true END) "
+        + "FROM User u LEFT JOIN u.ownSecurity os LEFT JOIN u.verifyEmail ve WHERE u.email = :email")
+    Optional<UserAuthDto> findAuthByEmail(String email);
+
     /**
      * Find not 'DEACTIVATED' {@link User} by email.
      *
@@ -69,6 +104,7 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      * @return found {@link User}
      * @author Vasyl Zhovnir
      */
+    @EntityGraph("User.details")
     @Query("FROM User WHERE email=:email AND userStatus <> 1")
     Optional<User> findNotDeactivatedByEmail(String email);
 
@@ -78,6 +114,7 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
      * @param emailNotification - type of {@link EmailNotification}
      * @return list of {@link User}'s
      */
+    @EntityGraph("User.details")
     List<User> findAllByEmailNotification(EmailNotification emailNotification);
 
     /**
@@ -92,6 +129,21 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     @Query(value = "UPDATE User SET refreshTokenKey=:refreshTokenKey WHERE id=:id")
     int updateUserRefreshToken(String refreshTokenKey, Long id);
 
+    /**
+     * Replaces refresh token key only if it still equals the key the presented
+     * token was signed with. Of several concurrent rotations of the same key
+     * exactly one updates the row.
+     *
+     * @param id         - user's id
+     * @param currentKey - key the presented refresh token was signed with
+     * @param newKey     - new refresh token key
+     * @return - number of updated rows, {@code 0} if the key was already rotated
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE User SET refreshTokenKey=:newKey WHERE id=:id AND refreshTokenKey=:currentKey")
+    int rotateRefreshTokenKey(Long id, String currentKey, String newKey);
+
     /**
      * Counts all users by user {@link UserStatus}.
      *
@@ -107,6 +159,46 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     @Query("SELECT profilePicturePath FROM User WHERE id=:id")
     Optional<String> getProfilePicturePathByUserId(Long id);
 
+    /**
+     * Get path of the profile picture thumbnail of a given size.
+     *
+     * @param userId - {@link User}'s id
+     * @param size   - name of the thumbnail size
+     * @return thumbnail path {@link String}
+     */
+    @Query(nativeQuery = true,
+        value = "SELECT path FROM user_profile_picture_thumbnails WHERE user_id = :userId AND size = :size")
+    Optional<String> findProfilePictureThumbnailPath(Long userId, String size);
+
+    /**
+     * Saves path of the profile picture thumbnail of a given size, replacing the
+     * previous one, if the user's profile picture is still the one the thumbnail
+     * was made of.
+     *
+     * @param userId      - {@link User}'s id
+     * @param size        - name of the thumbnail size
+     * @param path        - thumbnail path
+     * @param picturePath - path of the profile picture the thumbnail was made of
+     * @return number of saved rows, {@code 0} if the profile picture has changed
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true,
+        value = "INSERT INTO user_profile_picture_thumbnails (user_id, size, path) "
+            + "SELECT id, :size, :path FROM users WHERE id = :userId AND profile_picture_path = :picturePath "
+            + "ON CONFLICT (user_id, size) DO UPDATE SET path = EXCLUDED.path")
+    int saveProfilePictureThumbnailPath(Long userId, String size, String path, String picturePath);
+
+    /**
+     * Deletes all profile picture thumbnails of a given user.
+     *
+     * @param userId - {@link User}'s id
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM user_profile_picture_thumbnails WHERE user_id = :userId")
+    void deleteProfilePictureThumbnails(Long userId);
+
     /**
      * Updates last activity time for a given user.
      *
@@ -131,26 +223,82 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     Optional<Timestamp> findLastActivityTimeById(Long userId);
 
     /**
-     * Delete from the database users that have status_user 'DEACTIVATED' and last
-     * visited the site 2 years ago.
+     * Finds ids of users that have status 'DEACTIVATED' and last visited the site 2
+     * years ago.
      *
+     * @param afterId only ids greater than this one are returned.
+     * @param limit   maximum number of ids.
+     * @return ids in ascending order.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM users WHERE user_status = 1 "
+        + "AND last_activity_time + interval '2 year' <= CURRENT_TIMESTAMP "
+        + "AND id > :afterId ORDER BY id LIMIT :limit")
+    List<Long> findDeactivatedUserIdsToDelete(Long afterId, int limit);
+
+    /**
+     * Delete from the database users with given ids that still have status
+     * 'DEACTIVATED' and last visited the site 2 years ago.
+     *
+     * @param ids ids of the users.
      * @return number of deleted rows
-     * @author Vasyl Zhovnir
      **/
     @Modifying
-    @Query(nativeQuery = true, value = "DELETE FROM users where status = 1 "
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM users WHERE id IN (:ids) AND user_status = 1 "
         + "AND last_activity_time + interval '2 year' <= CURRENT_TIMESTAMP")
-    int scheduleDeleteDeactivatedUsers();
+    int deleteDeactivatedUsersByIds(List<Long> ids);
 
     /**
      * Set {@link User}s' statuses to 'DEACTIVATED'.
      *
      * @param ids - {@link List} of ids of {@link User} to be 'DEACTIVATED'
+     * @return number of updated rows
      * @author Vasyl Zhovnir
      **/
     @Modifying
     @Query(value = "UPDATE User SET userStatus = 1 where id IN(:ids)")
-    void deactivateSelectedUsers(List<Long> ids);
+    int deactivateSelectedUsers(List<Long> ids);
+
+    /**
+     * Finds the users with given ids for a bulk operation.
+     *
+     * @param ids - {@link List} of ids of {@link User}
+     * @return {@link List} of {@link UserRecipientDto}
+     */
+    @Query("SELECT new greencity.dto.user.UserRecipientDto(u.id, u.name, u.email, u.role, "
+        + "u.userStatus, l.code) FROM User u LEFT JOIN u.language l WHERE u.id IN :ids")
+    List<UserRecipientDto> findRecipientsByIds(List<Long> ids);
+
+    /**
+     * Finds which of the given emails are taken by users.
+     *
+     * @param emails - {@link Collection} of emails
+     * @return {@link List} of taken emails
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Set {@link User}s' statuses.
+     *
+     * @param ids    - {@link List} of ids of {@link User}
+     * @param status - new {@link UserStatus}
+     * @return number of updated rows
+     **/
+    @Modifying
+    @Query(value = "UPDATE User SET userStatus = :status WHERE id IN :ids")
+    int updateStatusByIds(List<Long> ids, UserStatus status);
+
+    /**
+     * Set {@link User}s' roles.
+     *
+     * @param ids  - {@link List} of ids of {@link User}
+     * @param role - new {@link Role}
+     * @return number of updated rows
+     **/
+    @Modifying
+    @Query(value = "UPDATE User SET role = :role WHERE id IN :ids")
+    int updateRoleByIds(List<Long> ids, Role role);
 
     /**
      * Method returns {@link User} by search query and page.
@@ -166,16 +314,30 @@ public interface UserRepo extends JpaRepository<User, Long>, JpaSpecificationExe
     Page<User> searchBy(Pageable paging, String query);
 
     /**
-     * Delete from the database users that have status 'CREATED' and have not
-     * activated the account within 24 hours.
+     * Finds ids of users that have status 'CREATED' and have not activated the
+     * account within 24 hours.
+     *
+     * @param afterId only ids greater than this one are returned.
+     * @param limit   maximum number of ids.
+     * @return ids in ascending order.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM users WHERE user_status = 3 "
+        + "AND date_of_registration + interval '1 day' <= CURRENT_TIMESTAMP "
+        + "AND id > :afterId ORDER BY id LIMIT :limit")
+    List<Long> findCreatedUserIdsToDelete(Long afterId, int limit);
+
+    /**
+     * Delete from the database users with given ids that still have status
+     * 'CREATED' and have not activated the account within 24 hours.
      *
+     * @param ids ids of the users.
      * @return number of deleted rows
-     * @author Vasyl Zhovnir
      **/
     @Modifying
-    @Query(nativeQuery = true, value = "DELETE FROM users u WHERE u.user_status = 3 "
-        + "AND u.date_of_registration + interval '1 day' <= CURRENT_TIMESTAMP")
-    int scheduleDeleteCreatedUsers();
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM users WHERE id IN (:ids) AND user_status = 3 "
+        + "AND date_of_registration + interval '1 day' <= CURRENT_TIMESTAMP")
+    int deleteCreatedUsersByIds(List<Long> ids);
 
     /**
      * Find and return all cities for all users.
@@ -0,0 +1,84 @@
+package greencity.security.repository;
+
+import greencity.dto.user.EmployeeImportRecord;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository that inserts imported employees with plain JDBC, so an import of
+ * thousands of rows does not pass through the persistence context. A whole
+ * chunk of users is inserted with one statement that returns their ids, and the
+ * rows that depend on them are sent as JDBC batches.
+ */
+@Repository
+public class EmployeeImportRepo {
+    private static final String INSERT_USERS = "INSERT INTO users (name, first_name, email, role, user_status, "
+        + "email_notification, rating, language_id, refresh_token_key, date_of_registration, last_activity_time, "
+        + "uuid, show_location, show_eco_place, show_shopping_list) VALUES ";
+    private static final String USER_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, TRUE, TRUE)";
+    private static final String RETURNING_INSERTED_USERS = " ON CONFLICT DO NOTHING RETURNING id, email";
+    private static final String INSERT_OWN_SECURITY = "INSERT INTO own_security (user_id, password) VALUES (?, ?)";
+    private static final String INSERT_RESTORE_PASSWORD_EMAIL =
+        "INSERT INTO restore_password_email (user_id, token, expiry_date) VALUES (?, ?, ?)";
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor.
+     */
+    public EmployeeImportRepo(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts employees with their passwords and restore password emails. An
+     * employee whose email is taken by the time of the insert is skipped. Should be
+     * called in a transaction.
+     *
+     * @param employees employees with distinct emails.
+     * @return ids of the inserted employees by their emails.
+     */
+    public Map<String, Long> insertEmployees(List<EmployeeImportRecord> employees) {
+        if (employees.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> ids = new HashMap<>();
+        String sql = INSERT_USERS + String.join(", ", Collections.nCopies(employees.size(), USER_VALUES))
+            + RETURNING_INSERTED_USERS;
+        jdbcTemplate.query(sql, ps -> {
+            int index = 1;
+            for (EmployeeImportRecord employee : employees) {
+                ps.setString(index++, employee.getName());
+                ps.setString(index++, employee.getName());
+                ps.setString(index++, employee.getEmail());
+                ps.setString(index++, employee.getRole().name());
+                ps.setInt(index++, employee.getUserStatus().ordinal());
+                ps.setInt(index++, employee.getEmailNotification().ordinal());
+                ps.setObject(index++, employee.getRating());
+                ps.setObject(index++, employee.getLanguageId());
+                ps.setString(index++, employee.getRefreshTokenKey());
+                ps.setObject(index++, employee.getRegisteredAt());
+                ps.setObject(index++, employee.getRegisteredAt());
+                ps.setString(index++, employee.getUuid());
+            }
+        }, rs -> {
+            ids.put(rs.getString("email"), rs.getLong("id"));
+        });
+        List<EmployeeImportRecord> inserted = employees.stream()
+            .filter(employee -> ids.containsKey(employee.getEmail()))
+            .toList();
+        jdbcTemplate.batchUpdate(INSERT_OWN_SECURITY, inserted, inserted.size(), (ps, employee) -> {
+            ps.setLong(1, ids.get(employee.getEmail()));
+            ps.setString(2, employee.getPassword());
+        });
+        jdbcTemplate.batchUpdate(INSERT_RESTORE_PASSWORD_EMAIL, inserted, inserted.size(), (ps, employee) -> {
+            ps.setLong(1, ids.get(employee.getEmail()));
+            ps.setString(2, employee.getRestoreToken());
+            ps.setObject(3, employee.getRestoreTokenExpiryDate());
+        });
+        return ids;
+    }
+}
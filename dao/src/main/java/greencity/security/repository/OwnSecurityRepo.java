@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 /**
@@ -24,6 +25,7 @@ public interface OwnSecurityRepo extends JpaRepository<OwnSecurity, Long> {
      * @author Dmytro Dovhal
      */
     @Modifying
+    @Transactional
     @Query("UPDATE OwnSecurity o SET o.password = :password WHERE o.user.id = :id")
     void updatePassword(@Param("password") String password, @Param("id") Long id);
 
@@ -4,8 +4,10 @@ import greencity.entity.RestorePasswordEmail;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,19 +22,24 @@ public interface RestorePasswordEmailRepo extends JpaRepository<RestorePasswordE
     Optional<RestorePasswordEmail> findByToken(String token);
 
     /**
-     * Deletes from the database password reset tokens that are expired.
+     * Finds ids of expired password reset tokens.
      *
-     * @apiNote WARNING: MySQL doesn't allow to delete/update records without
-     *          specifying PRIMARY KEY. `id <> -1` is a trick to make MySQL DB
-     *          execute this query. However, this WON'T WORK if there is a
-     *          possibility of having negative PRIMARY KEYs. Some DBMS do permit
-     *          specifying IDENTITY function to generate PRIMARY KEY.
+     * @param afterId only ids greater than this one are returned.
+     * @param limit   maximum number of ids.
+     * @return ids in ascending order.
+     */
+    @Query(nativeQuery = true, value = "SELECT id FROM restore_password_email "
+        + "WHERE expiry_date < CURRENT_TIMESTAMP AND id > :afterId ORDER BY id LIMIT :limit")
+    List<Long> findExpiredPasswordResetTokenIds(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Deletes password reset tokens with given ids that are still expired.
      *
+     * @param ids ids of the tokens.
      * @return number of deleted rows
-     * @author Yurii Koval
      **/
     @Transactional
     @Modifying
-    @Query("DELETE FROM RestorePasswordEmail WHERE id <> -1 AND expiryDate < CURRENT_TIMESTAMP")
-    int deleteAllExpiredPasswordResetTokens();
+    @Query("DELETE FROM RestorePasswordEmail WHERE id IN :ids AND expiryDate < CURRENT_TIMESTAMP")
+    int deleteExpiredPasswordResetTokensByIds(@Param("ids") List<Long> ids);
 }
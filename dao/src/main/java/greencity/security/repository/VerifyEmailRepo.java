@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,13 +41,27 @@ public interface VerifyEmailRepo extends JpaRepository<VerifyEmail, Long> {
     int deleteVerifyEmailByTokenAndUserId(@Param("userId") Long userId, @Param("token") String token);
 
     /**
-     * Deletes from the database users that did not verify their emails on time.
-     * 
+     * Finds ids of users that did not verify their emails on time.
+     *
+     * @param afterId only ids greater than this one are returned.
+     * @param limit   maximum number of ids.
+     * @return ids of users in ascending order.
+     */
+    @Query(nativeQuery = true, value = "SELECT user_id FROM verify_emails "
+        + "WHERE expiry_date < CURRENT_TIMESTAMP AND user_id > :afterId ORDER BY user_id LIMIT :limit")
+    List<Long> findUserIdsWithExpiredVerifyEmail(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Deletes from the database users with given ids that did not verify their
+     * emails on time.
+     *
+     * @param ids ids of the users.
      * @return number of deleted rows
      **/
+    @Transactional
     @Modifying
     @Query(
-        value = "DELETE FROM User WHERE id IN "
-            + "(SELECT v.user.id FROM VerifyEmail v WHERE expiryDate < CURRENT_TIMESTAMP)")
-    int deleteAllUsersThatDidNotVerifyEmail();
+        value = "DELETE FROM User WHERE id IN :ids AND id IN "
+            + "(SELECT v.user.id FROM VerifyEmail v WHERE v.expiryDate < CURRENT_TIMESTAMP)")
+    int deleteUsersThatDidNotVerifyEmailByIds(@Param("ids") List<Long> ids);
 }
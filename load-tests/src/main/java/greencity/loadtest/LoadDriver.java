@@ -0,0 +1,129 @@
+package greencity.loadtest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Closed-model load driver. Every virtual user runs on its own virtual thread
+ * and sends the next request, picked by the weights of the mix, as soon as the
+ * previous one is answered. Results of the warmup are dropped, so the report
+ * covers the measured run only.
+ */
+@Slf4j
+final class LoadDriver {
+    private static final Duration SIGN_IN_RETRY_DELAY = Duration.ofMillis(100);
+    private final ServiceClient client;
+    private final SeededUsers users;
+    private final LoadTestSettings settings;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private volatile ScenarioStats stats = new ScenarioStats();
+    private volatile boolean stopped;
+
+    LoadDriver(ServiceClient client, SeededUsers users, LoadTestSettings settings) {
+        if (settings.virtualUsers() > users.ids().size()) {
+            throw new IllegalArgumentException("loadtest.virtual-users must not exceed loadtest.users, "
+                + "every virtual user needs a user of its own");
+        }
+        this.client = client;
+        this.users = users;
+        this.settings = settings;
+        List<Map.Entry<Scenario, Integer>> weights = settings.mix().entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .toList();
+        this.scenarios = new Scenario[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            total += weights.get(i).getValue();
+            scenarios[i] = weights.get(i).getKey();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured run.
+     *
+     * @return summaries of the scenarios of the mix, measured after the warmup.
+     */
+    List<ScenarioStats.Summary> run() throws IOException, InterruptedException {
+        ServiceClient.Tokens admin = client.signIn(users.adminEmail(), users.password());
+        ScenarioStats measured;
+        long measuredNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 1; i <= settings.virtualUsers(); i++) {
+                VirtualUser virtualUser = new VirtualUser(client, users, SeededUsers.email(i), admin);
+                executor.submit(() -> drive(virtualUser));
+            }
+            log.info("Warming up {} virtual users for {}s", settings.virtualUsers(), settings.warmup().toSeconds());
+            Thread.sleep(settings.warmup());
+            measured = new ScenarioStats();
+            stats = measured;
+            long start = System.nanoTime();
+            log.info("Measuring for {}s", settings.duration().toSeconds());
+            Thread.sleep(settings.duration());
+            stats = new ScenarioStats();
+            measuredNanos = System.nanoTime() - start;
+            stopped = true;
+        }
+        double seconds = measuredNanos / (double) Duration.ofSeconds(1).toNanos();
+        List<ScenarioStats.Summary> summaries = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            summaries.add(measured.summary(scenario, seconds));
+        }
+        return summaries;
+    }
+
+    private void drive(VirtualUser virtualUser) {
+        try {
+            signIn(virtualUser);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        while (!stopped) {
+            Scenario scenario = nextScenario();
+            long start = System.nanoTime();
+            try {
+                virtualUser.run(scenario);
+                stats.recordSuccess(scenario, System.nanoTime() - start);
+            } catch (IOException e) {
+                stats.recordError(scenario);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Signs a virtual user in, retrying while the password hashing of the
+     * service rejects the burst of sign ins of all virtual users at start.
+     */
+    private void signIn(VirtualUser virtualUser) throws InterruptedException {
+        while (!stopped) {
+            try {
+                virtualUser.signIn();
+                return;
+            } catch (IOException e) {
+                Thread.sleep(SIGN_IN_RETRY_DELAY);
+            }
+        }
+    }
+
+    private Scenario nextScenario() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (cumulativeWeights[i] <= value) {
+            i++;
+        }
+        return scenarios[i];
+    }
+}
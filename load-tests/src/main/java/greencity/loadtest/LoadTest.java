@@ -0,0 +1,114 @@
+package greencity.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import greencity.UserApplication;
+import java.nio.file.Files;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the application against local stand-ins and drives it with a mix of the
+ * requests of signed in users, once for every thread mode. Throughput and
+ * latency percentiles of every scenario are logged and written to a JSON
+ * report.
+ */
+@Slf4j
+public final class LoadTest {
+    private LoadTest() {
+    }
+
+    /**
+     * Main method of the load test. Settings are read from the
+     * {@code loadtest.*} system properties.
+     */
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (StandIns standIns = StandIns.start(settings.greenCityDelay())) {
+            log.info("Seeding {} users", settings.users());
+            SeededUsers users = new UserSeeder(standIns.jdbcUrl(), StandIns.DATABASE_USER, StandIns.DATABASE_USER)
+                .seed(settings.users());
+            Map<ThreadMode, List<ScenarioStats.Summary>> results = new EnumMap<>(ThreadMode.class);
+            for (ThreadMode threadMode : settings.threadModes()) {
+                log.info("Running on {} threads", threadMode.getName());
+                try (ConfigurableApplicationContext context = startApplication(standIns, threadMode,
+                    settings.logLevel());
+                    ServiceClient client = new ServiceClient("http://localhost:"
+                        + context.getEnvironment().getProperty("local.server.port"))) {
+                    results.put(threadMode, new LoadDriver(client, users, settings).run());
+                }
+            }
+            report(settings, results);
+        }
+    }
+
+    /**
+     * Starts the application with the dev profile, pointed at the stand-ins. Its
+     * logging is configured as in production: the asynchronous appender of
+     * {@code logback-spring.xml}, no caller data and the given level.
+     */
+    private static ConfigurableApplicationContext startApplication(StandIns standIns, ThreadMode threadMode,
+        String logLevel) {
+        return new SpringApplicationBuilder(UserApplication.class)
+            .profiles("dev")
+            .properties(
+                "DATASOURCE_URL=" + standIns.jdbcUrl(),
+                "DATASOURCE_USER=" + StandIns.DATABASE_USER,
+                "DATASOURCE_PASSWORD=" + StandIns.DATABASE_USER,
+                "EMAIL_ADDRESS=load-test@greencity.ua",
+                "EMAIL_PASSWORD=load-test",
+                "GOOGLE_CLIENT_ID=load-test",
+                "GOOGLE_CLIENT_ID_MANAGER=load-test",
+                "GOOGLE_CLIENT_SECRET=load-test",
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + threadMode.isVirtualThreads(),
+                "spring.mail.host=localhost",
+                "spring.mail.port=" + standIns.smtpPort(),
+                "spring.mail.properties.mail.smtp.auth=false",
+                "spring.mail.properties.mail.smtp.starttls.enable=false",
+                "greencity.server.address=" + standIns.greenCityUrl(),
+                "greencity.login-throttle.email.capacity=1000000",
+                "greencity.login-throttle.ip.capacity=1000000",
+                "spring.jpa.show-sql=false",
+                "logging.config=classpath:logback-spring.xml",
+                "logging.pattern.console=%d{yyyy-MM-dd HH:mm:ss.SSS} %5p [%t] %logger{36} - %m%n",
+                "greencity.logging.async.include-caller-data=false",
+                "logging.level.root=" + logLevel,
+                "logging.level.greencity=" + logLevel,
+                "logging.level.greencity.exception.handler.CustomExceptionHandler=" + logLevel,
+                "logging.level.greencity.loadtest=info",
+                "spring.main.banner-mode=off")
+            .run();
+    }
+
+    private static void report(LoadTestSettings settings, Map<ThreadMode, List<ScenarioStats.Summary>> results)
+        throws Exception {
+        StringBuilder table = new StringBuilder(String.format("%n%-9s %-20s %10s %8s %10s %10s %10s %10s %10s%n",
+            "threads", "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        Map<String, Object> modes = new LinkedHashMap<>();
+        results.forEach((threadMode, summaries) -> {
+            for (ScenarioStats.Summary summary : summaries) {
+                table.append(String.format("%-9s %-20s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    threadMode.getName(), summary.scenario(), summary.requests(), summary.errors(),
+                    summary.throughput(), summary.p50(), summary.p99(), summary.p999(), summary.max()));
+            }
+            modes.put(threadMode.getName(), summaries);
+        });
+        log.info("Results of {} virtual users over {} users:{}", settings.virtualUsers(), settings.users(), table);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", settings.users());
+        report.put("virtualUsers", settings.virtualUsers());
+        report.put("warmupSeconds", settings.warmup().toSeconds());
+        report.put("durationSeconds", settings.duration().toSeconds());
+        report.put("greenCityDelayMs", settings.greenCityDelay().toMillis());
+        report.put("logLevel", settings.logLevel());
+        report.put("threadModes", modes);
+        Files.createDirectories(settings.report().toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(settings.report().toFile(), report);
+        log.info("Report is written to {}", settings.report().toAbsolutePath());
+    }
+}
@@ -0,0 +1,69 @@
+package greencity.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from the {@code loadtest.*} system
+ * properties.
+ *
+ * @param users          number of synthetic users in the database.
+ * @param virtualUsers   number of concurrent virtual users.
+ * @param warmup         time of the run whose results are dropped.
+ * @param duration       time of the measured run.
+ * @param greenCityDelay delay of every response of the GreenCity stand-in.
+ * @param mix            weights of the scenarios.
+ * @param threadModes    thread modes of the application, run one after
+ *                       another.
+ * @param logLevel       level of the loggers of the application.
+ * @param report         file the JSON report is written to.
+ */
+record LoadTestSettings(int users, int virtualUsers, Duration warmup, Duration duration, Duration greenCityDelay,
+    Map<Scenario, Integer> mix, List<ThreadMode> threadModes, String logLevel, Path report) {
+    private static final String DEFAULT_MIX =
+        "sign-in:5,refresh:10,profile:30,profile-statistics:10,online-status:35,admin-search:10";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+            Integer.getInteger("loadtest.users", 10_000),
+            Integer.getInteger("loadtest.virtual-users", 200),
+            Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 30)),
+            Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 120)),
+            Duration.ofMillis(Long.getLong("loadtest.greencity-delay-ms", 20)),
+            parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+            Arrays.stream(System.getProperty("loadtest.thread-modes", "platform").split(","))
+                .map(String::trim)
+                .map(ThreadMode::byName)
+                .distinct()
+                .toList(),
+            System.getProperty("loadtest.log-level", "info"),
+            Path.of(System.getProperty("loadtest.report", "target/load-test-report.json")));
+    }
+
+    /**
+     * Parses a mix like {@code sign-in:5,profile:30}. Scenarios that are not
+     * listed are not run.
+     */
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid entry of loadtest.mix: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight of loadtest.mix: " + entry);
+            }
+            weights.put(Scenario.byName(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix has no scenario to run: " + mix);
+        }
+        return weights;
+    }
+}
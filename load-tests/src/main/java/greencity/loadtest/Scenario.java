@@ -0,0 +1,52 @@
+package greencity.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Requests a virtual user sends to the service.
+ */
+enum Scenario {
+    /**
+     * {@code POST /ownSecurity/signIn} with the password of the user.
+     */
+    SIGN_IN("sign-in"),
+    /**
+     * {@code GET /ownSecurity/updateAccessToken} with the latest refresh token of
+     * the user.
+     */
+    REFRESH("refresh"),
+    /**
+     * {@code GET /user/{userId}/profile/} of the user.
+     */
+    PROFILE("profile"),
+    /**
+     * {@code GET /user/{userId}/profileStatistics/} of the user. Every request
+     * makes three calls to the GreenCity stand-in.
+     */
+    PROFILE_STATISTICS("profile-statistics"),
+    /**
+     * {@code GET /user/isOnline/{userId}/} of a random user.
+     */
+    ONLINE_STATUS("online-status"),
+    /**
+     * {@code GET /user/searchBy} of the user management page, sent as the admin.
+     */
+    ADMIN_SEARCH("admin-search");
+
+    private final String name;
+
+    Scenario(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    static Scenario byName(String name) {
+        return Arrays.stream(values())
+            .filter(scenario -> scenario.name.equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + name));
+    }
+}
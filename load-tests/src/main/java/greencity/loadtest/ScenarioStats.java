@@ -0,0 +1,58 @@
+package greencity.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and errors of the requests of every scenario during one phase of a
+ * run. Latencies are recorded in microseconds with three significant digits.
+ */
+final class ScenarioStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private final Map<Scenario, Histogram> latencies = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+
+    ScenarioStats() {
+        for (Scenario scenario : Scenario.values()) {
+            latencies.put(scenario, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(scenario, new LongAdder());
+        }
+    }
+
+    void recordSuccess(Scenario scenario, long nanos) {
+        latencies.get(scenario).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+    }
+
+    void recordError(Scenario scenario) {
+        errors.get(scenario).increment();
+    }
+
+    /**
+     * Summary of a scenario.
+     *
+     * @param seconds length of the phase the stats were recorded in.
+     */
+    Summary summary(Scenario scenario, double seconds) {
+        Histogram histogram = latencies.get(scenario).copy();
+        long count = histogram.getTotalCount();
+        return new Summary(scenario.getName(), count, errors.get(scenario).sum(), count / seconds,
+            millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Throughput and latency percentiles of the successful requests of a
+     * scenario. Latencies are in milliseconds.
+     */
+    record Summary(String scenario, long requests, long errors, double throughput, double p50, double p99,
+        double p999, double max) {
+    }
+}
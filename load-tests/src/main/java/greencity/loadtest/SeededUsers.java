@@ -0,0 +1,19 @@
+package greencity.loadtest;
+
+import java.util.List;
+
+/**
+ * Users seeded by {@link UserSeeder}. All of them share one password.
+ *
+ * @param adminEmail email of the admin used by the admin search.
+ * @param password   password of every user.
+ * @param ids        ids of the regular users.
+ */
+record SeededUsers(String adminEmail, String password, List<Long> ids) {
+    /**
+     * Email of the regular user with the given number, starting from one.
+     */
+    static String email(int number) {
+        return "load-" + number + "@greencity.ua";
+    }
+}
@@ -0,0 +1,97 @@
+package greencity.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP client of the service under test. Requests are sent from the calling
+ * thread, which is a virtual thread of a virtual user, and the client itself
+ * runs on virtual threads too.
+ */
+final class ServiceClient implements AutoCloseable {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    ServiceClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(TIMEOUT)
+            .build();
+    }
+
+    /**
+     * Signs in with an email and a password.
+     *
+     * @return tokens and id of the user.
+     */
+    Tokens signIn(String email, String password) throws IOException, InterruptedException {
+        String body = objectMapper.createObjectNode()
+            .put("email", email)
+            .put("password", password)
+            .toString();
+        HttpRequest request = request("/ownSecurity/signIn")
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        JsonNode json = objectMapper.readTree(send(request));
+        return new Tokens(json.get("userId").asLong(), json.get("accessToken").asText(),
+            json.get("refreshToken").asText());
+    }
+
+    /**
+     * Exchanges a refresh token for new tokens. The refresh token is rotated, so
+     * only the returned one may be used next time.
+     *
+     * @return tokens of the same user.
+     */
+    Tokens refresh(long userId, String refreshToken) throws IOException, InterruptedException {
+        HttpRequest request = request("/ownSecurity/updateAccessToken?refreshToken="
+            + URLEncoder.encode(refreshToken, StandardCharsets.UTF_8)).GET().build();
+        JsonNode json = objectMapper.readTree(send(request));
+        return new Tokens(userId, json.get("accessToken").asText(), json.get("refreshToken").asText());
+    }
+
+    /**
+     * Sends an authenticated {@code GET} request and drops its body.
+     */
+    void get(String path, String accessToken) throws IOException, InterruptedException {
+        send(request(path).header("Authorization", "Bearer " + accessToken).GET().build());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private String send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri().getPath() + " returned "
+                + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    /**
+     * Tokens of a signed in user.
+     */
+    record Tokens(long userId, String accessToken, String refreshToken) {
+    }
+}
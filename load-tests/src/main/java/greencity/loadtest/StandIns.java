@@ -0,0 +1,69 @@
+package greencity.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.time.Duration;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Local stand-ins of the services the application depends on: an embedded
+ * Postgres as the database, GreenMail as the SMTP server and WireMock as the
+ * main GreenCity server. Every stand-in listens on a free port.
+ */
+final class StandIns implements AutoCloseable {
+    static final String DATABASE_USER = "postgres";
+    private final EmbeddedPostgres postgres;
+    private final GreenMail greenMail;
+    private final WireMockServer greenCity;
+
+    private StandIns(EmbeddedPostgres postgres, GreenMail greenMail, WireMockServer greenCity) {
+        this.postgres = postgres;
+        this.greenMail = greenMail;
+        this.greenCity = greenCity;
+    }
+
+    /**
+     * Starts the stand-ins. Every request to the GreenCity stand-in is answered
+     * with {@code 0} after the given delay, which is what the counters of the
+     * profile statistics expect.
+     */
+    static StandIns start(Duration greenCityDelay) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        WireMockServer greenCity = new WireMockServer(options()
+            .dynamicPort()
+            .containerThreads(200)
+            .asynchronousResponseEnabled(true)
+            .disableRequestJournal());
+        greenCity.start();
+        greenCity.stubFor(get(urlMatching("/.*"))
+            .willReturn(okJson("0").withFixedDelay((int) greenCityDelay.toMillis())));
+        return new StandIns(postgres, greenMail, greenCity);
+    }
+
+    String jdbcUrl() {
+        return postgres.getJdbcUrl(DATABASE_USER, DATABASE_USER);
+    }
+
+    int smtpPort() {
+        return greenMail.getSmtp().getPort();
+    }
+
+    String greenCityUrl() {
+        return greenCity.baseUrl();
+    }
+
+    @Override
+    public void close() throws IOException {
+        greenCity.stop();
+        greenMail.stop();
+        postgres.close();
+    }
+}
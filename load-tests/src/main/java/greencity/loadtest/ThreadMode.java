@@ -0,0 +1,35 @@
+package greencity.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Threads the application handles requests, sends emails and calls the
+ * GreenCity server on, set by {@code spring.threads.virtual.enabled}.
+ */
+enum ThreadMode {
+    PLATFORM("platform", false),
+    VIRTUAL("virtual", true);
+
+    private final String name;
+    private final boolean virtualThreads;
+
+    ThreadMode(String name, boolean virtualThreads) {
+        this.name = name;
+        this.virtualThreads = virtualThreads;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    static ThreadMode byName(String name) {
+        return Arrays.stream(values())
+            .filter(mode -> mode.name.equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown thread mode: " + name));
+    }
+}
@@ -0,0 +1,111 @@
+package greencity.loadtest;
+
+import greencity.entity.Language;
+import greencity.entity.OwnSecurity;
+import greencity.entity.RestorePasswordEmail;
+import greencity.entity.User;
+import greencity.entity.UserDeactivationReason;
+import greencity.entity.VerifyEmail;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Creates the user tables in an empty database and fills them with synthetic
+ * users. The base schema is owned by the GreenCity service and this repository
+ * only migrates its own tables on top of it, so the user tables are created
+ * from the entities, with the naming strategies of Spring Boot, before the
+ * application is started.
+ */
+final class UserSeeder {
+    static final String ADMIN_EMAIL = "load-admin@greencity.ua";
+    private static final String PASSWORD = "Load-test-password1!";
+    private static final String INSERT_LANGUAGES = "INSERT INTO languages (id, code) VALUES (1, 'ua'), (2, 'en'), "
+        + "(3, 'ru')";
+    private static final String INSERT_USERS = "INSERT INTO users (id, name, first_name, email, role, user_status, "
+        + "email_notification, rating, language_id, refresh_token_key, date_of_registration, last_activity_time, "
+        + "uuid, show_location, show_eco_place, show_shopping_list) "
+        + "SELECT nextval('users_seq'), 'Load ' || n, 'Load', "
+        + "CASE WHEN n = 0 THEN '" + ADMIN_EMAIL + "' ELSE 'load-' || n || '@greencity.ua' END, "
+        + "CASE WHEN n = 0 THEN 'ROLE_ADMIN' ELSE 'ROLE_USER' END, 2, 0, 0, 2, md5(random()::text), now(), "
+        + "now() - (n % 600) * INTERVAL '1 second', gen_random_uuid()::text, TRUE, TRUE, TRUE "
+        + "FROM generate_series(0, ?) n ORDER BY n";
+    private static final String INSERT_OWN_SECURITY = "INSERT INTO own_security (id, user_id, password) "
+        + "SELECT nextval('own_security_seq'), id, ? FROM users";
+    private static final String SELECT_USER_IDS = "SELECT id FROM users WHERE role = 'ROLE_USER' ORDER BY id";
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    UserSeeder(String jdbcUrl, String username, String password) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Creates the user tables and seeds an admin and the given number of
+     * regular users. Half of the users were active in the last five minutes, so
+     * the online status check sees both answers.
+     */
+    SeededUsers seed(int users) throws SQLException {
+        createSchema();
+        String hash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(INSERT_LANGUAGES);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_USERS)) {
+                statement.setInt(1, users);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_OWN_SECURITY)) {
+                statement.setString(1, hash);
+                statement.executeUpdate();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+            return new SeededUsers(ADMIN_EMAIL, PASSWORD, userIds(connection));
+        }
+    }
+
+    private void createSchema() {
+        SessionFactory sessionFactory = new Configuration()
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(Language.class)
+            .addAnnotatedClass(OwnSecurity.class)
+            .addAnnotatedClass(VerifyEmail.class)
+            .addAnnotatedClass(RestorePasswordEmail.class)
+            .addAnnotatedClass(UserDeactivationReason.class)
+            .setProperty("hibernate.connection.url", jdbcUrl)
+            .setProperty("hibernate.connection.username", username)
+            .setProperty("hibernate.connection.password", password)
+            .setProperty("hibernate.physical_naming_strategy",
+                "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy")
+            .setProperty("hibernate.implicit_naming_strategy",
+                "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy")
+            .setProperty("hibernate.hbm2ddl.auto", "create")
+            .buildSessionFactory();
+        sessionFactory.close();
+    }
+
+    private static List<Long> userIds(Connection connection) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(SELECT_USER_IDS)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
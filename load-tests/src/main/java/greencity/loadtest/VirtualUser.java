@@ -0,0 +1,45 @@
+package greencity.loadtest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One synthetic user of the service. Every virtual user signs in as its own
+ * seeded user, so the refresh tokens it rotates are not shared with other
+ * virtual users.
+ */
+final class VirtualUser {
+    private final ServiceClient client;
+    private final SeededUsers users;
+    private final String email;
+    private final ServiceClient.Tokens admin;
+    private ServiceClient.Tokens tokens;
+
+    VirtualUser(ServiceClient client, SeededUsers users, String email, ServiceClient.Tokens admin) {
+        this.client = client;
+        this.users = users;
+        this.email = email;
+        this.admin = admin;
+    }
+
+    void signIn() throws IOException, InterruptedException {
+        tokens = client.signIn(email, users.password());
+    }
+
+    void run(Scenario scenario) throws IOException, InterruptedException {
+        switch (scenario) {
+            case SIGN_IN -> signIn();
+            case REFRESH -> tokens = client.refresh(tokens.userId(), tokens.refreshToken());
+            case PROFILE -> client.get("/user/" + tokens.userId() + "/profile/", tokens.accessToken());
+            case PROFILE_STATISTICS ->
+                client.get("/user/" + tokens.userId() + "/profileStatistics/", tokens.accessToken());
+            case ONLINE_STATUS -> client.get("/user/isOnline/" + randomId(users.ids()) + "/", tokens.accessToken());
+            case ADMIN_SEARCH -> client.get("/user/searchBy?query=load&page=0&size=20", admin.accessToken());
+        }
+    }
+
+    private static long randomId(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
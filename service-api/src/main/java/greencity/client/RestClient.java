@@ -1,5 +1,6 @@
 package greencity.client;
 
+import greencity.constant.ErrorMessage;
 import greencity.constant.RestTemplateLinks;
 import greencity.dto.shoppinglist.CustomShoppingListItemResponseDto;
 import greencity.dto.user.UserVO;
@@ -53,8 +54,22 @@ public class RestClient {
      * @author Orest Mamchuk
      */
     public String uploadImage(MultipartFile image) {
+        return uploadImage(image, getAccessToken());
+    }
+
+    /**
+     * Method for uploading an image with explicitly given access token. It is used
+     * when the upload is performed outside of the request thread, where the current
+     * {@link HttpServletRequest} is not available.
+     *
+     * @param image       {@link MultipartFile}
+     * @param accessToken value of the {@code Authorization} header
+     * @return String
+     * @throws IllegalStateException if the access token is {@code null}.
+     */
+    public String uploadImage(MultipartFile image, String accessToken) {
         LinkedMultiValueMap<String, Object> map = new LinkedMultiValueMap<>();
-        HttpHeaders headers = setHeader();
+        HttpHeaders headers = createHeaders(accessToken);
         headers.setContentType(MediaType.MULTIPART_FORM_DATA);
         HttpEntity<LinkedMultiValueMap<String, Object>> requestEntity = new HttpEntity<>(map, headers);
         try {
@@ -126,12 +141,42 @@ public class RestClient {
      * @return {@link HttpEntity}
      */
     private HttpHeaders setHeader() {
-        String accessToken = httpServletRequest.getHeader(AUTHORIZATION);
+        return createHeaders(getAccessToken());
+    }
+
+    /**
+     * Method returns value of the {@code Authorization} header of the current
+     * request. The request is bound to the thread that handles it, so a task that
+     * runs off that thread, e.g. on an executor, must take the token before it is
+     * submitted and pass it explicitly.
+     *
+     * @return {@link String} access token
+     * @throws IllegalStateException if there is no current request or it has no
+     *                               access token.
+     */
+    public String getAccessToken() {
+        String accessToken;
+        try {
+            accessToken = httpServletRequest.getHeader(AUTHORIZATION);
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException(ErrorMessage.NO_CURRENT_REQUEST_FOR_ACCESS_TOKEN, e);
+        }
+        return requireAccessToken(accessToken);
+    }
+
+    private HttpHeaders createHeaders(String accessToken) {
         HttpHeaders headers = new HttpHeaders();
-        headers.set(AUTHORIZATION, accessToken);
+        headers.set(AUTHORIZATION, requireAccessToken(accessToken));
         return headers;
     }
 
+    private static String requireAccessToken(String accessToken) {
+        if (accessToken == null) {
+            throw new IllegalStateException(ErrorMessage.NO_ACCESS_TOKEN);
+        }
+        return accessToken;
+    }
+
     /**
      * Method convert MultipartFile to ByteArrayResource.
      *
@@ -0,0 +1,71 @@
+package greencity.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor that runs every task on a new virtual thread. At most
+ * {@code concurrency} tasks run at once and the other accepted tasks wait for
+ * their turn in the order of submission. When {@code capacity} tasks are
+ * accepted and not finished yet, further tasks are rejected, as by a thread
+ * pool with a bounded queue.
+ */
+final class BoundedVirtualThreadExecutor implements Executor {
+    private final ThreadFactory threadFactory;
+    private final int concurrency;
+    private final int capacity;
+    private final Semaphore accepted;
+    private final Semaphore running;
+
+    BoundedVirtualThreadExecutor(String prefix, int concurrency, int capacity) {
+        this.threadFactory = Thread.ofVirtual().name(prefix, 1).factory();
+        this.concurrency = concurrency;
+        this.capacity = capacity;
+        this.accepted = new Semaphore(capacity);
+        this.running = new Semaphore(concurrency, true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!accepted.tryAcquire()) {
+            throw new RejectedExecutionException("Task " + task + " rejected from " + this);
+        }
+        try {
+            threadFactory.newThread(() -> run(task)).start();
+        } catch (RuntimeException | Error e) {
+            accepted.release();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            running.acquire();
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            accepted.release();
+        }
+    }
+
+    /**
+     * Number of running tasks.
+     */
+    int active() {
+        return concurrency - running.availablePermits();
+    }
+
+    /**
+     * Number of accepted tasks that wait for their turn.
+     */
+    int queued() {
+        return Math.max(0, capacity - accepted.availablePermits() - active());
+    }
+}
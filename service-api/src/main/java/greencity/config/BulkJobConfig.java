@@ -0,0 +1,42 @@
+package greencity.config;
+
+import greencity.service.BulkJobService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the executor used by {@link BulkJobService}.
+ */
+@Configuration
+public class BulkJobConfig {
+    /**
+     * Bulk jobs run one after another, so a large job never takes more than one
+     * connection from the pool and locks only one chunk of users at a time.
+     */
+    private static final int THREADS_AMOUNT = 1;
+    /**
+     * The maximum amount of jobs waiting for the thread. Submitting a job fails
+     * when the queue is full.
+     */
+    private static final int MAX_TASKS_IN_QUEUE = 50;
+
+    /**
+     * Executor that is used for running bulk jobs.
+     *
+     * @return Executor which is a single thread pool with bounded queue.
+     */
+    @Bean
+    public Executor bulkJobExecutor() {
+        return new ThreadPoolExecutor(
+            THREADS_AMOUNT,
+            THREADS_AMOUNT,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_TASKS_IN_QUEUE),
+            new NamedThreadFactory("bulk-job-", Thread.NORM_PRIORITY - 1));
+    }
+}
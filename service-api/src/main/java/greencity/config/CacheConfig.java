@@ -0,0 +1,70 @@
+package greencity.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import greencity.constant.CacheConstants;
+import greencity.jfr.UserLookupRecordingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration of the caches of user lookups.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    private static final String DEFAULT_SPEC = "maximumSize=50,expireAfterAccess=600s";
+    /**
+     * Users are evicted on every change, the time to live only bounds how long a
+     * change made outside of this service may stay unseen. Ids and uuids never
+     * change for an email, so they are kept longer.
+     */
+    private static final Map<String, String> USER_CACHE_SPECS = Map.of(
+        CacheConstants.USERS_BY_ID, "maximumSize=10000,expireAfterWrite=300s,recordStats",
+        CacheConstants.USERS_BY_EMAIL, "maximumSize=10000,expireAfterWrite=300s,recordStats",
+        CacheConstants.USER_IDS_BY_EMAIL, "maximumSize=50000,expireAfterWrite=3600s,recordStats",
+        CacheConstants.USER_UUIDS_BY_EMAIL, "maximumSize=50000,expireAfterWrite=3600s,recordStats",
+        CacheConstants.PROFILE_PICTURE_PATHS, "maximumSize=10000,expireAfterWrite=600s,recordStats");
+    private static final Set<String> USER_VO_CACHES = Set.of(CacheConstants.USERS_BY_ID, CacheConstants.USERS_BY_EMAIL);
+
+    /**
+     * Cache manager with a Caffeine cache of its own size and time to live for
+     * every user lookup. The specification of a cache is read from
+     * {@code greencity.cache.<name>.spec}, and its hits, misses and evictions are
+     * published as metrics. Reads of the user caches are recorded as
+     * {@link greencity.jfr.UserLookupEvent}, and the caches of users hold and
+     * return copies, as {@link greencity.dto.user.UserVO} is mutable. Other caches
+     * are created on demand with {@code spring.cache.caffeine.spec}.
+     *
+     * @return {@link CacheManager}
+     */
+    @Bean
+    public CacheManager cacheManager(Environment environment, MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                org.springframework.cache.Cache adapted = super.adaptCaffeineCache(name, cache);
+                if (USER_VO_CACHES.contains(name)) {
+                    adapted = new UserCopyingCache(adapted);
+                }
+                return CacheConstants.USER_CACHES.contains(name) ? new UserLookupRecordingCache(adapted) : adapted;
+            }
+        };
+        cacheManager.setCacheSpecification(environment.getProperty("spring.cache.caffeine.spec", DEFAULT_SPEC));
+        for (String name : CacheConstants.USER_CACHES) {
+            String spec = environment.getProperty("greencity.cache." + name + ".spec", USER_CACHE_SPECS.get(name));
+            Cache<Object, Object> cache = Caffeine.from(spec).build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+            cacheManager.registerCustomCache(name, cache);
+        }
+        return cacheManager;
+    }
+}
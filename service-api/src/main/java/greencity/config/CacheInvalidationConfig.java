@@ -0,0 +1,32 @@
+package greencity.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the thread which receives cache invalidations from the other
+ * nodes of the cluster.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+    /**
+     * Executor that runs the listener of cache invalidations. It holds one long
+     * running task, which waits for notifications on its own connection.
+     *
+     * @return ExecutorService which is a single thread pool.
+     */
+    @Bean
+    public ExecutorService userCacheInvalidationExecutor() {
+        return new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            new NamedThreadFactory("user-cache-invalidation-", Thread.NORM_PRIORITY + 1));
+    }
+}
@@ -0,0 +1,68 @@
+package greencity.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuration of the connection pools. Transactions marked with
+ * {@code @Transactional(readOnly = true)} read from the replica, everything
+ * else goes to the primary database. A read that must see the user's own writes
+ * made just before is not marked read-only, as the replica may lag.
+ */
+@Configuration
+public class DataSourceConfig {
+    /**
+     * Pool of the primary database, configured with {@code spring.datasource}.
+     *
+     * @return {@link HikariDataSource}
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool of the replica, configured with {@code greencity.datasource.replica}. It
+     * is created only when {@code greencity.datasource.replica.jdbc-url} is set.
+     *
+     * @return {@link HikariDataSource}
+     */
+    @Bean
+    @ConditionalOnExpression("!'${greencity.datasource.replica.jdbc-url:}'.isEmpty()")
+    @ConfigurationProperties("greencity.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Data source used by JPA. A connection is taken from a pool on its first
+     * statement, when it is already known whether the transaction is read-only, and
+     * read-only connections are taken from the replica. Without a replica all
+     * connections come from the primary pool.
+     *
+     * @return {@link DataSource}
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        replicaDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+}
@@ -1,12 +1,19 @@
 package greencity.config;
 
 import greencity.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -39,20 +46,67 @@ public class EmailServiceConfig {
      * demand.
      */
     private static final int MAX_TASKS_IN_QUEUE = 100;
+    /**
+     * The maximum amount of emails sent at once on virtual threads. The SMTP
+     * transport of Jakarta Mail sends a message inside a {@code synchronized}
+     * method, which pins the carrier thread for the whole SMTP exchange, so only
+     * half of the carrier threads may be taken by emails.
+     */
+    private static final int MAX_VIRTUAL_SENDS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final String EXECUTOR_NAME = "sendEmailExecutor";
 
     /**
-     * Executor that is used for sending MIME emails in separate threads.
+     * Executor that is used for sending MIME emails in separate threads. Its pool
+     * size, active threads, queue depth and rejected emails are published as
+     * metrics. With {@code spring.threads.virtual.enabled} every email is sent on a
+     * virtual thread instead, and the same number of emails is accepted before new
+     * ones are rejected.
      *
      * @return Executor which is a cached thread pool.
      */
     @Bean
-    public Executor sendEmailExecutor() {
-        return new ThreadPoolExecutor(
+    public Executor sendEmailExecutor(MeterRegistry meterRegistry,
+        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        Counter rejectedCounter = Counter.builder("executor.rejected")
+            .description("Tasks rejected because the queue of the executor is full")
+            .tag("name", EXECUTOR_NAME)
+            .register(meterRegistry);
+        if (virtualThreads) {
+            return virtualThreadExecutor(meterRegistry, rejectedCounter);
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
             BASE_THREADS_AMOUNT,
             MAX_THREADS_AMOUNT,
             IDLE_TIMEOUT.getIdleTime(),
             IDLE_TIMEOUT.getIdleTimeUnit(),
-            new ArrayBlockingQueue<>(MAX_TASKS_IN_QUEUE));
+            new ArrayBlockingQueue<>(MAX_TASKS_IN_QUEUE),
+            (task, pool) -> {
+                rejectedCounter.increment();
+                throw new RejectedExecutionException("Task " + task + " rejected from " + pool);
+            });
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    private static Executor virtualThreadExecutor(MeterRegistry meterRegistry, Counter rejectedCounter) {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("send-email-",
+            MAX_VIRTUAL_SENDS, MAX_THREADS_AMOUNT + MAX_TASKS_IN_QUEUE);
+        Gauge.builder("executor.active", executor, BoundedVirtualThreadExecutor::active)
+            .description("The approximate number of threads that are actively executing tasks")
+            .tag("name", EXECUTOR_NAME)
+            .register(meterRegistry);
+        Gauge.builder("executor.queued", executor, BoundedVirtualThreadExecutor::queued)
+            .description("The approximate number of tasks that are queued for execution")
+            .tag("name", EXECUTOR_NAME)
+            .register(meterRegistry);
+        return task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                rejectedCounter.increment();
+                throw e;
+            }
+        };
     }
 
     /**
@@ -0,0 +1,44 @@
+package greencity.config;
+
+import greencity.security.service.EmployeeImportService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the executor used by {@link EmployeeImportService}.
+ */
+@Configuration
+public class EmployeeImportConfig {
+    /**
+     * Passwords of an import are hashed by the password hashing executor, and this
+     * executor only waits for them. It has as many threads as the hashing executor,
+     * so an import keeps every hashing thread busy but never queues more than one
+     * hash per thread in front of the sign in requests.
+     */
+    private static final int THREADS_AMOUNT = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /**
+     * The maximum amount of passwords waiting for a thread. It fits a few chunks of
+     * rows, so concurrent imports fail instead of piling up.
+     */
+    private static final int MAX_TASKS_IN_QUEUE = 2000;
+
+    /**
+     * Executor that is used for hashing passwords of imported employees.
+     *
+     * @return Executor which is a fixed thread pool with bounded queue.
+     */
+    @Bean
+    public Executor employeeImportExecutor() {
+        return new ThreadPoolExecutor(
+            THREADS_AMOUNT,
+            THREADS_AMOUNT,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_TASKS_IN_QUEUE),
+            new NamedThreadFactory("employee-import-", Thread.NORM_PRIORITY - 1));
+    }
+}
@@ -0,0 +1,46 @@
+package greencity.config;
+
+import greencity.service.ProfilePictureService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the {@link ProfilePictureService}.
+ */
+@Configuration
+public class ImageProcessingConfig {
+    /**
+     * Image resizing is CPU-bound, so the pool never grows beyond the amount of
+     * processors. More threads would only compete for the same cores with the
+     * request threads.
+     */
+    private static final int THREADS_AMOUNT = Runtime.getRuntime().availableProcessors();
+    /**
+     * The maximum amount of pictures waiting for processing. When the queue is full
+     * new tasks are rejected, and the original picture is used until the user
+     * uploads it again.
+     */
+    private static final int MAX_TASKS_IN_QUEUE = 50;
+
+    /**
+     * Executor that is used for resizing and encoding of the profile pictures.
+     *
+     * @return Executor which is a fixed thread pool with bounded queue.
+     */
+    @Bean
+    public Executor imageProcessingExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS_AMOUNT,
+            THREADS_AMOUNT,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_TASKS_IN_QUEUE),
+            new NamedThreadFactory("image-processing-", Thread.NORM_PRIORITY - 1));
+        executor.prestartCoreThread();
+        return executor;
+    }
+}
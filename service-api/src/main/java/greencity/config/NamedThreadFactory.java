@@ -0,0 +1,27 @@
+package greencity.config;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factory that gives recognizable names to the pool threads, so they can
+ * be found in thread dumps and profiles.
+ */
+final class NamedThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final int priority;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    NamedThreadFactory(String prefix, int priority) {
+        this.prefix = prefix;
+        this.priority = priority;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+        thread.setDaemon(true);
+        thread.setPriority(priority);
+        return thread;
+    }
+}
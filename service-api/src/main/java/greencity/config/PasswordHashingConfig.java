@@ -0,0 +1,45 @@
+package greencity.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Configuration of the executor used by {@link PasswordEncoder}.
+ */
+@Configuration
+public class PasswordHashingConfig {
+    /**
+     * BCrypt takes a whole core for tens of milliseconds, so only half of the
+     * processors are given to it. The other half stays free for token validation
+     * and the rest of the requests during a burst of logins.
+     */
+    private static final int THREADS_AMOUNT = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /**
+     * The maximum amount of hashes waiting for a thread. When the queue is full new
+     * requests fail immediately instead of piling up on request threads.
+     */
+    private static final int MAX_TASKS_IN_QUEUE = 100;
+
+    /**
+     * Executor that is used for password hashing and verification.
+     *
+     * @return Executor which is a fixed thread pool with bounded queue.
+     */
+    @Bean
+    public Executor passwordHashingExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS_AMOUNT,
+            THREADS_AMOUNT,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(MAX_TASKS_IN_QUEUE),
+            new NamedThreadFactory("password-hashing-", Thread.NORM_PRIORITY));
+        executor.prestartAllCoreThreads();
+        return executor;
+    }
+}
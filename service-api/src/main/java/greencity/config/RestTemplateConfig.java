@@ -1,16 +1,34 @@
 package greencity.config;
 
+import greencity.jfr.RestClientCallRecorder;
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
     /**
-     * {@inheritDoc}
+     * Rest template of {@link greencity.client.RestClient}. Its calls are recorded
+     * as {@link greencity.jfr.RestClientCallEvent}. With
+     * {@code spring.threads.virtual.enabled} requests are sent by the HTTP client
+     * of the JDK, which parks a waiting virtual thread instead of blocking its
+     * carrier and keeps the connections to the GreenCity server alive.
+     *
+     * @return {@link RestTemplate}
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        RestTemplate restTemplate = virtualThreads
+            ? new RestTemplate(new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()))
+            : new RestTemplate();
+        restTemplate.getInterceptors().add(new RestClientCallRecorder());
+        return restTemplate;
     }
 }
@@ -0,0 +1,89 @@
+package greencity.config;
+
+import greencity.dto.user.UserVO;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * {@link Cache} of {@link UserVO}s which stores a copy of every user put into
+ * it and returns a new copy on every read, so a caller that changes the user it
+ * got does not change the cached one or the ones of other callers.
+ */
+class UserCopyingCache implements Cache {
+    private final Cache delegate;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate cache which stores the values.
+     */
+    UserCopyingCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return copy(delegate.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        return (T) copy(delegate.get(key, type));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) copy(delegate.get(key, () -> (T) copy(valueLoader.call())));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, copy(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return copy(delegate.putIfAbsent(key, copy(value)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private static ValueWrapper copy(ValueWrapper wrapper) {
+        return wrapper == null ? null : new SimpleValueWrapper(copy(wrapper.get()));
+    }
+
+    private static Object copy(Object value) {
+        return value instanceof UserVO user ? user.copy() : value;
+    }
+}
@@ -8,6 +8,8 @@ public final class AppConstant {
     public static final String EMPLOYEE = "EMPLOYEE";
     public static final String UBS_EMPLOYEE = "UBS_EMPLOYEE";
     public static final String ROLE = "role";
+    public static final String USER_ID = "user_id";
+    public static final String CLAIMS_VERSION = "claims_version";
     public static final String AUTHORIZATION = "Authorization";
     public static final String VALIDATION_EMAIL = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$";
     public static final Double DEFAULT_RATING = 0.0;
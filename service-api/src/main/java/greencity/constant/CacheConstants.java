@@ -0,0 +1,16 @@
+package greencity.constant;
+
+import java.util.List;
+
+public final class CacheConstants {
+    public static final String USERS_BY_ID = "users-by-id";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String USER_IDS_BY_EMAIL = "user-ids-by-email";
+    public static final String USER_UUIDS_BY_EMAIL = "user-uuids-by-email";
+    public static final String PROFILE_PICTURE_PATHS = "profile-picture-paths";
+    public static final List<String> USER_CACHES = List.of(USERS_BY_ID, USERS_BY_EMAIL, USER_IDS_BY_EMAIL,
+        USER_UUIDS_BY_EMAIL, PROFILE_PICTURE_PATHS);
+
+    private CacheConstants() {
+    }
+}
@@ -7,6 +7,9 @@ public final class ErrorMessage {
     public static final String IMPOSSIBLE_UPDATE_USER_STATUS = "Impossible to update status of admin or moderator";
     public static final String PROFILE_PICTURE_NOT_FOUND_BY_ID = "Profile picture not found by id : ";
     public static final String IMAGE_EXISTS = "Image should be download, PNG or JPEG ";
+    public static final String IMAGE_FORMAT_NOT_SUPPORTED = "Image should be PNG or JPEG";
+    public static final String IMAGE_SIZE_TOO_LARGE = "Image size exceeds the limit of bytes: ";
+    public static final String IMAGE_DIMENSIONS_TOO_LARGE = "Image dimensions exceed the limit of pixels: ";
     public static final String INVALID_URI = "The string could not be parsed as a URI reference.";
     public static final String MALFORMED_URL = "Malformed URL. The string could not be parsed.";
     public static final String USER_CANNOT_ADD_SAME_SOCIAL_NETWORK_LINKS =
@@ -19,6 +22,8 @@ public final class ErrorMessage {
     public static final String NEW_PASSWORD_SAME_AS_OLD = "Password same as old password";
     public static final String REFRESH_TOKEN_NOT_VALID = "Refresh token not valid!";
     public static final String BAD_PASSWORD = "Bad password";
+    public static final String PASSWORD_HASHING_UNAVAILABLE = "Too many password requests, try again later";
+    public static final String TOO_MANY_LOGIN_ATTEMPTS = "Too many sign in attempts, try again in seconds: ";
     public static final String USER_ALREADY_REGISTERED_WITH_THIS_EMAIL = "User with this email is already registered";
     public static final String PASSWORDS_DO_NOT_MATCH = "The passwords don't match";
     public static final String PASSWORD_DOES_NOT_MATCH = "The password doesn't match";
@@ -30,6 +35,20 @@ public final class ErrorMessage {
     public static final String LINK_IS_NO_ACTIVE = "This link is no longer active";
     public static final String USER_BLOCKED = "User is blocked";
     public static final String USER_CREATED = "User is not activated";
+    public static final String BULK_JOB_NOT_FOUND_BY_ID = "The bulk job does not exist by this id: ";
+    public static final String BULK_JOB_IS_EMPTY = "The list of users is empty";
+    public static final String BULK_JOB_TOO_LARGE = "The list of users exceeds the limit of ids: ";
+    public static final String BULK_JOB_QUEUE_IS_FULL = "Too many bulk jobs are waiting, try again later";
+    public static final String BULK_JOB_IS_STALE = "The job made no progress in time and was stopped";
+    public static final String NO_CURRENT_REQUEST_FOR_ACCESS_TOKEN =
+        "There is no current request to take the access token from, pass it explicitly";
+    public static final String NO_ACCESS_TOKEN = "The request to GreenCity has no access token";
+    public static final String EMPLOYEE_IMPORT_FILE_IS_NOT_READABLE = "The file with employees can not be read";
+    public static final String EMPLOYEE_IMPORT_TOO_MANY_ROWS = "The file exceeds the limit of rows: ";
+    public static final String EMPLOYEE_IMPORT_WRONG_COLUMNS = "Expected columns: name, email, uuid, isUbs";
+    public static final String EMPLOYEE_IMPORT_EMAIL_TOO_LONG = "The email is longer than 50 characters";
+    public static final String EMPLOYEE_IMPORT_DUPLICATE_EMAIL = "The email is repeated in the file";
+    public static final String EMPLOYEE_IMPORT_EMAIL_NOT_SENT = "The employee is imported, but the email was not sent";
     public static final String USER_EMAIL_IS_NOT_VERIFIED = "The user's email address has not been verified.";
 
     public static final String INCORRECT_PASSWORD = "Incorrect password";
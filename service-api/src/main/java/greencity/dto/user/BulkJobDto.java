@@ -0,0 +1,29 @@
+package greencity.dto.user;
+
+import greencity.enums.BulkJobStatus;
+import greencity.enums.BulkJobType;
+import greencity.enums.Role;
+import java.time.LocalDateTime;
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+public class BulkJobDto {
+    private Long id;
+    private BulkJobType type;
+    private BulkJobStatus status;
+    private Role role;
+    private int total;
+    private int processed;
+    private int updated;
+    private int notified;
+    private int notificationsFailed;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
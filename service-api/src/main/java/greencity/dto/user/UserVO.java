@@ -17,10 +17,10 @@ import java.time.LocalDateTime;
 
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString
+@ToString(exclude = "refreshTokenKey")
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @EqualsAndHashCode
 public class UserVO {
     private Long id;
@@ -60,4 +60,26 @@ public class UserVO {
     private LocalDateTime lastActivityTime;
 
     private LanguageVO languageVO;
+
+    /**
+     * Returns a copy of this user that shares no mutable object with it, so a
+     * cached user can be handed to callers that change it.
+     *
+     * @return copy of the user.
+     */
+    public UserVO copy() {
+        return toBuilder()
+            .verifyEmail(verifyEmail == null ? null
+                : new VerifyEmailVO(verifyEmail.getId(),
+                    copyOf(verifyEmail.getUser()), verifyEmail.getToken(), verifyEmail.getExpiryDate()))
+            .ownSecurity(ownSecurity == null ? null
+                : new OwnSecurityVO(ownSecurity.getId(),
+                    ownSecurity.getPassword(), copyOf(ownSecurity.getUser())))
+            .languageVO(languageVO == null ? null : new LanguageVO(languageVO.getId(), languageVO.getCode()))
+            .build();
+    }
+
+    private static UserVO copyOf(UserVO user) {
+        return user == null ? null : user.copy();
+    }
 }
@@ -0,0 +1,20 @@
+package greencity.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fixed sizes of the square profile picture thumbnails.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProfilePictureSize {
+    SMALL(48),
+    MEDIUM(128),
+    LARGE(256);
+
+    /**
+     * Width and height of the thumbnail in pixels.
+     */
+    private final int dimension;
+}
@@ -0,0 +1,58 @@
+package greencity.events;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that is meant for notifying about a change of stored user data. Cached
+ * lookups of the user are evicted when it is received.
+ */
+@Getter
+public class UserChangedEvent extends ApplicationEvent {
+    /**
+     * {@link greencity.dto.user.UserVO} id which was changed, or {@code null} if it
+     * is not known.
+     */
+    private final Long userId;
+    /**
+     * {@link greencity.dto.user.UserVO} email which was changed, or {@code null} if
+     * it is not known.
+     */
+    private final String email;
+
+    /**
+     * Creates a new {@link UserChangedEvent} for one user. At least one of the keys
+     * should be given.
+     *
+     * @param source the object on which the event initially occurred (never
+     *               {@code null})
+     * @param userId id of the changed user
+     * @param email  email of the changed user
+     */
+    public UserChangedEvent(Object source, Long userId, String email) {
+        super(source);
+        this.userId = userId;
+        this.email = email;
+    }
+
+    /**
+     * Creates a new {@link UserChangedEvent} for changes which may touch any user,
+     * such as a purge of stale accounts.
+     *
+     * @param source the object on which the event initially occurred (never
+     *               {@code null})
+     * @return event without keys.
+     */
+    public static UserChangedEvent allUsers(Object source) {
+        return new UserChangedEvent(source, null, null);
+    }
+
+    /**
+     * Tells whether the change may touch any user.
+     *
+     * @return {@code true} if the event has neither id nor email.
+     */
+    public boolean isAllUsers() {
+        return userId == null && email == null;
+    }
+}
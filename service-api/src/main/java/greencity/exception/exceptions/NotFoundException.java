@@ -16,4 +16,16 @@ public class NotFoundException extends RuntimeException {
     public NotFoundException(String message) {
         super(message);
     }
+
+    /**
+     * Constructor for NotFoundException of an expected outcome, which may be
+     * created without a stack trace. Filling in the stack trace is most of the cost
+     * of an exception thrown from deep inside a request.
+     *
+     * @param message            - giving message.
+     * @param writableStackTrace - whether the stack trace is filled in.
+     */
+    public NotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package greencity.exception.exceptions;
+
+/**
+ * Exception that we get when password hashing executor is saturated and the
+ * password could not be hashed or checked in time.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+    /**
+     * Constructor for PasswordHashingUnavailableException.
+     *
+     * @param message - giving message.
+     */
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
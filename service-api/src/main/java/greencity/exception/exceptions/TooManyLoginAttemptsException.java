@@ -0,0 +1,23 @@
+package greencity.exception.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Exception that we get when sign in attempts for an email or an IP address
+ * exceed the allowed rate.
+ */
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor for TooManyLoginAttemptsException.
+     *
+     * @param message           - giving message.
+     * @param retryAfterSeconds - time after which the next attempt is allowed.
+     */
+    public TooManyLoginAttemptsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -10,4 +10,13 @@ public class WrongEmailException extends RuntimeException {
     public WrongEmailException(String message) {
         super(message);
     }
+
+    /**
+     * Constructor of an expected outcome, which may be created without a stack
+     * trace. Such an exception has no mutable state, so one instance can be thrown
+     * again and again.
+     */
+    public WrongEmailException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -14,4 +14,15 @@ public class WrongIdException extends RuntimeException {
     public WrongIdException(String message) {
         super(message);
     }
+
+    /**
+     * Constructor of an expected outcome, which may be created without a stack
+     * trace.
+     *
+     * @param message            {@link String}
+     * @param writableStackTrace whether the stack trace is filled in.
+     */
+    public WrongIdException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
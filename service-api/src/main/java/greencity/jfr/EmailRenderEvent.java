@@ -0,0 +1,21 @@
+package greencity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for rendering of an email template.
+ */
+@Name("greencity.EmailRender")
+@Label("Email Render")
+@Description("Rendering of an email template")
+@Category({"GreenCity", "Mail"})
+@StackTrace(false)
+public class EmailRenderEvent extends Event {
+    @Label("Template")
+    public String template;
+}
@@ -0,0 +1,24 @@
+package greencity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for sending of an email to the mail server.
+ */
+@Name("greencity.EmailSend")
+@Label("Email Send")
+@Description("Sending of an email to the mail server")
+@Category({"GreenCity", "Mail"})
+@StackTrace(false)
+public class EmailSendEvent extends Event {
+    @Label("Subject")
+    public String subject;
+
+    @Label("Sent")
+    public boolean sent;
+}
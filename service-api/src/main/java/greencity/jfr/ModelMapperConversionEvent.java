@@ -0,0 +1,24 @@
+package greencity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a conversion done by {@code ModelMapper}.
+ */
+@Name("greencity.ModelMapperConversion")
+@Label("ModelMapper Conversion")
+@Description("Conversion of an object by ModelMapper")
+@Category({"GreenCity", "Mapping"})
+@StackTrace(false)
+public class ModelMapperConversionEvent extends Event {
+    @Label("Source Type")
+    public String sourceType;
+
+    @Label("Destination Type")
+    public String destinationType;
+}
@@ -0,0 +1,27 @@
+package greencity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a call made by {@link greencity.client.RestClient}.
+ */
+@Name("greencity.RestClientCall")
+@Label("Rest Client Call")
+@Description("Call of another service made with the rest template")
+@Category({"GreenCity", "Http"})
+@StackTrace(false)
+public class RestClientCallEvent extends Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status")
+    public int status;
+}
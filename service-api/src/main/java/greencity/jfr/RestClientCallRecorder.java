@@ -0,0 +1,36 @@
+package greencity.jfr;
+
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Records a {@link RestClientCallEvent} for every call of the rest template.
+ * The endpoint is recorded without the query, so tokens and emails passed as
+ * parameters do not get into recordings.
+ */
+public class RestClientCallRecorder implements ClientHttpRequestInterceptor {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+        throws IOException {
+        RestClientCallEvent event = new RestClientCallEvent();
+        event.begin();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            event.status = response.getStatusCode().value();
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod().name();
+                event.endpoint = request.getURI().getHost() + request.getURI().getPath();
+                event.commit();
+            }
+        }
+    }
+}
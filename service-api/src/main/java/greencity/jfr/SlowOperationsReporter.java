@@ -0,0 +1,129 @@
+package greencity.jfr;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams the flight recorder events of the application inside the process and
+ * logs the slowest operations once per interval, so a slow path shows up in the
+ * logs without a recording being taken.
+ */
+@Slf4j
+@Component
+public class SlowOperationsReporter implements SmartLifecycle {
+    private static final List<Class<? extends Event>> EVENTS = List.of(TokenVerificationEvent.class,
+        UserLookupEvent.class, ModelMapperConversionEvent.class, EmailRenderEvent.class, EmailSendEvent.class,
+        RestClientCallEvent.class);
+    private static final Set<String> STANDARD_FIELDS = Set.of("startTime", "duration", "eventThread", "stackTrace");
+    private static final Comparator<SlowOperation> BY_DURATION = Comparator.comparing(SlowOperation::duration);
+    private final boolean enabled;
+    private final int size;
+    private final Duration threshold;
+    private PriorityQueue<SlowOperation> slowest = new PriorityQueue<>(BY_DURATION);
+    private RecordingStream stream;
+
+    /**
+     * Constructor.
+     *
+     * @param enabled     whether the events are streamed.
+     * @param size        amount of operations logged per interval.
+     * @param thresholdMs operations faster than this are not streamed.
+     */
+    public SlowOperationsReporter(@Value("${greencity.jfr.top-operations.enabled:true}") boolean enabled,
+        @Value("${greencity.jfr.top-operations.size:10}") int size,
+        @Value("${greencity.jfr.top-operations.threshold-ms:5}") long thresholdMs) {
+        this.enabled = enabled;
+        this.size = size;
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            for (Class<? extends Event> eventClass : EVENTS) {
+                String name = EventType.getEventType(eventClass).getName();
+                stream.enable(name).withThreshold(threshold).withoutStackTrace();
+                stream.onEvent(name, this::onEvent);
+            }
+            stream.startAsync();
+        } catch (IllegalStateException | SecurityException e) {
+            log.warn("Flight recorder events are not streamed: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Logs the slowest operations recorded since the previous call.
+     */
+    @Scheduled(fixedRateString = "${greencity.jfr.top-operations.interval-ms:60000}")
+    public void report() {
+        List<SlowOperation> operations = drain();
+        if (operations.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("Slowest operations of the last interval:");
+        for (SlowOperation operation : operations) {
+            message.append(System.lineSeparator())
+                .append(operation.duration().toMillis()).append(" ms ")
+                .append(operation.name()).append(' ')
+                .append(operation.attributes());
+        }
+        log.info(message.toString());
+    }
+
+    private void onEvent(RecordedEvent event) {
+        String attributes = event.getFields().stream()
+            .filter(field -> !STANDARD_FIELDS.contains(field.getName()))
+            .map(field -> field.getName() + "=" + event.getValue(field.getName()))
+            .collect(Collectors.joining(", "));
+        add(new SlowOperation(event.getEventType().getLabel(), event.getDuration(), attributes));
+    }
+
+    synchronized void add(SlowOperation operation) {
+        slowest.add(operation);
+        if (slowest.size() > size) {
+            slowest.poll();
+        }
+    }
+
+    synchronized List<SlowOperation> drain() {
+        List<SlowOperation> operations = new ArrayList<>(slowest);
+        slowest = new PriorityQueue<>(BY_DURATION);
+        operations.sort(BY_DURATION.reversed());
+        return operations;
+    }
+
+    record SlowOperation(String name, Duration duration, String attributes) {
+    }
+}
@@ -0,0 +1,21 @@
+package greencity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for verification of an access token.
+ */
+@Name("greencity.TokenVerification")
+@Label("Token Verification")
+@Description("Verification of the signature and claims of an access token")
+@Category({"GreenCity", "Security"})
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,24 @@
+package greencity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a lookup in one of the user caches.
+ */
+@Name("greencity.UserLookup")
+@Label("User Lookup")
+@Description("Lookup of a user in a cache, a miss is followed by a database query")
+@Category({"GreenCity", "Persistence"})
+@StackTrace(false)
+public class UserLookupEvent extends Event {
+    @Label("Cache")
+    public String cache;
+
+    @Label("Hit")
+    public boolean hit;
+}
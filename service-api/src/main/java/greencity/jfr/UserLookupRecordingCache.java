@@ -0,0 +1,85 @@
+package greencity.jfr;
+
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} which records a {@link UserLookupEvent} for every read of the
+ * cache it wraps. A miss is followed by the query of the cached method.
+ */
+public class UserLookupRecordingCache implements Cache {
+    private final Cache delegate;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate cache which stores the values.
+     */
+    public UserLookupRecordingCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        ValueWrapper value = delegate.get(key);
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = delegate.getName();
+            event.hit = value != null;
+            event.commit();
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+}
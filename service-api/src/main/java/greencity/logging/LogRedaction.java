@@ -0,0 +1,36 @@
+package greencity.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Redaction of secrets in log messages. A secret is replaced by a short
+ * fingerprint, so the log lines of one token can still be matched with each
+ * other but the token can not be taken from the log.
+ */
+public final class LogRedaction {
+    private static final int FINGERPRINT_BYTES = 4;
+
+    private LogRedaction() {
+    }
+
+    /**
+     * Fingerprint of a token, e.g. {@code token#1a2b3c4d}.
+     *
+     * @param token access, refresh or email token.
+     * @return fingerprint of the token, or {@code null} for {@code null}.
+     */
+    public static String token(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return "token#" + HexFormat.of().formatHex(digest, 0, FINGERPRINT_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            return "token#redacted";
+        }
+    }
+}
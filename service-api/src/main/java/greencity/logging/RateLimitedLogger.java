@@ -0,0 +1,74 @@
+package greencity.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+/**
+ * Logger for messages that may be written on every request, such as rejected
+ * tokens. At most {@code maxPerInterval} messages are written per interval, the
+ * others are counted and their number is written with the first message of the
+ * next interval. A flood of bad requests then costs a few lines of log instead
+ * of one line per request.
+ */
+public final class RateLimitedLogger {
+    private final Logger logger;
+    private final int maxPerInterval;
+    private final long intervalNanos;
+    private final AtomicLong intervalStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param logger         logger the messages are written to.
+     * @param maxPerInterval number of messages written per interval.
+     * @param interval       length of an interval.
+     */
+    public RateLimitedLogger(Logger logger, int maxPerInterval, Duration interval) {
+        this.logger = logger;
+        this.maxPerInterval = maxPerInterval;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * Writes a message at {@code INFO} level if the limit allows.
+     */
+    public void info(String format, Object... arguments) {
+        log(Level.INFO, format, arguments);
+    }
+
+    /**
+     * Writes a message at {@code WARN} level if the limit allows.
+     */
+    public void warn(String format, Object... arguments) {
+        log(Level.WARN, format, arguments);
+    }
+
+    /**
+     * Writes a message at the given level if the level is enabled and the limit
+     * allows. Arguments are not formatted otherwise.
+     */
+    public void log(Level level, String format, Object... arguments) {
+        if (!logger.isEnabledForLevel(level)) {
+            return;
+        }
+        long now = System.nanoTime();
+        long start = intervalStart.get();
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            written.set(0);
+            long dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                logger.atLevel(level).log("{} similar messages were suppressed", dropped);
+            }
+        }
+        if (written.incrementAndGet() <= maxPerInterval) {
+            logger.atLevel(level).log(format, arguments);
+        } else {
+            suppressed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package greencity.security.crypto;
+
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} that runs a delegate encoder on a dedicated bounded
+ * executor. A request waits for a hashing thread no longer than the queue
+ * timeout and fails with {@link PasswordHashingUnavailableException} after it,
+ * so a burst of logins can not occupy every core.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder {
+    private static final String METRIC_NAME = "greencity.password.hashing";
+    private final PasswordEncoder delegate;
+    private final Executor executor;
+    private final long queueTimeoutNanos;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate      encoder which does the hashing.
+     * @param executor      dedicated hashing executor.
+     * @param queueTimeout  maximum time to wait for a hashing thread.
+     * @param meterRegistry registry for latency histograms.
+     */
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, Executor executor, Duration queueTimeout,
+        MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.encodeTimer = hashTimer("encode", meterRegistry);
+        this.matchesTimer = hashTimer("matches", meterRegistry);
+        this.queueTimer = Timer.builder(METRIC_NAME + ".queue")
+            .description("Time a password waits for a hashing thread")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_NAME + ".rejected")
+            .description("Passwords rejected because the hashing executor is saturated")
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(Supplier<T> operation, Timer timer) {
+        long submittedAt = System.nanoTime();
+        AtomicBoolean started = new AtomicBoolean();
+        FutureTask<T> task = new FutureTask<>(() -> {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            queueTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            return timer.record(operation);
+        });
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            throw reject();
+        }
+        return await(task, started);
+    }
+
+    private <T> T await(FutureTask<T> task, AtomicBoolean started) {
+        try {
+            try {
+                return task.get(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (started.compareAndSet(false, true)) {
+                    throw reject();
+                }
+                return task.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            started.set(true);
+            throw reject();
+        }
+    }
+
+    private PasswordHashingUnavailableException reject() {
+        rejectedCounter.increment();
+        return new PasswordHashingUnavailableException(ErrorMessage.PASSWORD_HASHING_UNAVAILABLE);
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder(METRIC_NAME)
+            .description("Time spent on password hashing")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package greencity.security.dto.ownsecurity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A row of the imported file that was not imported completely.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class EmployeeImportErrorDto {
+    private long line;
+    private String email;
+    private String message;
+}
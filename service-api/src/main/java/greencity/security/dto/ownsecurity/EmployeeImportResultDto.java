@@ -0,0 +1,27 @@
+package greencity.security.dto.ownsecurity;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Report of an employee import.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class EmployeeImportResultDto {
+    private int total;
+    private int imported;
+    private int failed;
+    @Builder.Default
+    private List<EmployeeImportErrorDto> errors = new ArrayList<>();
+}
@@ -2,18 +2,28 @@ package greencity.security.jwt;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import static greencity.constant.AppConstant.CLAIMS_VERSION;
 import static greencity.constant.AppConstant.ROLE;
+import static greencity.constant.AppConstant.USER_ID;
+import static greencity.constant.AppConstant.USER_STATUS;
+import greencity.dto.user.UserAuthDto;
 import greencity.dto.user.UserVO;
 import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.logging.LogRedaction;
+import greencity.logging.RateLimitedLogger;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ClaimsBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import javax.crypto.SecretKey;
@@ -31,6 +41,13 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 public class JwtTool {
+    /**
+     * Version of the user claims written into access tokens. It must be increased
+     * whenever the set or the meaning of the claims changes, so tokens issued
+     * before are resolved from the database until they expire.
+     */
+    public static final int USER_CLAIMS_VERSION = 3;
+    private final RateLimitedLogger invalidTokensLog = new RateLimitedLogger(log, 10, Duration.ofMinutes(1));
     private final Integer accessTokenValidTimeInMinutes;
     private final Integer refreshTokenValidTimeInMinutes;
     private final String accessTokenKey;
@@ -48,14 +65,19 @@ public class JwtTool {
     }
 
     /**
-     * Method for creating access token.
+     * Method for creating access token. Besides the email and the role, the token
+     * carries the id and status of the user, so a request can be authenticated
+     * without loading the user. Fields the user changes, such as the language, are
+     * not put into the token, as they would stay stale until it is refreshed.
      *
-     * @param email this is email of user.
-     * @param role  this is role of user.
+     * @param user {@link UserAuthDto} of the signed in user.
      */
-    public String createAccessToken(String email, Role role) {
-        ClaimsBuilder claims = Jwts.claims().subject(email);
-        claims.add(ROLE, Collections.singleton(role.name()));
+    public String createAccessToken(UserAuthDto user) {
+        ClaimsBuilder claims = Jwts.claims().subject(user.getEmail());
+        claims.add(ROLE, Collections.singleton(user.getRole().name()));
+        claims.add(USER_ID, user.getId());
+        claims.add(USER_STATUS, user.getUserStatus().ordinal());
+        claims.add(CLAIMS_VERSION, USER_CLAIMS_VERSION);
 
         Date now = new Date();
         Calendar calendar = Calendar.getInstance();
@@ -77,8 +99,19 @@ public class JwtTool {
      * @param user - entity {@link UserVO}
      */
     public String createRefreshToken(UserVO user) {
-        ClaimsBuilder claims = Jwts.claims().subject(user.getEmail());
-        claims.add(ROLE, Collections.singleton(user.getRole().name()));
+        return createRefreshToken(user.getEmail(), user.getRole(), user.getRefreshTokenKey());
+    }
+
+    /**
+     * Method for creating refresh token without loading the whole user.
+     *
+     * @param email           - user's email
+     * @param role            - user's role
+     * @param refreshTokenKey - key the token is signed with
+     */
+    public String createRefreshToken(String email, Role role, String refreshTokenKey) {
+        ClaimsBuilder claims = Jwts.claims().subject(email);
+        claims.add(ROLE, Collections.singleton(role.name()));
         Date now = new Date();
         Calendar calendar = Calendar.getInstance();
         calendar.setTime(now);
@@ -88,7 +121,7 @@ public class JwtTool {
             .issuedAt(now)
             .expiration(calendar.getTime())
             .signWith(
-                Keys.hmacShaKeyFor(user.getRefreshTokenKey().getBytes(StandardCharsets.UTF_8)),
+                Keys.hmacShaKeyFor(refreshTokenKey.getBytes(StandardCharsets.UTF_8)),
                 Jwts.SIG.HS256)
             .compact();
     }
@@ -115,6 +148,30 @@ public class JwtTool {
         return jsonNode.path("sub").asText();
     }
 
+    /**
+     * Builds a lightweight {@link UserVO} from verified claims of an access token.
+     * Only the id, email, role and status are set.
+     *
+     * @param claims verified claims of an access token.
+     * @return {@link UserVO}, or empty {@link Optional} if the token was issued
+     *         with another version of the claims.
+     */
+    public Optional<UserVO> getUserOutOfClaims(Claims claims) {
+        if (!(claims.get(CLAIMS_VERSION) instanceof Number version) || version.intValue() != USER_CLAIMS_VERSION
+            || !(claims.get(USER_ID) instanceof Number id)
+            || !(claims.get(USER_STATUS) instanceof Number status)
+            || status.intValue() < 0 || status.intValue() >= UserStatus.values().length
+            || !(claims.get(ROLE) instanceof List<?> roles) || roles.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(UserVO.builder()
+            .id(id.longValue())
+            .email(claims.getSubject())
+            .role(Role.valueOf(roles.getFirst().toString()))
+            .userStatus(UserStatus.values()[status.intValue()])
+            .build());
+    }
+
     /**
      * Method that check if token still valid.
      *
@@ -128,9 +185,7 @@ public class JwtTool {
             Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
             isValid = true;
         } catch (Exception e) {
-            log.info("Given token is not valid: " + e.getMessage());
-            log.error("Exception:", e);
-            log.info("token " + token + "token key " + tokenKey);
+            invalidTokensLog.info("Token {} is not valid: {}", LogRedaction.token(token), e.getMessage());
         }
         return isValid;
     }
@@ -0,0 +1,21 @@
+package greencity.security.service;
+
+import greencity.security.dto.ownsecurity.EmployeeImportResultDto;
+import java.io.InputStream;
+
+/**
+ * Service that registers employees in bulk.
+ */
+public interface EmployeeImportService {
+    /**
+     * Registers employees from a CSV file with columns {@code name}, {@code email},
+     * {@code uuid} and an optional {@code isUbs}. Every employee gets an email with
+     * a link to set the password, as on a single employee sign-up. Rows that can
+     * not be imported do not stop the import and are listed in the report.
+     *
+     * @param csv      content of the file.
+     * @param language code of the language of the emails.
+     * @return {@link EmployeeImportResultDto}
+     */
+    EmployeeImportResultDto importEmployees(InputStream csv, String language);
+}
@@ -0,0 +1,27 @@
+package greencity.security.service;
+
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
+
+/**
+ * Service that throttles sign in attempts per email and per IP address. It is
+ * called before the user is looked up, so throttled attempts cost neither a
+ * database query nor a password hash.
+ */
+public interface LoginAttemptService {
+    /**
+     * Takes one attempt from the buckets of the IP address and the email.
+     *
+     * @param email     email from the sign in form.
+     * @param ipAddress address of the client.
+     * @throws TooManyLoginAttemptsException if any of the buckets is empty.
+     */
+    void checkAttempt(String email, String ipAddress);
+
+    /**
+     * Refills the bucket of the email after successful sign in, so typos made by
+     * the owner do not lock the account.
+     *
+     * @param email email from the sign in form.
+     */
+    void loginSucceeded(String email);
+}
@@ -26,6 +26,9 @@ public interface VerifyEmailService {
     boolean isNotExpired(LocalDateTime emailExpiredDate);
 
     /**
-     * Deletes email verification tokens that are expired.
+     * Deletes from the database users that did not verify their emails on time.
+     *
+     * @return number of deleted rows.
      */
+    int deleteAllUsersThatDidNotVerifyEmail();
 }
@@ -0,0 +1,50 @@
+package greencity.service;
+
+import greencity.dto.user.BulkJobDto;
+import greencity.enums.Role;
+import java.util.List;
+
+/**
+ * Runs operations over many users in the background. A job is persisted, the
+ * users are changed in chunks in separate transactions and notification emails
+ * are queued after each chunk is committed.
+ */
+public interface BulkJobService {
+    /**
+     * Submits a job that sets the users' statuses to 'DEACTIVATED' and notifies
+     * them by email.
+     *
+     * @param ids   {@link List} of ids of the users.
+     * @param email email of the user who submits the job, this user is skipped.
+     * @return {@link BulkJobDto} of the submitted job.
+     */
+    BulkJobDto submitDeactivation(List<Long> ids, String email);
+
+    /**
+     * Submits a job that sets the users' statuses to 'ACTIVATED' and notifies them
+     * by email.
+     *
+     * @param ids   {@link List} of ids of the users.
+     * @param email email of the user who submits the job, this user is skipped.
+     * @return {@link BulkJobDto} of the submitted job.
+     */
+    BulkJobDto submitActivation(List<Long> ids, String email);
+
+    /**
+     * Submits a job that changes the users' roles.
+     *
+     * @param ids   {@link List} of ids of the users.
+     * @param role  new {@link Role} of the users.
+     * @param email email of the user who submits the job, this user is skipped.
+     * @return {@link BulkJobDto} of the submitted job.
+     */
+    BulkJobDto submitRoleChange(List<Long> ids, Role role, String email);
+
+    /**
+     * Returns status and progress of a job.
+     *
+     * @param id id of the job.
+     * @return {@link BulkJobDto}
+     */
+    BulkJobDto getJob(Long id);
+}
@@ -0,0 +1,51 @@
+package greencity.service;
+
+import greencity.enums.ProfilePictureSize;
+import java.util.Optional;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Provides the interface to manage resized variants of the users' profile
+ * pictures.
+ */
+public interface ProfilePictureService {
+    /**
+     * Schedules creation of the {@link ProfilePictureSize} thumbnails for the
+     * uploaded profile picture. The thumbnails are resized, re-encoded without
+     * metadata, cached locally and uploaded next to the original picture. The
+     * method returns immediately, processing is done on a dedicated pool.
+     * Thumbnails are dropped if the profile picture is changed or deleted before
+     * they are saved.
+     *
+     * @param userId      id of the user whose profile picture was updated.
+     * @param picturePath path of the uploaded profile picture.
+     * @param image       {@link MultipartFile} original profile picture.
+     */
+    void createThumbnails(Long userId, String picturePath, MultipartFile image);
+
+    /**
+     * Returns encoded thumbnail from the local cache.
+     *
+     * @param userId id of the user.
+     * @param size   {@link ProfilePictureSize} of the thumbnail.
+     * @return {@link Optional} of encoded thumbnail, empty if it is not cached.
+     */
+    Optional<byte[]> getCachedThumbnail(Long userId, ProfilePictureSize size);
+
+    /**
+     * Returns path of the stored thumbnail. Falls back to the original profile
+     * picture path when the thumbnail has not been created yet.
+     *
+     * @param userId id of the user.
+     * @param size   {@link ProfilePictureSize} of the thumbnail.
+     * @return {@link String} path of the picture.
+     */
+    String getThumbnailPath(Long userId, ProfilePictureSize size);
+
+    /**
+     * Removes all thumbnails of the user from the cache and from the database.
+     *
+     * @param userId id of the user.
+     */
+    void deleteThumbnails(Long userId);
+}
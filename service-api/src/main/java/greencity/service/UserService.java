@@ -38,6 +38,14 @@ public interface UserService {
      */
     int scheduleDeleteDeactivatedUsers();
 
+    /**
+     * Delete from the database users that have status 'CREATED' and have not
+     * activated the account within 24 hours.
+     *
+     * @return number of deleted rows.
+     */
+    int scheduleDeleteCreatedUsers();
+
     /**
      * Find and return all cities for all users.
      *
@@ -0,0 +1,148 @@
+package greencity.validator;
+
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.BadRequestException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Reads format, width and height of an image from its header without decoding
+ * pixels, so that decompression bombs are rejected before {@link ImageIO#read}
+ * allocates memory for them.
+ */
+@Component
+public class ImageProbe {
+    /**
+     * Default size of an encoded image, equal to the multipart upload limit.
+     */
+    public static final long DEFAULT_MAX_BYTES = 10_485_760L;
+    /**
+     * Default number of pixels, 4096x4096. Decoded as ARGB it takes 64 MB.
+     */
+    public static final long DEFAULT_MAX_PIXELS = 16_777_216L;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private final long maxBytes;
+    private final long maxPixels;
+
+    /**
+     * Constructor.
+     */
+    public ImageProbe(@Value("${greencity.image.max-bytes:10485760}") long maxBytes,
+        @Value("${greencity.image.max-pixels:16777216}") long maxPixels) {
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * Creates probe with default budgets, for places that are not managed by
+     * Spring.
+     *
+     * @return {@link ImageProbe}
+     */
+    public static ImageProbe withDefaults() {
+        return new ImageProbe(DEFAULT_MAX_BYTES, DEFAULT_MAX_PIXELS);
+    }
+
+    /**
+     * Checks length of a Base64 encoded image before it is decoded.
+     *
+     * @param encodedLength number of Base64 characters.
+     * @throws BadRequestException if decoded image would exceed the byte budget.
+     */
+    public void checkEncodedLength(long encodedLength) {
+        checkBytes(encodedLength / 4 * 3);
+    }
+
+    /**
+     * Probes an uploaded image. Only the header is read from the stream.
+     *
+     * @param image {@link MultipartFile}
+     * @return {@link ImageHeader}
+     * @throws BadRequestException if image is not PNG or JPEG or exceeds budgets.
+     */
+    public ImageHeader probe(MultipartFile image) {
+        checkBytes(image.getSize());
+        try (InputStream inputStream = image.getInputStream()) {
+            return probe(inputStream);
+        } catch (IOException e) {
+            throw new BadRequestException(ErrorMessage.IMAGE_FORMAT_NOT_SUPPORTED);
+        }
+    }
+
+    /**
+     * Probes an image held in memory.
+     *
+     * @param image encoded image.
+     * @return {@link ImageHeader}
+     * @throws BadRequestException if image is not PNG or JPEG or exceeds budgets.
+     */
+    public ImageHeader probe(byte[] image) {
+        checkBytes(image.length);
+        return probe(new ByteArrayInputStream(image));
+    }
+
+    private ImageHeader probe(InputStream inputStream) {
+        try (ImageInputStream imageInputStream = new MemoryCacheImageInputStream(inputStream)) {
+            String format = detectFormat(imageInputStream);
+            Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(format);
+            if (!readers.hasNext()) {
+                throw new BadRequestException(ErrorMessage.IMAGE_FORMAT_NOT_SUPPORTED);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    throw new BadRequestException(ErrorMessage.IMAGE_DIMENSIONS_TOO_LARGE + maxPixels);
+                }
+                return new ImageHeader(format, width, height);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new BadRequestException(ErrorMessage.IMAGE_FORMAT_NOT_SUPPORTED);
+        }
+    }
+
+    private String detectFormat(ImageInputStream imageInputStream) throws IOException {
+        byte[] signature = new byte[PNG_SIGNATURE.length];
+        int read = imageInputStream.read(signature);
+        imageInputStream.seek(0);
+        if (read == PNG_SIGNATURE.length && Arrays.equals(signature, PNG_SIGNATURE)) {
+            return "png";
+        }
+        if (read >= JPEG_SIGNATURE.length
+            && Arrays.equals(signature, 0, JPEG_SIGNATURE.length, JPEG_SIGNATURE, 0, JPEG_SIGNATURE.length)) {
+            return "jpeg";
+        }
+        throw new BadRequestException(ErrorMessage.IMAGE_FORMAT_NOT_SUPPORTED);
+    }
+
+    private void checkBytes(long length) {
+        if (length > maxBytes) {
+            throw new BadRequestException(ErrorMessage.IMAGE_SIZE_TOO_LARGE + maxBytes);
+        }
+    }
+
+    /**
+     * Format and dimensions read from an image header.
+     *
+     * @param format format name, {@code png} or {@code jpeg}.
+     * @param width  width in pixels.
+     * @param height height in pixels.
+     */
+    public record ImageHeader(String format, int width, int height) {
+    }
+}
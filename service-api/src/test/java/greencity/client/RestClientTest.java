@@ -1,5 +1,6 @@
 package greencity.client;
 
+import greencity.constant.ErrorMessage;
 import greencity.constant.RestTemplateLinks;
 import greencity.dto.shoppinglist.CustomShoppingListItemResponseDto;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +23,11 @@ import java.util.Arrays;
 import static greencity.constant.AppConstant.AUTHORIZATION;
 import static greencity.constant.AppConstant.IMAGE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -143,4 +149,45 @@ class RestClientTest {
         assertEquals(Arrays.asList(allLanguageCodes), restClient.getAllLanguageCodes());
     }
 
+    @Test
+    void findAmountOfPublishedNewsWithoutCurrentRequest() {
+        IllegalStateException noRequest = new IllegalStateException("No thread-bound request found");
+        when(httpServletRequest.getHeader(AUTHORIZATION)).thenThrow(noRequest);
+
+        IllegalStateException exception =
+            assertThrows(IllegalStateException.class, () -> restClient.findAmountOfPublishedNews(1L));
+        assertEquals(ErrorMessage.NO_CURRENT_REQUEST_FOR_ACCESS_TOKEN, exception.getMessage());
+        assertSame(noRequest, exception.getCause());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void findAmountOfPublishedNewsWithoutAccessToken() {
+        when(httpServletRequest.getHeader(AUTHORIZATION)).thenReturn(null);
+
+        IllegalStateException exception =
+            assertThrows(IllegalStateException.class, () -> restClient.findAmountOfPublishedNews(1L));
+        assertEquals(ErrorMessage.NO_ACCESS_TOKEN, exception.getMessage());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void uploadImageWithExplicitAccessToken() {
+        String imagePath = "image";
+        MultipartFile image = new MockMultipartFile("data", "filename.png", "image/png", "some xml".getBytes());
+        when(restTemplate.postForObject(eq(greenCityServerAddress + RestTemplateLinks.FILES_IMAGE),
+            argThat((HttpEntity<?> entity) -> "accessToken".equals(entity.getHeaders().getFirst(AUTHORIZATION))),
+            eq(String.class))).thenReturn(imagePath);
+
+        assertEquals(imagePath, restClient.uploadImage(image, "accessToken"));
+        verifyNoInteractions(httpServletRequest);
+    }
+
+    @Test
+    void uploadImageWithoutAccessToken() {
+        MultipartFile image = new MockMultipartFile("data", "filename.png", "image/png", "some xml".getBytes());
+
+        assertThrows(IllegalStateException.class, () -> restClient.uploadImage(image, null));
+        verifyNoInteractions(restTemplate);
+    }
 }
@@ -0,0 +1,76 @@
+package greencity.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailServiceConfigTest {
+    @Test
+    void sendEmailExecutorPublishesQueueAndRejectionsTest() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ExecutorService executor = (ExecutorService) new EmailServiceConfig().sendEmailExecutor(meterRegistry,
+            false);
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < threads + 100; i++) {
+                executor.execute(blocked);
+            }
+
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(blocked));
+            assertEquals(1, meterRegistry.get("executor.rejected").tag("name", "sendEmailExecutor").counter().count());
+            assertEquals(100, meterRegistry.get("executor.queued").tag("name", "sendEmailExecutor").gauge().value());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void sendEmailExecutorOnVirtualThreadsBoundsSendsAndQueueTest() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Executor executor = new EmailServiceConfig().sendEmailExecutor(meterRegistry, true);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean virtual = new AtomicBoolean();
+        Runnable blocked = () -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        int sends = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int capacity = Runtime.getRuntime().availableProcessors() + 100;
+        try {
+            for (int i = 0; i < capacity; i++) {
+                executor.execute(blocked);
+            }
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertTrue(virtual.get());
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(blocked));
+            assertEquals(1, meterRegistry.get("executor.rejected").tag("name", "sendEmailExecutor").counter().count());
+            assertTrue(meterRegistry.get("executor.active").tag("name", "sendEmailExecutor").gauge().value() <= sends);
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package greencity.config;
+
+import greencity.dto.language.LanguageVO;
+import greencity.dto.ownsecurity.OwnSecurityVO;
+import greencity.dto.user.UserVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UserCopyingCacheTest {
+    private ConcurrentMapCache delegate;
+    private Cache cache;
+    private UserVO user;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new ConcurrentMapCache("users-by-id");
+        cache = new UserCopyingCache(delegate);
+        user = UserVO.builder()
+            .id(1L)
+            .name("test")
+            .ownSecurity(OwnSecurityVO.builder().id(2L).password("hash")
+                .user(UserVO.builder().id(1L).build()).build())
+            .languageVO(LanguageVO.builder().id(1L).code("ua").build())
+            .build();
+    }
+
+    @Test
+    void putStoresCopyTest() {
+        cache.put(1L, user);
+        user.setName("changed");
+        user.getLanguageVO().setCode("en");
+
+        UserVO cached = (UserVO) delegate.get(1L).get();
+        assertEquals("test", cached.getName());
+        assertEquals("ua", cached.getLanguageVO().getCode());
+    }
+
+    @Test
+    void everyReadReturnsNewCopyTest() {
+        cache.put(1L, user);
+
+        UserVO first = (UserVO) cache.get(1L).get();
+        first.getOwnSecurity().setPassword("changed");
+        UserVO second = cache.get(1L, UserVO.class);
+
+        assertNotSame(first, second);
+        assertNotSame(first.getOwnSecurity().getUser(), second.getOwnSecurity().getUser());
+        assertEquals("hash", second.getOwnSecurity().getPassword());
+        assertEquals(user, second);
+    }
+
+    @Test
+    void valueLoaderResultIsCopiedTest() {
+        UserVO loaded = cache.get(1L, () -> user);
+        loaded.setName("changed");
+
+        assertNotSame(user, loaded);
+        assertEquals("test", cache.get(1L, UserVO.class).getName());
+    }
+
+    @Test
+    void missAndOtherValuesAreReturnedAsTheyAreTest() {
+        cache.put(2L, 3L);
+
+        assertNull(cache.get(1L));
+        assertEquals(3L, cache.get(2L, Long.class));
+    }
+}
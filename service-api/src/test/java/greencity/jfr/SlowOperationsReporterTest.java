@@ -0,0 +1,35 @@
+package greencity.jfr;
+
+import greencity.jfr.SlowOperationsReporter.SlowOperation;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowOperationsReporterTest {
+    private final SlowOperationsReporter reporter = new SlowOperationsReporter(false, 2, 0);
+
+    @Test
+    void drainKeepsSlowestOperationsTest() {
+        reporter.add(operation("first", 5));
+        reporter.add(operation("second", 20));
+        reporter.add(operation("third", 1));
+        reporter.add(operation("fourth", 10));
+
+        assertEquals(List.of(operation("second", 20), operation("fourth", 10)), reporter.drain());
+        assertTrue(reporter.drain().isEmpty());
+    }
+
+    @Test
+    void disabledReporterDoesNotStreamTest() {
+        reporter.start();
+
+        assertFalse(reporter.isRunning());
+    }
+
+    private static SlowOperation operation(String name, long millis) {
+        return new SlowOperation(name, Duration.ofMillis(millis), "");
+    }
+}
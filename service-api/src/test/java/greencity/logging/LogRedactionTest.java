@@ -0,0 +1,27 @@
+package greencity.logging;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRedactionTest {
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJ0ZXN0QG1haWwuY29tIn0.signature";
+
+    @Test
+    void tokenIsReplacedByStableFingerprintTest() {
+        String fingerprint = LogRedaction.token(TOKEN);
+
+        assertTrue(fingerprint.matches("token#[0-9a-f]{8}"));
+        assertFalse(fingerprint.contains("eyJ"));
+        assertEquals(fingerprint, LogRedaction.token(TOKEN));
+        assertNotEquals(fingerprint, LogRedaction.token(TOKEN + "x"));
+    }
+
+    @Test
+    void nullTokenTest() {
+        assertNull(LogRedaction.token(null));
+    }
+}
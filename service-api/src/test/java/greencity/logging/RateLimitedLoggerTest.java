@@ -0,0 +1,72 @@
+package greencity.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitedLoggerTest {
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RateLimitedLoggerTest.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void writesAtMostLimitPerIntervalTest() {
+        RateLimitedLogger rateLimitedLogger = new RateLimitedLogger(logger, 2, Duration.ofHours(1));
+
+        for (int i = 0; i < 5; i++) {
+            rateLimitedLogger.info("Rejected {}", i);
+        }
+
+        List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertEquals(List.of("Rejected 0", "Rejected 1"), messages);
+    }
+
+    @Test
+    void reportsSuppressedMessagesInNextIntervalTest() throws InterruptedException {
+        RateLimitedLogger rateLimitedLogger = new RateLimitedLogger(logger, 1, Duration.ofMillis(50));
+        rateLimitedLogger.warn("Rejected {}", 0);
+        rateLimitedLogger.warn("Rejected {}", 1);
+        rateLimitedLogger.warn("Rejected {}", 2);
+
+        Thread.sleep(60);
+        rateLimitedLogger.warn("Rejected {}", 3);
+
+        List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertEquals(List.of("Rejected 0", "2 similar messages were suppressed", "Rejected 3"), messages);
+    }
+
+    @Test
+    void disabledLevelIsNotCountedTest() {
+        RateLimitedLogger rateLimitedLogger = new RateLimitedLogger(logger, 1, Duration.ofHours(1));
+        ch.qos.logback.classic.Level level = logger.getLevel();
+        logger.setLevel(ch.qos.logback.classic.Level.WARN);
+        try {
+            rateLimitedLogger.info("Rejected {}", 0);
+        } finally {
+            logger.setLevel(level);
+        }
+
+        rateLimitedLogger.warn("Rejected {}", 1);
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith("1"));
+    }
+}
@@ -0,0 +1,109 @@
+package greencity.security.crypto;
+
+import greencity.exception.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkheadPasswordEncoderTest {
+    @Mock
+    private PasswordEncoder delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    private BulkheadPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newSingleThreadExecutor();
+        passwordEncoder = new BulkheadPasswordEncoder(delegate, executor, Duration.ofMillis(100), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encodeTest() {
+        when(delegate.encode("password")).thenReturn("hash");
+
+        assertEquals("hash", passwordEncoder.encode("password"));
+        assertEquals(1, meterRegistry.get("greencity.password.hashing").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void matchesTest() {
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        assertTrue(passwordEncoder.matches("password", "hash"));
+        assertEquals(1, meterRegistry.get("greencity.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncodingTest() {
+        when(delegate.upgradeEncoding("hash")).thenReturn(true);
+
+        assertTrue(passwordEncoder.upgradeEncoding("hash"));
+    }
+
+    @Test
+    void delegateExceptionIsRethrownTest() {
+        when(delegate.encode("password")).thenThrow(new IllegalArgumentException());
+
+        assertThrows(IllegalArgumentException.class, () -> passwordEncoder.encode("password"));
+    }
+
+    @Test
+    void rejectedExecutionTest() {
+        passwordEncoder = new BulkheadPasswordEncoder(delegate, task -> {
+            throw new RejectedExecutionException();
+        }, Duration.ofMillis(100), meterRegistry);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordEncoder.encode("password"));
+        assertEquals(1, meterRegistry.get("greencity.password.hashing.rejected").counter().count());
+        verify(delegate, never()).encode("password");
+    }
+
+    @Test
+    void queueTimeoutTest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordEncoder.encode("password"));
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        verify(delegate, never()).encode("password");
+        assertEquals(1, meterRegistry.get("greencity.password.hashing.rejected").counter().count());
+    }
+}
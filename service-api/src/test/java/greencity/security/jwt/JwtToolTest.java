@@ -1,18 +1,24 @@
 package greencity.security.jwt;
 
 import static greencity.constant.AppConstant.ROLE;
+import greencity.dto.user.UserAuthDto;
 import greencity.dto.user.UserVO;
 import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import javax.crypto.SecretKey;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +35,12 @@ import org.springframework.test.util.ReflectionTestUtils;
 class JwtToolTest {
     private final String expectedEmail = "test@gmail.com";
     private final Role expectedRole = Role.ROLE_USER;
+    private final UserAuthDto userAuth = UserAuthDto.builder()
+        .id(1L)
+        .email(expectedEmail)
+        .role(expectedRole)
+        .userStatus(UserStatus.ACTIVATED)
+        .build();
 
     @Mock
     HttpServletRequest request;
@@ -45,7 +57,7 @@ class JwtToolTest {
 
     @Test
     void createAccessToken() {
-        final String accessToken = jwtTool.createAccessToken(expectedEmail, expectedRole);
+        final String accessToken = jwtTool.createAccessToken(userAuth);
         System.out.println(accessToken);
 
         SecretKey key = Keys.hmacShaKeyFor(jwtTool.getAccessTokenKey().getBytes());
@@ -67,6 +79,50 @@ class JwtToolTest {
         assertEquals(expectedRole, Role.valueOf(authorities.getFirst()));
     }
 
+    @Test
+    void getUserOutOfClaims() {
+        Claims claims = parseAccessToken(jwtTool.createAccessToken(userAuth));
+
+        UserVO user = jwtTool.getUserOutOfClaims(claims).orElseThrow();
+
+        assertEquals(1L, user.getId());
+        assertEquals(expectedEmail, user.getEmail());
+        assertEquals(expectedRole, user.getRole());
+        assertEquals(UserStatus.ACTIVATED, user.getUserStatus());
+        assertNull(user.getLanguageVO());
+    }
+
+    @Test
+    void getUserOutOfClaimsOfStaleVersion() {
+        SecretKey key = Keys.hmacShaKeyFor(jwtTool.getAccessTokenKey().getBytes());
+        String accessToken = Jwts.builder()
+            .subject(expectedEmail)
+            .claim(ROLE, List.of(expectedRole.name()))
+            .claim("user_id", 1L)
+            .claim("claims_version", JwtTool.USER_CLAIMS_VERSION - 1)
+            .signWith(key)
+            .compact();
+
+        assertEquals(Optional.empty(), jwtTool.getUserOutOfClaims(parseAccessToken(accessToken)));
+    }
+
+    @Test
+    void getUserOutOfClaimsWithoutVersion() {
+        SecretKey key = Keys.hmacShaKeyFor(jwtTool.getAccessTokenKey().getBytes());
+        String accessToken = Jwts.builder()
+            .subject(expectedEmail)
+            .claim(ROLE, List.of(expectedRole.name()))
+            .signWith(key)
+            .compact();
+
+        assertTrue(jwtTool.getUserOutOfClaims(parseAccessToken(accessToken)).isEmpty());
+    }
+
+    private Claims parseAccessToken(String accessToken) {
+        SecretKey key = Keys.hmacShaKeyFor(jwtTool.getAccessTokenKey().getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(accessToken).getPayload();
+    }
+
     @Test
     void createRefreshToken() {
         String s = "secret-refresh-token-key-bigger-key";
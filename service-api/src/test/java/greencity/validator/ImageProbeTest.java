@@ -0,0 +1,126 @@
+package greencity.validator;
+
+import greencity.exception.exceptions.BadRequestException;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageProbeTest {
+    private final ImageProbe imageProbe = new ImageProbe(1_000_000L, 1_000_000L);
+
+    @Test
+    void probePngTest() throws IOException {
+        ImageProbe.ImageHeader header = imageProbe.probe(encode(640, 480, "png"));
+        assertEquals(new ImageProbe.ImageHeader("png", 640, 480), header);
+    }
+
+    @Test
+    void probeJpegTest() throws IOException {
+        ImageProbe.ImageHeader header = imageProbe.probe(encode(320, 200, "jpeg"));
+        assertEquals(new ImageProbe.ImageHeader("jpeg", 320, 200), header);
+    }
+
+    @Test
+    void probeMultipartFileTest() throws IOException {
+        MockMultipartFile image = new MockMultipartFile("image", "image.png", "image/png", encode(100, 100, "png"));
+        assertEquals(100, imageProbe.probe(image).width());
+    }
+
+    @Test
+    void probeOversizedPngHeaderTest() throws IOException {
+        byte[] bomb = pngHeader(100_000, 100_000);
+        assertThrows(BadRequestException.class, () -> imageProbe.probe(bomb));
+    }
+
+    @Test
+    void probeOversizedJpegHeaderTest() throws IOException {
+        byte[] bomb = jpegHeader(60_000, 60_000);
+        assertThrows(BadRequestException.class, () -> imageProbe.probe(bomb));
+    }
+
+    @Test
+    void probeLongNarrowPngHeaderTest() throws IOException {
+        byte[] bomb = pngHeader(Integer.MAX_VALUE, 2);
+        assertThrows(BadRequestException.class, () -> imageProbe.probe(bomb));
+    }
+
+    @Test
+    void probeExceedsByteBudgetTest() throws IOException {
+        ImageProbe smallProbe = new ImageProbe(100L, 1_000_000L);
+        byte[] image = encode(640, 480, "png");
+        assertThrows(BadRequestException.class, () -> smallProbe.probe(image));
+    }
+
+    @Test
+    void checkEncodedLengthTest() {
+        ImageProbe smallProbe = new ImageProbe(300L, 1_000_000L);
+        smallProbe.checkEncodedLength(400L);
+        assertThrows(BadRequestException.class, () -> smallProbe.checkEncodedLength(404L));
+    }
+
+    @Test
+    void probeUnknownMagicBytesTest() throws IOException {
+        byte[] gif = encode(10, 10, "gif");
+        assertThrows(BadRequestException.class, () -> imageProbe.probe(gif));
+    }
+
+    @Test
+    void probeTruncatedImageTest() {
+        byte[] truncated = {(byte) 0x89, 'P', 'N', 'G'};
+        assertThrows(BadRequestException.class, () -> imageProbe.probe(truncated));
+    }
+
+    private static byte[] encode(int width, int height, String format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] pngHeader(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        outputStream.write(new byte[] {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A});
+        byte[] ihdr = ByteBuffer.allocate(13).putInt(width).putInt(height)
+            .put((byte) 8).put((byte) 6).put((byte) 0).put((byte) 0).put((byte) 0).array();
+        pngChunk(outputStream, "IHDR", ihdr);
+        pngChunk(outputStream, "IEND", new byte[0]);
+        return outputStream.toByteArray();
+    }
+
+    private static void pngChunk(ByteArrayOutputStream outputStream, String type, byte[] data) throws IOException {
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        dataOutputStream.writeInt(data.length);
+        dataOutputStream.write(typeBytes);
+        dataOutputStream.write(data);
+        dataOutputStream.writeInt((int) crc.getValue());
+    }
+
+    private static byte[] jpegHeader(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.write(new byte[] {(byte) 0xFF, (byte) 0xD8});
+        dataOutputStream.write(new byte[] {(byte) 0xFF, (byte) 0xC0});
+        dataOutputStream.writeShort(11);
+        dataOutputStream.writeByte(8);
+        dataOutputStream.writeShort(height);
+        dataOutputStream.writeShort(width);
+        dataOutputStream.write(new byte[] {1, 1, 0x11, 0});
+        dataOutputStream.write(new byte[] {(byte) 0xFF, (byte) 0xDA});
+        dataOutputStream.writeShort(8);
+        dataOutputStream.write(new byte[] {1, 1, 0, 0, 63, 0});
+        dataOutputStream.write(new byte[] {(byte) 0xFF, (byte) 0xD9});
+        return outputStream.toByteArray();
+    }
+}
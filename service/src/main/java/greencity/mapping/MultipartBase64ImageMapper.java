@@ -2,6 +2,7 @@ package greencity.mapping;
 
 import greencity.exception.exceptions.NotSavedException;
 import greencity.service.MultipartFileImpl;
+import greencity.validator.ImageProbe;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -11,6 +12,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import javax.imageio.ImageIO;
+import lombok.RequiredArgsConstructor;
 import org.apache.commons.fileupload.FileItem;
 import org.apache.commons.fileupload.disk.DiskFileItem;
 import org.apache.commons.io.IOUtils;
@@ -20,9 +22,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 @Component
+@RequiredArgsConstructor
 public class MultipartBase64ImageMapper extends AbstractConverter<String, MultipartFile> {
+    private final ImageProbe imageProbe;
+
     /**
-     * Method for converting Base64 encoded image into MultipartFile.
+     * Method for converting Base64 encoded image into MultipartFile. Encoded length
+     * and image header are checked against {@link ImageProbe} budgets before pixels
+     * are decoded.
      *
      * @param image encoded in Base64 format to convert.
      * @return image converted to MultipartFile.
@@ -30,8 +37,10 @@ public class MultipartBase64ImageMapper extends AbstractConverter<String, Multip
     @Override
     public MultipartFile convert(String image) {
         String imageToConvert = image.substring(image.indexOf(',') + 1);
+        imageProbe.checkEncodedLength(imageToConvert.length());
         File tempFile = new File("tempImage.jpg");
         byte[] imageByte = decodeBase64(imageToConvert);
+        imageProbe.probe(imageByte);
         try (ByteArrayInputStream bis = new ByteArrayInputStream(imageByte);) {
             BufferedImage bufferedImage = ImageIO.read(bis);
             ImageIO.write(bufferedImage, "png", tempFile);
@@ -50,4 +59,4 @@ public class MultipartBase64ImageMapper extends AbstractConverter<String, Multip
             tempFile.deleteOnExit();
         }
     }
-}
\ No newline at end of file
+}
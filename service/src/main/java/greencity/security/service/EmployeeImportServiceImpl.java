@@ -0,0 +1,307 @@
+package greencity.security.service;
+
+import greencity.constant.AppConstant;
+import greencity.constant.ErrorMessage;
+import greencity.dto.user.EmployeeImportRecord;
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.repository.UserRepo;
+import greencity.security.dto.ownsecurity.EmployeeImportErrorDto;
+import greencity.security.dto.ownsecurity.EmployeeImportResultDto;
+import greencity.security.dto.ownsecurity.EmployeeSignUpDto;
+import greencity.security.jwt.JwtTool;
+import greencity.security.repository.EmployeeImportRepo;
+import greencity.service.EmailService;
+import greencity.service.QueuedEmailSender;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@inheritDoc}
+ *
+ * <p>
+ * The file is read line by line and imported in chunks, so its size does not
+ * change the memory used by an import. Passwords of a chunk are hashed in
+ * parallel, the chunk is inserted in one transaction with a few statements and
+ * the emails are queued after the commit.
+ */
+@Slf4j
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+    private static final int MAX_EMAIL_LENGTH = 50;
+    private static final int PASSWORD_BYTES = 24;
+    private final EmployeeImportRepo employeeImportRepo;
+    private final UserRepo userRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTool jwtTool;
+    private final EmailService emailService;
+    private final Validator validator;
+    private final ModelMapper modelMapper;
+    private final Executor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final QueuedEmailSender emailSender;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final Integer expirationTime;
+    private final int chunkSize;
+    private final int maxRows;
+
+    /**
+     * Constructor.
+     */
+    @Autowired
+    public EmployeeImportServiceImpl(EmployeeImportRepo employeeImportRepo,
+        UserRepo userRepo,
+        PasswordEncoder passwordEncoder,
+        JwtTool jwtTool,
+        EmailService emailService,
+        Validator validator,
+        ModelMapper modelMapper,
+        @Qualifier("employeeImportExecutor") Executor executor,
+        PlatformTransactionManager transactionManager,
+        @Value("${verifyEmailTimeHour}") Integer expirationTime,
+        @Value("${greencity.employee-import.chunk-size:500}") int chunkSize,
+        @Value("${greencity.employee-import.max-rows:10000}") int maxRows,
+        @Value("${greencity.employee-import.email-retry-ms:200}") long emailRetryMillis) {
+        this.employeeImportRepo = employeeImportRepo;
+        this.userRepo = userRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtTool = jwtTool;
+        this.emailService = emailService;
+        this.validator = validator;
+        this.modelMapper = modelMapper;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emailSender = new QueuedEmailSender(emailRetryMillis);
+        this.expirationTime = expirationTime;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EmployeeImportResultDto importEmployees(InputStream csv, String language) {
+        Long languageId = modelMapper.map(language, Long.class);
+        EmployeeImportResultDto result = EmployeeImportResultDto.builder().build();
+        Set<String> emails = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+                if (result.getTotal() == maxRows) {
+                    result.getErrors().add(new EmployeeImportErrorDto(lineNumber, null,
+                        ErrorMessage.EMPLOYEE_IMPORT_TOO_MANY_ROWS + maxRows));
+                    break;
+                }
+                result.setTotal(result.getTotal() + 1);
+                Row row = parseRow(lineNumber, line, emails, result);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, languageId, language, result);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, languageId, language, result);
+        } catch (IOException e) {
+            throw new BadRequestException(ErrorMessage.EMPLOYEE_IMPORT_FILE_IS_NOT_READABLE);
+        }
+        log.info("Imported {} of {} employees", result.getImported(), result.getTotal());
+        return result;
+    }
+
+    private Row parseRow(long lineNumber, String line, Set<String> emails, EmployeeImportResultDto result) {
+        List<String> columns = splitLine(line);
+        if (columns.size() < 3 || columns.size() > 4) {
+            fail(result, lineNumber, null, ErrorMessage.EMPLOYEE_IMPORT_WRONG_COLUMNS);
+            return null;
+        }
+        EmployeeSignUpDto dto = EmployeeSignUpDto.builder()
+            .name(columns.get(0))
+            .email(columns.get(1))
+            .uuid(columns.get(2).isEmpty() ? null : columns.get(2))
+            .isUbs(columns.size() == 4 && Boolean.parseBoolean(columns.get(3)))
+            .build();
+        Set<ConstraintViolation<EmployeeSignUpDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<EmployeeSignUpDto> violation = violations.iterator().next();
+            fail(result, lineNumber, dto.getEmail(), violation.getPropertyPath() + ": " + violation.getMessage());
+            return null;
+        }
+        if (dto.getEmail().length() > MAX_EMAIL_LENGTH) {
+            fail(result, lineNumber, dto.getEmail(), ErrorMessage.EMPLOYEE_IMPORT_EMAIL_TOO_LONG);
+            return null;
+        }
+        if (!emails.add(dto.getEmail())) {
+            fail(result, lineNumber, dto.getEmail(), ErrorMessage.EMPLOYEE_IMPORT_DUPLICATE_EMAIL);
+            return null;
+        }
+        return new Row(lineNumber, dto);
+    }
+
+    private void importChunk(List<Row> chunk, Long languageId, String language, EmployeeImportResultDto result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> taken = new HashSet<>(userRepo.findExistingEmails(
+            chunk.stream().map(row -> row.dto().getEmail()).toList()));
+        List<Row> rows = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (taken.contains(row.dto().getEmail())) {
+                fail(result, row, ErrorMessage.USER_ALREADY_REGISTERED_WITH_THIS_EMAIL);
+            } else {
+                rows.add(row);
+            }
+        }
+        List<CompletableFuture<String>> hashes = rows.stream().map(row -> hashPassword()).toList();
+        List<Row> hashed = new ArrayList<>(rows.size());
+        List<EmployeeImportRecord> records = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            try {
+                records.add(toRecord(row.dto(), hashes.get(i).join(), languageId));
+                hashed.add(row);
+            } catch (CompletionException e) {
+                fail(result, row, e.getCause().getMessage());
+            }
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<String, Long> ids = transactionTemplate.execute(status -> employeeImportRepo.insertEmployees(records));
+        for (int i = 0; i < hashed.size(); i++) {
+            Row row = hashed.get(i);
+            Long id = ids.get(row.dto().getEmail());
+            if (id == null) {
+                fail(result, row, ErrorMessage.USER_ALREADY_REGISTERED_WITH_THIS_EMAIL);
+                continue;
+            }
+            result.setImported(result.getImported() + 1);
+            EmployeeImportRecord employee = records.get(i);
+            boolean queued = emailSender.send(() -> emailService.sendRestoreEmail(id, employee.getName(),
+                employee.getEmail(), employee.getRestoreToken(), language, row.dto().isUbs()));
+            if (!queued) {
+                result.getErrors().add(new EmployeeImportErrorDto(row.line(), employee.getEmail(),
+                    ErrorMessage.EMPLOYEE_IMPORT_EMAIL_NOT_SENT));
+            }
+        }
+    }
+
+    /**
+     * Hashes a random password of an employee. The employee sets their own password
+     * by the link from the email, so the generated one is never shown.
+     */
+    private CompletableFuture<String> hashPassword() {
+        byte[] bytes = new byte[PASSWORD_BYTES];
+        secureRandom.nextBytes(bytes);
+        String password = Base64.getEncoder().encodeToString(bytes);
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                ErrorMessage.PASSWORD_HASHING_UNAVAILABLE, e));
+        }
+    }
+
+    private EmployeeImportRecord toRecord(EmployeeSignUpDto dto, String password, Long languageId) {
+        LocalDateTime now = LocalDateTime.now();
+        return EmployeeImportRecord.builder()
+            .name(dto.getName())
+            .email(dto.getEmail())
+            .uuid(dto.getUuid())
+            .role(Role.ROLE_UBS_EMPLOYEE)
+            .userStatus(UserStatus.CREATED)
+            .emailNotification(EmailNotification.DISABLED)
+            .rating(AppConstant.DEFAULT_RATING)
+            .languageId(languageId)
+            .refreshTokenKey(jwtTool.generateTokenKey())
+            .registeredAt(now)
+            .password(password)
+            .restoreToken(jwtTool.generateTokenKeyWithCodedDate())
+            .restoreTokenExpiryDate(now.plusHours(expirationTime))
+            .build();
+    }
+
+    private static void fail(EmployeeImportResultDto result, Row row, String message) {
+        fail(result, row.line(), row.dto().getEmail(), message);
+    }
+
+    private static void fail(EmployeeImportResultDto result, long line, String email, String message) {
+        result.setFailed(result.getFailed() + 1);
+        result.getErrors().add(new EmployeeImportErrorDto(line, email, message));
+    }
+
+    private static boolean isHeader(String line) {
+        return splitLine(line).get(0).equalsIgnoreCase("name");
+    }
+
+    /**
+     * Splits a line of a CSV file. Values may be quoted, and a quote inside a
+     * quoted value is doubled. Line breaks inside values are not supported.
+     */
+    static List<String> splitLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append(c);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    private record Row(long line, EmployeeSignUpDto dto) {
+    }
+}
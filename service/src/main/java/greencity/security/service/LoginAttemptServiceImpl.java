@@ -0,0 +1,183 @@
+package greencity.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import greencity.constant.ErrorMessage;
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@inheritDoc}
+ */
+@Slf4j
+@Service
+public class LoginAttemptServiceImpl implements LoginAttemptService {
+    private static final String UNKNOWN_ADDRESS = "unknown";
+    private final RateLimiter emailLimiter;
+    private final RateLimiter ipLimiter;
+    private final Clock clock;
+    private final Counter emailRejectedCounter;
+    private final Counter ipRejectedCounter;
+
+    /**
+     * Constructor.
+     */
+    @Autowired
+    public LoginAttemptServiceImpl(@Value("${greencity.login-throttle.email.capacity:5}") int emailCapacity,
+        @Value("${greencity.login-throttle.email.period-seconds:300}") long emailPeriod,
+        @Value("${greencity.login-throttle.ip.capacity:50}") int ipCapacity,
+        @Value("${greencity.login-throttle.ip.period-seconds:60}") long ipPeriod,
+        @Value("${greencity.login-throttle.max-keys:100000}") long maxKeys,
+        MeterRegistry meterRegistry) {
+        this(emailCapacity, Duration.ofSeconds(emailPeriod), ipCapacity, Duration.ofSeconds(ipPeriod), maxKeys,
+            Clock.systemUTC(), meterRegistry);
+    }
+
+    LoginAttemptServiceImpl(int emailCapacity, Duration emailPeriod, int ipCapacity, Duration ipPeriod,
+        long maxKeys, Clock clock, MeterRegistry meterRegistry) {
+        this.emailLimiter = new RateLimiter(emailCapacity, emailPeriod, maxKeys);
+        this.ipLimiter = new RateLimiter(ipCapacity, ipPeriod, maxKeys);
+        this.clock = clock;
+        this.emailRejectedCounter = rejectedCounter("email", meterRegistry);
+        this.ipRejectedCounter = rejectedCounter("ip", meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void checkAttempt(String email, String ipAddress) {
+        long now = clock.millis();
+        String ipKey = ipAddress == null ? UNKNOWN_ADDRESS : ipAddress;
+        String emailKey = normalize(email);
+        checkWait(ipLimiter.waitMillis(ipKey, now), ipAddress, emailLimiter.waitMillis(emailKey, now), email);
+        long ipWaitMillis = ipLimiter.tryAcquire(ipKey, now);
+        long emailWaitMillis = ipWaitMillis > 0 ? 0 : emailLimiter.tryAcquire(emailKey, now);
+        if (emailWaitMillis > 0) {
+            ipLimiter.refund(ipKey);
+        }
+        checkWait(ipWaitMillis, ipAddress, emailWaitMillis, email);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void loginSucceeded(String email) {
+        emailLimiter.reset(normalize(email));
+    }
+
+    /**
+     * Rejects the attempt if either bucket is empty. Both buckets are checked
+     * before a token is taken from either of them, so an attempt rejected for its
+     * email does not use up the budget of its address, and the other way round.
+     */
+    private void checkWait(long ipWaitMillis, String ipAddress, long emailWaitMillis, String email) {
+        if (ipWaitMillis > 0) {
+            ipRejectedCounter.increment();
+            log.debug("Sign in attempts from {} are throttled", ipAddress);
+            throw reject(ipWaitMillis);
+        }
+        if (emailWaitMillis > 0) {
+            emailRejectedCounter.increment();
+            log.debug("Sign in attempts for {} are throttled", email);
+            throw reject(emailWaitMillis);
+        }
+    }
+
+    private static TooManyLoginAttemptsException reject(long waitMillis) {
+        long retryAfterSeconds = TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999);
+        return new TooManyLoginAttemptsException(ErrorMessage.TOO_MANY_LOGIN_ATTEMPTS + retryAfterSeconds,
+            retryAfterSeconds);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter rejectedCounter(String key, MeterRegistry meterRegistry) {
+        return Counter.builder("greencity.login.throttled")
+            .description("Sign in attempts rejected before the user lookup")
+            .tag("key", key)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Token bucket in the form of the generic cell rate algorithm. Each key keeps
+     * only the theoretical arrival time of the next attempt, which is updated with
+     * compare-and-set, so no locks are taken on the sign in path. A key that was
+     * idle for the whole period has a full bucket again, so evicting it loses
+     * nothing.
+     */
+    private static final class RateLimiter {
+        private final long intervalMillis;
+        private final long toleranceMillis;
+        private final Cache<String, AtomicLong> arrivals;
+
+        private RateLimiter(int capacity, Duration period, long maxKeys) {
+            this.intervalMillis = Math.max(1L, period.toMillis() / capacity);
+            this.toleranceMillis = intervalMillis * (capacity - 1);
+            this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(period)
+                .build();
+        }
+
+        /**
+         * Returns how long the key has to wait for a token, without taking it.
+         *
+         * @return {@code 0} if a token is available, otherwise milliseconds until the
+         *         next token is available.
+         */
+        private long waitMillis(String key, long now) {
+            AtomicLong arrival = arrivals.getIfPresent(key);
+            return arrival == null ? 0 : Math.max(0, Math.max(arrival.get(), now) - toleranceMillis - now);
+        }
+
+        /**
+         * Takes a token from the bucket of the key.
+         *
+         * @return {@code 0} if the token is taken, otherwise milliseconds until the
+         *         next token is available.
+         */
+        private long tryAcquire(String key, long now) {
+            AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long current = arrival.get();
+                long start = Math.max(current, now);
+                long waitMillis = start - toleranceMillis - now;
+                if (waitMillis > 0) {
+                    return waitMillis;
+                }
+                if (arrival.compareAndSet(current, start + intervalMillis)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Puts back a token taken by {@link #tryAcquire}, for an attempt that was
+         * rejected by the other bucket in between the check and the take.
+         */
+        private void refund(String key) {
+            AtomicLong arrival = arrivals.getIfPresent(key);
+            if (arrival != null) {
+                arrival.addAndGet(-intervalMillis);
+            }
+        }
+
+        private void reset(String key) {
+            arrivals.invalidate(key);
+        }
+    }
+}
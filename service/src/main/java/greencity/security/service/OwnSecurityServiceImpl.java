@@ -1,14 +1,18 @@
 package greencity.security.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import greencity.constant.AppConstant;
 import greencity.constant.ErrorMessage;
 import greencity.dto.user.UserAdminRegistrationDto;
+import greencity.dto.user.UserAuthDto;
 import greencity.dto.user.UserManagementDto;
 import greencity.dto.user.UserVO;
 import greencity.entity.*;
 import greencity.enums.EmailNotification;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
+import greencity.events.UserChangedEvent;
 import greencity.exception.exceptions.*;
 import greencity.repository.UserRepo;
 import greencity.security.dto.AccessRefreshTokensDto;
@@ -26,17 +30,25 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -56,6 +68,8 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
     private static final String VALID_PW_CHARS =
         "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*()-_=+{}[]|:;<>?,./";
     private final EmailService emailService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Cache<RotationKey, CompletableFuture<AccessRefreshTokensDto>> rotations;
 
     /**
      * Constructor.
@@ -69,7 +83,9 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         RestorePasswordEmailRepo restorePasswordEmailRepo,
         ModelMapper modelMapper,
         UserRepo userRepo,
-        EmailService emailService) {
+        EmailService emailService,
+        ApplicationEventPublisher applicationEventPublisher,
+        @Value("${greencity.refresh-token.rotation-window-ms:2000}") long rotationWindow) {
         this.ownSecurityRepo = ownSecurityRepo;
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
@@ -79,6 +95,10 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         this.modelMapper = modelMapper;
         this.userRepo = userRepo;
         this.emailService = emailService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.rotations = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(rotationWindow))
+            .build();
     }
 
     /**
@@ -94,6 +114,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         try {
             User savedUser = userRepo.save(user);
             user.setId(savedUser.getId());
+            publishUserChanged(savedUser.getId(), user.getEmail());
             emailService.sendVerificationEmail(savedUser.getId(), savedUser.getName(), savedUser.getEmail(),
                 savedUser.getVerifyEmail().getToken(), language, dto.isUbs());
         } catch (DataIntegrityViolationException e) {
@@ -170,6 +191,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         try {
             User savedUser = userRepo.save(employee);
             employee.setId(savedUser.getId());
+            publishUserChanged(savedUser.getId(), employee.getEmail());
             emailService.sendRestoreEmail(savedUser.getId(), savedUser.getFirstName(), employee.getEmail(),
                 savedUser.getRestorePasswordEmail().getToken(), language, dto.isUbs());
         } catch (DataIntegrityViolationException e) {
@@ -189,14 +211,12 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
      */
     @Override
     public SuccessSignInDto signIn(final OwnSignInDto dto) {
-        UserVO user = userService.findByEmail(dto.getEmail());
-        if (user == null) {
-            throw new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + dto.getEmail());
-        }
+        UserAuthDto user = userRepo.findAuthByEmail(dto.getEmail())
+            .orElseThrow(() -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + dto.getEmail()));
         if (!isPasswordCorrect(dto, user)) {
             throw new WrongPasswordException(ErrorMessage.BAD_PASSWORD);
         }
-        if (user.getVerifyEmail() != null) {
+        if (user.isVerifyEmailPending()) {
             throw new EmailNotVerified("You should verify the email first, check your email box!");
         }
         if (user.getUserStatus() == UserStatus.DEACTIVATED) {
@@ -208,22 +228,39 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         if (user.getUserStatus() == UserStatus.CREATED) {
             throw new BadUserStatusException(ErrorMessage.USER_CREATED);
         }
-        String accessToken = jwtTool.createAccessToken(user.getEmail(), user.getRole());
-        String refreshToken = jwtTool.createRefreshToken(user);
+        rehashPasswordIfNeeded(dto.getPassword(), user);
+        String accessToken = jwtTool.createAccessToken(user);
+        String refreshToken = jwtTool.createRefreshToken(user.getEmail(), user.getRole(), user.getRefreshTokenKey());
         return new SuccessSignInDto(user.getId(), accessToken, refreshToken, user.getName(), true);
     }
 
-    private boolean isPasswordCorrect(OwnSignInDto signInDto, UserVO user) {
-        if (user.getOwnSecurity() == null) {
+    private boolean isPasswordCorrect(OwnSignInDto signInDto, UserAuthDto user) {
+        if (user.getPassword() == null) {
             return false;
         }
-        return passwordEncoder.matches(signInDto.getPassword(), user.getOwnSecurity().getPassword());
+        return passwordEncoder.matches(signInDto.getPassword(), user.getPassword());
+    }
+
+    /**
+     * Stores the password with the current encoder settings when the saved hash was
+     * made with a weaker work factor. The raw password is known only at sign in, so
+     * this is the only moment the hash can be upgraded.
+     */
+    private void rehashPasswordIfNeeded(String rawPassword, UserAuthDto user) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            ownSecurityRepo.updatePassword(passwordEncoder.encode(rawPassword), user.getId());
+            publishUserChanged(user.getId(), user.getEmail());
+        } catch (PasswordHashingUnavailableException e) {
+            log.warn("Password of user {} was not rehashed, hashing executor is saturated", user.getId());
+        }
     }
 
     /**
      * {@inheritDoc}
      */
-    @Transactional
     @Override
     public AccessRefreshTokensDto updateAccessTokens(String refreshToken) {
         String email;
@@ -232,21 +269,54 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
         } catch (ExpiredJwtException e) {
             throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
         }
-        UserVO user = userService.findByEmail(email);
-        checkUserStatus(user);
+        UserAuthDto user = userRepo.findAuthByEmail(email)
+            .orElseThrow(() -> new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID));
+        checkUserStatus(user.getUserStatus());
+        RotationKey rotationKey = new RotationKey(user.getId(), sha256(refreshToken));
+        CompletableFuture<AccessRefreshTokensDto> rotation = new CompletableFuture<>();
+        CompletableFuture<AccessRefreshTokensDto> inFlight = rotations.asMap().putIfAbsent(rotationKey, rotation);
+        if (inFlight != null) {
+            return awaitRotation(inFlight);
+        }
+        try {
+            if (!jwtTool.isTokenValid(refreshToken, user.getRefreshTokenKey())) {
+                throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
+            }
+            rotation.complete(rotateRefreshTokenKey(user));
+        } catch (RuntimeException e) {
+            rotations.invalidate(rotationKey);
+            rotation.completeExceptionally(e);
+        }
+        return awaitRotation(rotation);
+    }
+
+    /**
+     * Rotates the key with a conditional update, so the row is written only by the
+     * request which still sees the key the token was signed with.
+     */
+    private AccessRefreshTokensDto rotateRefreshTokenKey(UserAuthDto user) {
         String newRefreshTokenKey = jwtTool.generateTokenKey();
-        userService.updateUserRefreshToken(newRefreshTokenKey, user.getId());
-        if (jwtTool.isTokenValid(refreshToken, user.getRefreshTokenKey())) {
-            user.setRefreshTokenKey(newRefreshTokenKey);
-            return new AccessRefreshTokensDto(
-                jwtTool.createAccessToken(user.getEmail(), user.getRole()),
-                jwtTool.createRefreshToken(user));
+        if (userRepo.rotateRefreshTokenKey(user.getId(), user.getRefreshTokenKey(), newRefreshTokenKey) == 0) {
+            throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
+        }
+        publishUserChanged(user.getId(), user.getEmail());
+        return new AccessRefreshTokensDto(
+            jwtTool.createAccessToken(user),
+            jwtTool.createRefreshToken(user.getEmail(), user.getRole(), newRefreshTokenKey));
+    }
+
+    private static AccessRefreshTokensDto awaitRotation(CompletableFuture<AccessRefreshTokensDto> rotation) {
+        try {
+            return rotation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
         }
-        throw new BadRefreshTokenException(ErrorMessage.REFRESH_TOKEN_NOT_VALID);
     }
 
-    private void checkUserStatus(UserVO user) {
-        UserStatus status = user.getUserStatus();
+    private void checkUserStatus(UserStatus status) {
         if (status == UserStatus.BLOCKED) {
             throw new UserBlockedException(ErrorMessage.USER_DEACTIVATED);
         } else if (status == UserStatus.DEACTIVATED) {
@@ -263,6 +333,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
     public void updatePassword(String pass, Long id) {
         String password = passwordEncoder.encode(pass);
         ownSecurityRepo.updatePassword(password, id);
+        publishUserChanged(id, null);
     }
 
     /**
@@ -370,6 +441,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
                 .build();
         restorePasswordEmailRepo.save(restorePasswordEmail);
         user = userRepo.save(user);
+        publishUserChanged(user.getId(), user.getEmail());
         emailService.sendApprovalEmail(user.getId(), user.getName(), user.getEmail(), token);
         return user;
     }
@@ -412,6 +484,7 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
             .user(user)
             .build());
         userRepo.save(user);
+        publishUserChanged(user.getId(), email);
     }
 
     @Override
@@ -431,7 +504,30 @@ public class OwnSecurityServiceImpl implements OwnSecurityService {
 
         user.getOwnSecurity().setPassword(passwordEncoder.encode(dto.getNewPassword()));
         userRepo.save(user);
+        publishUserChanged(user.getId(), email);
+    }
 
+    private void publishUserChanged(Long id, String email) {
+        applicationEventPublisher.publishEvent(new UserChangedEvent(this, id, email));
+    }
 
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Refresh requests of the same user presenting the same refresh token within
+     * the rotation window share one rotation, so several tabs refreshing at once
+     * get the same tokens instead of invalidating each other. The window is looked
+     * up before the token is checked against the current key, because once the
+     * first rotation commits the key the duplicates were signed with is gone. Only
+     * a hash of the token is kept, and a failed rotation leaves the window at once.
+     */
+    private record RotationKey(Long userId, String refreshTokenHash) {
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import greencity.entity.OwnSecurity;
 import greencity.entity.RestorePasswordEmail;
 import greencity.entity.User;
 import greencity.enums.UserStatus;
+import greencity.events.UserChangedEvent;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
 import greencity.exception.exceptions.UserActivationEmailTokenExpiredException;
@@ -15,7 +16,11 @@ import greencity.security.events.UpdatePasswordEvent;
 import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
 import greencity.security.repository.RestorePasswordEmailRepo;
+import greencity.service.ChunkedPurgeExecutor;
 import greencity.service.EmailService;
+import greencity.service.PurgeRunStats;
+import greencity.service.ScheduledJobLock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +41,7 @@ import jakarta.persistence.NoResultException;
 @Service
 @Slf4j
 public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
+    private static final String EXPIRED_TOKENS_JOB = "expired-password-reset-tokens";
     private final OwnSecurityRepo ownSecurityRepo;
     private final PasswordEncoder passwordEncoder;
     private final UserRepo userRepo;
@@ -43,6 +49,8 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
     private final ApplicationEventPublisher applicationEventPublisher;
     private final JwtTool jwtTool;
     private final EmailService emailService;
+    private final ChunkedPurgeExecutor purgeExecutor;
+    private final ScheduledJobLock scheduledJobLock;
     @Value("${verifyEmailTimeHour}")
     private Integer tokenExpirationTimeInHours;
 
@@ -57,6 +65,10 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
      *                                  publishing events, such as email sending or
      *                                  password update
      * @param jwtTool                   {@link JwtTool} - Used for recovery token
+     * @param purgeExecutor             {@link ChunkedPurgeExecutor} - Used for
+     *                                  deleting expired tokens in batches
+     * @param scheduledJobLock          {@link ScheduledJobLock} - Used for running
+     *                                  the cleanup on one node only
      */
     public PasswordRecoveryServiceImpl(
         OwnSecurityRepo ownSecurityRepo, PasswordEncoder passwordEncoder,
@@ -64,7 +76,9 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
         UserRepo userRepo,
         ApplicationEventPublisher applicationEventPublisher,
         EmailService emailService,
-        JwtTool jwtTool) {
+        JwtTool jwtTool,
+        ChunkedPurgeExecutor purgeExecutor,
+        ScheduledJobLock scheduledJobLock) {
         this.ownSecurityRepo = ownSecurityRepo;
         this.passwordEncoder = passwordEncoder;
         this.restorePasswordEmailRepo = restorePasswordEmailRepo;
@@ -72,6 +86,8 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
         this.applicationEventPublisher = applicationEventPublisher;
         this.emailService = emailService;
         this.jwtTool = jwtTool;
+        this.purgeExecutor = purgeExecutor;
+        this.scheduledJobLock = scheduledJobLock;
     }
 
     /**
@@ -122,6 +138,7 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
         if (userStatus == UserStatus.CREATED) {
             restorePasswordEmail.getUser().setUserStatus(UserStatus.ACTIVATED);
         }
+        applicationEventPublisher.publishEvent(new UserChangedEvent(this, user.getId(), user.getEmail()));
     }
 
     /**
@@ -174,12 +191,17 @@ public class PasswordRecoveryServiceImpl implements PasswordRecoveryService {
      * Removes all the expired tokens from the database each period of time.
      * Interval is set by @Scheduled annotation. Access modifier is set to
      * package-private since this method should be invoked by Spring Framework only.
+     * Only the node that takes the lease of the job runs it within an interval.
      */
     // every 86400000 milliseconds == every 24 hours
     @Scheduled(fixedRate = 86400000)
     void deleteAllExpiredPasswordResetTokens() {
-        int rows = restorePasswordEmailRepo.deleteAllExpiredPasswordResetTokens();
-        log.info(rows + " password reset tokens were deleted.");
+        scheduledJobLock.runLocked(EXPIRED_TOKENS_JOB, Duration.ofHours(1), Duration.ofHours(23), () -> {
+            PurgeRunStats stats = purgeExecutor.purge(EXPIRED_TOKENS_JOB,
+                restorePasswordEmailRepo::findExpiredPasswordResetTokenIds,
+                restorePasswordEmailRepo::deleteExpiredPasswordResetTokensByIds);
+            log.info(stats.rows() + " password reset tokens were deleted.");
+        });
     }
 
     private void updatePassword(String pass, Long id) {
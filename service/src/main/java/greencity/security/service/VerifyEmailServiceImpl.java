@@ -5,16 +5,23 @@ import greencity.dto.ubs.UbsProfileCreationDto;
 import greencity.entity.User;
 import greencity.entity.VerifyEmail;
 import greencity.enums.UserStatus;
+import greencity.events.UserChangedEvent;
 import greencity.exception.exceptions.BadVerifyEmailTokenException;
 import greencity.exception.exceptions.UserActivationEmailTokenExpiredException;
 import greencity.exception.exceptions.WrongIdException;
+import greencity.logging.LogRedaction;
 import greencity.repository.UserRepo;
 import greencity.security.repository.VerifyEmailRepo;
+import greencity.service.ChunkedPurgeExecutor;
+import greencity.service.ScheduledJobLock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 /**
@@ -24,9 +31,13 @@ import java.time.LocalDateTime;
 @Slf4j
 @RequiredArgsConstructor
 public class VerifyEmailServiceImpl implements VerifyEmailService {
+    private static final String NOT_VERIFIED_USERS_JOB = "not-verified-users";
     private final VerifyEmailRepo verifyEmailRepo;
     private final UserRepo userRepo;
     private final ModelMapper modelMapper;
+    private final ChunkedPurgeExecutor purgeExecutor;
+    private final ScheduledJobLock scheduledJobLock;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * {@inheritDoc}
@@ -43,11 +54,13 @@ public class VerifyEmailServiceImpl implements VerifyEmailService {
             int rows = verifyEmailRepo.deleteVerifyEmailByTokenAndUserId(userId, token);
             user.setUserStatus(UserStatus.ACTIVATED);
             userRepo.save(user);
-            log.info("User has successfully verify the email by token {}. Records deleted {}.", token, rows);
+            applicationEventPublisher.publishEvent(new UserChangedEvent(this, userId, user.getEmail()));
+            log.info("User has successfully verify the email by token {}. Records deleted {}.",
+                LogRedaction.token(token), rows);
             UbsProfileCreationDto ubsProfile = modelMapper.map(user, UbsProfileCreationDto.class);
             return true;
         } else {
-            log.info("User didn't verify his/her email on time with token {}.", token);
+            log.info("User didn't verify his/her email on time with token {}.", LogRedaction.token(token));
             throw new UserActivationEmailTokenExpiredException(ErrorMessage.EMAIL_TOKEN_EXPIRED);
         }
     }
@@ -59,4 +72,30 @@ public class VerifyEmailServiceImpl implements VerifyEmailService {
     public boolean isNotExpired(LocalDateTime emailExpiredDate) {
         return LocalDateTime.now().isBefore(emailExpiredDate);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteAllUsersThatDidNotVerifyEmail() {
+        int rows = purgeExecutor.purge(NOT_VERIFIED_USERS_JOB, verifyEmailRepo::findUserIdsWithExpiredVerifyEmail,
+            verifyEmailRepo::deleteUsersThatDidNotVerifyEmailByIds).rows();
+        if (rows > 0) {
+            applicationEventPublisher.publishEvent(UserChangedEvent.allUsers(this));
+        }
+        return rows;
+    }
+
+    /**
+     * Removes users that did not verify their emails on time. It deletes accounts,
+     * so it is off unless {@code greencity.purge.not-verified-users.cron} is set to
+     * a cron expression. Access modifier is set to package-private since this
+     * method should be invoked by Spring Framework only. Only the node that takes
+     * the lease of the job runs it within an interval.
+     */
+    @Scheduled(cron = "${greencity.purge.not-verified-users.cron:-}")
+    void deleteNotVerifiedUsers() {
+        scheduledJobLock.runLocked(NOT_VERIFIED_USERS_JOB, Duration.ofMinutes(30), Duration.ofMinutes(50),
+            this::deleteAllUsersThatDidNotVerifyEmail);
+    }
 }
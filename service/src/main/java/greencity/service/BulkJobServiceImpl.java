@@ -0,0 +1,300 @@
+package greencity.service;
+
+import greencity.constant.AppConstant;
+import greencity.constant.ErrorMessage;
+import greencity.dto.user.BulkJobDto;
+import greencity.dto.user.UserActivationDto;
+import greencity.dto.user.UserDeactivationReasonDto;
+import greencity.dto.user.UserRecipientDto;
+import greencity.entity.BulkJob;
+import greencity.enums.BulkJobStatus;
+import greencity.enums.BulkJobType;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.events.UserChangedEvent;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.NotFoundException;
+import greencity.repository.BulkJobRepo;
+import greencity.repository.UserRepo;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@inheritDoc}
+ */
+@Slf4j
+@Service
+public class BulkJobServiceImpl implements BulkJobService {
+    private static final int ERROR_MESSAGE_LENGTH = 255;
+    private static final String STALE_BULK_JOBS_JOB = "stale-bulk-jobs";
+    private final BulkJobRepo bulkJobRepo;
+    private final UserRepo userRepo;
+    private final EmailService emailService;
+    private final Executor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final int chunkSize;
+    private final int maxIds;
+    private final QueuedEmailSender emailSender;
+    private final ScheduledJobLock scheduledJobLock;
+    private final long staleAfterMillis;
+    private final Set<Long> queuedJobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     */
+    @Autowired
+    public BulkJobServiceImpl(BulkJobRepo bulkJobRepo,
+        UserRepo userRepo,
+        EmailService emailService,
+        @Qualifier("bulkJobExecutor") Executor executor,
+        PlatformTransactionManager transactionManager,
+        ModelMapper modelMapper,
+        ApplicationEventPublisher applicationEventPublisher,
+        ScheduledJobLock scheduledJobLock,
+        @Value("${greencity.bulk-job.chunk-size:500}") int chunkSize,
+        @Value("${greencity.bulk-job.max-ids:100000}") int maxIds,
+        @Value("${greencity.bulk-job.email-retry-ms:200}") long emailRetryMillis,
+        @Value("${greencity.bulk-job.stale-after-ms:1800000}") long staleAfterMillis) {
+        this.bulkJobRepo = bulkJobRepo;
+        this.userRepo = userRepo;
+        this.emailService = emailService;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.modelMapper = modelMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+        this.emailSender = new QueuedEmailSender(emailRetryMillis);
+        this.scheduledJobLock = scheduledJobLock;
+        this.staleAfterMillis = staleAfterMillis;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkJobDto submitDeactivation(List<Long> ids, String email) {
+        return submit(BulkJobType.DEACTIVATE, ids, null, email);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkJobDto submitActivation(List<Long> ids, String email) {
+        return submit(BulkJobType.ACTIVATE, ids, null, email);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkJobDto submitRoleChange(List<Long> ids, Role role, String email) {
+        return submit(BulkJobType.CHANGE_ROLE, ids, role, email);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkJobDto getJob(Long id) {
+        return bulkJobRepo.findById(id)
+            .map(job -> modelMapper.map(job, BulkJobDto.class))
+            .orElseThrow(() -> new NotFoundException(ErrorMessage.BULK_JOB_NOT_FOUND_BY_ID + id));
+    }
+
+    private BulkJobDto submit(BulkJobType type, List<Long> ids, Role role, String email) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException(ErrorMessage.BULK_JOB_IS_EMPTY);
+        }
+        if (ids.size() > maxIds) {
+            throw new BadRequestException(ErrorMessage.BULK_JOB_TOO_LARGE + maxIds);
+        }
+        Long[] userIds = ids.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+        BulkJob job = bulkJobRepo.save(BulkJob.builder()
+            .type(type)
+            .status(BulkJobStatus.PENDING)
+            .role(role)
+            .userIds(userIds)
+            .createdBy(email)
+            .total(userIds.length)
+            .createdAt(LocalDateTime.now())
+            .build());
+        if (!enqueue(job.getId())) {
+            log.warn("Bulk job {} is rejected, the queue is full", job.getId());
+            job.setStatus(BulkJobStatus.FAILED);
+            job.setErrorMessage(ErrorMessage.BULK_JOB_QUEUE_IS_FULL);
+            job.setFinishedAt(LocalDateTime.now());
+            bulkJobRepo.finish(job.getId(), job.getStatus(), job.getErrorMessage(), job.getFinishedAt());
+        }
+        return modelMapper.map(job, BulkJobDto.class);
+    }
+
+    /**
+     * Queues a job on this node unless it is queued here already.
+     *
+     * @param id id of the job.
+     * @return {@code false} if the queue is full, otherwise {@code true}.
+     */
+    private boolean enqueue(Long id) {
+        if (!queuedJobs.add(id)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                queuedJobs.remove(id);
+                run(id);
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            queuedJobs.remove(id);
+            return false;
+        }
+    }
+
+    /**
+     * Processes a job chunk by chunk. Each chunk is changed in its own transaction
+     * and the progress is saved after it, so a job that was stopped can be
+     * continued from the first unprocessed id.
+     *
+     * @param id id of the job.
+     */
+    void run(Long id) {
+        if (bulkJobRepo.claim(id, BulkJobStatus.PENDING, BulkJobStatus.RUNNING, LocalDateTime.now()) == 0) {
+            log.info("Bulk job {} is skipped, it is no longer pending", id);
+            return;
+        }
+        BulkJob job = bulkJobRepo.findById(id)
+            .orElseThrow(() -> new NotFoundException(ErrorMessage.BULK_JOB_NOT_FOUND_BY_ID + id));
+        List<Long> userIds = Arrays.asList(job.getUserIds());
+        try {
+            for (int from = job.getProcessed(); from < userIds.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, userIds.size());
+                List<Long> chunk = userIds.subList(from, to);
+                List<UserRecipientDto> changed = transactionTemplate.execute(status -> changeChunk(job, chunk));
+                job.setProcessed(to);
+                job.setUpdated(job.getUpdated() + changed.size());
+                notifyUsers(job, changed);
+                if (bulkJobRepo.updateProgress(id, job.getProcessed(), job.getUpdated(), job.getNotified(),
+                    job.getNotificationsFailed(), LocalDateTime.now()) == 0) {
+                    log.warn("Bulk job {} was finished elsewhere after {} of {} users", id, job.getProcessed(),
+                        job.getTotal());
+                    return;
+                }
+            }
+            bulkJobRepo.finish(id, BulkJobStatus.COMPLETED, null, LocalDateTime.now());
+            log.info("Bulk job {} changed {} of {} users", id, job.getUpdated(), job.getTotal());
+        } catch (RuntimeException e) {
+            log.error("Bulk job {} failed after {} of {} users", id, job.getProcessed(), job.getTotal(), e);
+            bulkJobRepo.finish(id, BulkJobStatus.FAILED, truncate(e.getMessage()), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Fails the running jobs that have not saved progress for
+     * {@code greencity.bulk-job.stale-after-ms}, such as jobs whose node stopped. A
+     * job that is still running on a live node saves its progress after every chunk
+     * and is left alone. Jobs pending for as long may still wait in the queue of a
+     * live node, so they are queued again on this node instead, and the node which
+     * claims a job first runs it. Access modifier is set to package-private since
+     * this method should be invoked by Spring Framework only. Only the node that
+     * takes the lease of the job runs it within an interval.
+     */
+    @Scheduled(fixedRate = 300000)
+    void failStaleJobs() {
+        scheduledJobLock.runLocked(STALE_BULK_JOBS_JOB, Duration.ofMinutes(2), Duration.ofMinutes(4), () -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime staleBefore = now.minus(Duration.ofMillis(staleAfterMillis));
+            int failed = bulkJobRepo.finishStale(BulkJobStatus.RUNNING, staleBefore, BulkJobStatus.FAILED,
+                ErrorMessage.BULK_JOB_IS_STALE, now);
+            if (failed > 0) {
+                log.warn("{} stale bulk jobs are failed", failed);
+            }
+            long requeued = bulkJobRepo.findIdsByStatusCreatedBefore(BulkJobStatus.PENDING, staleBefore).stream()
+                .filter(this::enqueue)
+                .count();
+            if (requeued > 0) {
+                log.warn("{} bulk jobs pending since {} are queued on this node", requeued, staleBefore);
+            }
+        });
+    }
+
+    private List<UserRecipientDto> changeChunk(BulkJob job, List<Long> chunk) {
+        List<UserRecipientDto> users = userRepo.findRecipientsByIds(chunk).stream()
+            .filter(user -> !job.getCreatedBy().equals(user.getEmail()))
+            .filter(user -> needsChange(job, user))
+            .toList();
+        if (users.isEmpty()) {
+            return users;
+        }
+        List<Long> ids = users.stream().map(UserRecipientDto::getId).toList();
+        switch (job.getType()) {
+            case DEACTIVATE -> userRepo.updateStatusByIds(ids, UserStatus.DEACTIVATED);
+            case ACTIVATE -> userRepo.updateStatusByIds(ids, UserStatus.ACTIVATED);
+            case CHANGE_ROLE -> userRepo.updateRoleByIds(ids, job.getRole());
+        }
+        users.forEach(user -> applicationEventPublisher.publishEvent(
+            new UserChangedEvent(this, user.getId(), user.getEmail())));
+        return users;
+    }
+
+    private static boolean needsChange(BulkJob job, UserRecipientDto user) {
+        return switch (job.getType()) {
+            case DEACTIVATE -> user.getUserStatus() != UserStatus.DEACTIVATED;
+            case ACTIVATE -> user.getUserStatus() != UserStatus.ACTIVATED;
+            case CHANGE_ROLE -> user.getRole() != job.getRole();
+        };
+    }
+
+    private void notifyUsers(BulkJob job, List<UserRecipientDto> users) {
+        if (job.getType() == BulkJobType.CHANGE_ROLE) {
+            return;
+        }
+        for (UserRecipientDto user : users) {
+            String lang = user.getLanguageCode() == null ? AppConstant.DEFAULT_LANGUAGE_CODE : user.getLanguageCode();
+            Runnable send = job.getType() == BulkJobType.DEACTIVATE
+                ? () -> emailService.sendReasonOfDeactivation(UserDeactivationReasonDto.builder()
+                    .email(user.getEmail())
+                    .name(user.getName())
+                    .deactivationReasons(List.of())
+                    .lang(lang)
+                    .build())
+                : () -> emailService.sendMessageOfActivation(UserActivationDto.builder()
+                    .email(user.getEmail())
+                    .name(user.getName())
+                    .lang(lang)
+                    .build());
+            if (emailSender.send(send)) {
+                job.setNotified(job.getNotified() + 1);
+            } else {
+                job.setNotificationsFailed(job.getNotificationsFailed() + 1);
+            }
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= ERROR_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, ERROR_MESSAGE_LENGTH);
+    }
+}
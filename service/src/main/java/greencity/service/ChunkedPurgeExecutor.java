@@ -0,0 +1,165 @@
+package greencity.service;
+
+import greencity.repository.PurgeCheckpointRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes rows in id-ordered batches instead of one unbounded DELETE. Every
+ * batch is a short transaction of its own, so row locks are held and WAL is
+ * written only for a batch at a time, and the executor pauses between batches
+ * to let replication and other writers catch up.
+ *
+ * <p>
+ * A run stops early when it exceeds the run budget or is interrupted. The last
+ * deleted id is saved per job in the {@code purge_checkpoints} table, so the
+ * next run of the job resumes after it, also after a restart or on another
+ * node.
+ */
+@Slf4j
+@Component
+public class ChunkedPurgeExecutor {
+    private static final String METRIC_NAME = "greencity.purge";
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long maxRunMillis;
+    private final Clock clock;
+    private final PurgeCheckpointRepo checkpointRepo;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PurgeRunStats> lastRuns = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     */
+    @Autowired
+    public ChunkedPurgeExecutor(@Value("${greencity.purge.batch-size:1000}") int batchSize,
+        @Value("${greencity.purge.pause-ms:100}") long pauseMillis,
+        @Value("${greencity.purge.max-run-ms:300000}") long maxRunMillis,
+        PurgeCheckpointRepo checkpointRepo, MeterRegistry meterRegistry) {
+        this(batchSize, Duration.ofMillis(pauseMillis), Duration.ofMillis(maxRunMillis), Clock.systemUTC(),
+            checkpointRepo, meterRegistry);
+    }
+
+    ChunkedPurgeExecutor(int batchSize, Duration pause, Duration maxRun, Clock clock,
+        PurgeCheckpointRepo checkpointRepo, MeterRegistry meterRegistry) {
+        this.batchSize = batchSize;
+        this.pauseMillis = pause.toMillis();
+        this.maxRunMillis = maxRun.toMillis();
+        this.clock = clock;
+        this.checkpointRepo = checkpointRepo;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a purge job until no more rows match or the run budget is exceeded.
+     *
+     * @param job     name of the job, used for the checkpoint and metrics.
+     * @param finder  returns ids of rows to delete in ascending order.
+     * @param deleter deletes the rows with given ids that still match the purge
+     *                condition and returns the number of deleted rows.
+     * @return {@link PurgeRunStats} of the run.
+     */
+    public PurgeRunStats purge(String job, IdBatchFinder finder, ToIntFunction<List<Long>> deleter) {
+        long start = clock.millis();
+        long afterId = checkpointRepo.findLastId(job).orElse(0L);
+        int rows = 0;
+        int batches = 0;
+        boolean completed = false;
+        PurgeRunStats stats;
+        try {
+            while (true) {
+                List<Long> ids = finder.findIds(afterId, batchSize);
+                if (ids.isEmpty()) {
+                    completed = true;
+                    break;
+                }
+                rows += deleter.applyAsInt(ids);
+                batches++;
+                afterId = ids.getLast();
+                checkpointRepo.saveLastId(job, afterId);
+                if (ids.size() < batchSize) {
+                    completed = true;
+                    break;
+                }
+                if (clock.millis() - start >= maxRunMillis || !pause()) {
+                    break;
+                }
+            }
+        } finally {
+            if (completed && afterId > 0) {
+                checkpointRepo.deleteByJob(job);
+            }
+            stats = new PurgeRunStats(job, rows, batches, afterId, Duration.ofMillis(clock.millis() - start),
+                completed);
+            record(stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns statistics of the last run of a job.
+     *
+     * @param job name of the job.
+     * @return {@link Optional} of {@link PurgeRunStats}, empty if the job has not
+     *         run yet.
+     */
+    public Optional<PurgeRunStats> getLastRun(String job) {
+        return Optional.ofNullable(lastRuns.get(job));
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void record(PurgeRunStats stats) {
+        lastRuns.put(stats.job(), stats);
+        Counter.builder(METRIC_NAME + ".rows")
+            .description("Rows deleted by purge jobs")
+            .tag("job", stats.job())
+            .register(meterRegistry)
+            .increment(stats.rows());
+        Timer.builder(METRIC_NAME + ".duration")
+            .description("Duration of purge job runs")
+            .tag("job", stats.job())
+            .register(meterRegistry)
+            .record(stats.duration());
+        log.info("Purge job {} deleted {} rows in {} batches in {} ms, completed: {}", stats.job(), stats.rows(),
+            stats.batches(), stats.duration().toMillis(), stats.completed());
+    }
+
+    /**
+     * Finds the next batch of ids to delete.
+     */
+    @FunctionalInterface
+    public interface IdBatchFinder {
+        /**
+         * Finds ids of rows to delete.
+         *
+         * @param afterId only ids greater than this one are returned.
+         * @param limit   maximum number of ids.
+         * @return ids in ascending order.
+         */
+        List<Long> findIds(Long afterId, int limit);
+    }
+}
@@ -15,6 +15,8 @@ import greencity.dto.user.UserActivationDto;
 import greencity.dto.user.UserDeactivationReasonDto;
 import greencity.dto.violation.UserViolationMailDto;
 import greencity.exception.exceptions.NotFoundException;
+import greencity.jfr.EmailRenderEvent;
+import greencity.jfr.EmailSendEvent;
 import greencity.repository.UserRepo;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -246,7 +248,15 @@ public class EmailServiceImpl implements EmailService {
         log.info(LogMessage.IN_CREATE_TEMPLATE_NAME, null, templateName);
         Context context = new Context();
         context.setVariables(vars);
-        return templateEngine.process("email/" + templateName, context);
+        EmailRenderEvent event = new EmailRenderEvent();
+        event.begin();
+        String content = templateEngine.process("email/" + templateName, context);
+        event.end();
+        if (event.shouldCommit()) {
+            event.template = templateName;
+            event.commit();
+        }
+        return content;
     }
 
     private void sendEmail(String receiverEmail, String subject, String content) {
@@ -261,7 +271,22 @@ public class EmailServiceImpl implements EmailService {
         } catch (MessagingException e) {
             log.error(e.getMessage());
         }
-        executor.execute(() -> javaMailSender.send(mimeMessage));
+        executor.execute(() -> send(mimeMessage, subject));
+    }
+
+    private void send(MimeMessage mimeMessage, String subject) {
+        EmailSendEvent event = new EmailSendEvent();
+        event.begin();
+        try {
+            javaMailSender.send(mimeMessage);
+            event.sent = true;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.subject = subject;
+                event.commit();
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,229 @@
+package greencity.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import greencity.client.RestClient;
+import greencity.constant.ErrorMessage;
+import greencity.enums.ProfilePictureSize;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.NotFoundException;
+import greencity.repository.UserRepo;
+import greencity.validator.ImageProbe;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * {@inheritDoc}
+ */
+@Slf4j
+@Service
+public class ProfilePictureServiceImpl implements ProfilePictureService {
+    private static final String THUMBNAIL_FORMAT = "jpeg";
+    private static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+    private final RestClient restClient;
+    private final UserRepo userRepo;
+    private final Executor executor;
+    private final ImageProbe imageProbe;
+    private final float thumbnailQuality;
+    private final Cache<ThumbnailKey, byte[]> thumbnailCache;
+
+    /**
+     * Constructor.
+     */
+    @Autowired
+    public ProfilePictureServiceImpl(RestClient restClient,
+        UserRepo userRepo,
+        @Qualifier("imageProcessingExecutor") Executor executor,
+        ImageProbe imageProbe,
+        @Value("${greencity.profile-picture.thumbnail.quality:0.8}") float thumbnailQuality,
+        @Value("${greencity.profile-picture.thumbnail.cache-max-bytes:33554432}") long cacheMaxBytes) {
+        this.restClient = restClient;
+        this.userRepo = userRepo;
+        this.executor = executor;
+        this.imageProbe = imageProbe;
+        this.thumbnailQuality = thumbnailQuality;
+        this.thumbnailCache = Caffeine.newBuilder()
+            .maximumWeight(cacheMaxBytes)
+            .weigher((ThumbnailKey key, byte[] value) -> value.length)
+            .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void createThumbnails(Long userId, String picturePath, MultipartFile image) {
+        byte[] source;
+        try {
+            source = image.getBytes();
+        } catch (IOException e) {
+            log.warn("Profile picture of user {} could not be read, thumbnails are skipped", userId);
+            return;
+        }
+        invalidateCachedThumbnails(userId);
+        String accessToken = restClient.getAccessToken();
+        try {
+            executor.execute(() -> processThumbnails(userId, picturePath, source, accessToken));
+        } catch (RejectedExecutionException e) {
+            log.warn("Image processing queue is full, thumbnails of user {} are skipped", userId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<byte[]> getCachedThumbnail(Long userId, ProfilePictureSize size) {
+        return Optional.ofNullable(thumbnailCache.getIfPresent(new ThumbnailKey(userId, size)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getThumbnailPath(Long userId, ProfilePictureSize size) {
+        return userRepo.findProfilePictureThumbnailPath(userId, size.name())
+            .or(() -> userRepo.getProfilePicturePathByUserId(userId))
+            .orElseThrow(() -> new NotFoundException(ErrorMessage.PROFILE_PICTURE_NOT_FOUND_BY_ID + userId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteThumbnails(Long userId) {
+        invalidateCachedThumbnails(userId);
+        userRepo.deleteProfilePictureThumbnails(userId);
+    }
+
+    private void invalidateCachedThumbnails(Long userId) {
+        for (ProfilePictureSize size : ProfilePictureSize.values()) {
+            thumbnailCache.invalidate(new ThumbnailKey(userId, size));
+        }
+    }
+
+    /**
+     * Creates and saves the thumbnails. The job stops as soon as the profile
+     * picture is no longer the one it was started for, and a thumbnail is saved
+     * only if the picture is still current at that moment, so a slow job can not
+     * overwrite thumbnails of a newer picture or bring back a deleted one.
+     */
+    private void processThumbnails(Long userId, String picturePath, byte[] source, String accessToken) {
+        try {
+            imageProbe.probe(source);
+            BufferedImage original = ImageIO.read(new ByteArrayInputStream(source));
+            if (original == null) {
+                log.warn("Profile picture of user {} has unsupported format, thumbnails are skipped", userId);
+                return;
+            }
+            for (ProfilePictureSize size : ProfilePictureSize.values()) {
+                if (!isCurrentPicture(userId, picturePath)) {
+                    log.debug("Profile picture of user {} has changed, thumbnails are dropped", userId);
+                    return;
+                }
+                byte[] encoded = encode(resize(original, size.getDimension()));
+                String path = restClient.uploadImage(new MultipartFileImpl("mainFile",
+                    "profile-" + userId + "-" + size.getDimension() + ".jpg", THUMBNAIL_CONTENT_TYPE, encoded),
+                    accessToken);
+                ThumbnailKey key = new ThumbnailKey(userId, size);
+                thumbnailCache.put(key, encoded);
+                if (userRepo.saveProfilePictureThumbnailPath(userId, size.name(), path, picturePath) == 0) {
+                    thumbnailCache.invalidate(key);
+                    log.debug("Profile picture of user {} has changed, thumbnails are dropped", userId);
+                    return;
+                }
+            }
+        } catch (BadRequestException e) {
+            log.warn("Profile picture of user {} was rejected, thumbnails are skipped: {}", userId, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            log.error("Thumbnails of user {} were not created: {}", userId, e.getMessage());
+        }
+    }
+
+    private boolean isCurrentPicture(Long userId, String picturePath) {
+        return userRepo.getProfilePicturePathByUserId(userId)
+            .map(current -> current.equals(picturePath))
+            .orElse(false);
+    }
+
+    /**
+     * Crops the picture to a centered square and scales it down to the given
+     * dimension. Large pictures are halved step by step with bilinear
+     * interpolation, which is much cheaper than bicubic and gives comparable
+     * quality for downscaling.
+     *
+     * @param image     source picture.
+     * @param dimension width and height of the result.
+     * @return {@link BufferedImage} of {@code dimension x dimension} size.
+     */
+    BufferedImage resize(BufferedImage image, int dimension) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        BufferedImage result = image.getSubimage(
+            (image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+        int current = side;
+        while (current / 2 >= dimension) {
+            current /= 2;
+            result = scale(result, current);
+        }
+        return current == dimension && result.getType() == BufferedImage.TYPE_INT_RGB
+            ? result
+            : scale(result, dimension);
+    }
+
+    private BufferedImage scale(BufferedImage image, int dimension) {
+        BufferedImage scaled = new BufferedImage(dimension, dimension, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+            graphics.drawImage(image, 0, 0, dimension, dimension, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Encodes the picture to JPEG. Metadata is not written, so EXIF, GPS and color
+     * profile blocks of the original picture are stripped.
+     *
+     * @param image picture to encode.
+     * @return encoded picture.
+     */
+    byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(THUMBNAIL_FORMAT).next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(thumbnailQuality);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private record ThumbnailKey(Long userId, ProfilePictureSize size) {
+    }
+}
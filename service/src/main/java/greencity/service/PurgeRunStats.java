@@ -0,0 +1,17 @@
+package greencity.service;
+
+import java.time.Duration;
+
+/**
+ * Result of one run of {@link ChunkedPurgeExecutor}.
+ *
+ * @param job       name of the purge job.
+ * @param rows      number of rows deleted during the run.
+ * @param batches   number of batches executed during the run.
+ * @param lastId    greatest id seen by the run.
+ * @param duration  wall time of the run.
+ * @param completed {@code false} if the run stopped early and the next run
+ *                  resumes after {@code lastId}.
+ */
+public record PurgeRunStats(String job, int rows, int batches, long lastId, Duration duration, boolean completed) {
+}
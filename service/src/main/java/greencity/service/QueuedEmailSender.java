@@ -0,0 +1,54 @@
+package greencity.service;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Queues emails of a bulk operation on the mail executor of
+ * {@link EmailService}. When its queue is full the caller waits and tries
+ * again, so a large operation is slowed down to the speed of the mail server
+ * instead of losing emails.
+ */
+public class QueuedEmailSender {
+    private static final int ATTEMPTS = 5;
+    private final long retryMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param retryMillis pause before the second attempt. Every next pause is
+     *                    longer by the same time.
+     */
+    public QueuedEmailSender(long retryMillis) {
+        this.retryMillis = retryMillis;
+    }
+
+    /**
+     * Runs a call of {@link EmailService} until the email is queued.
+     *
+     * @param send call of {@link EmailService}.
+     * @return {@code false} if the email was not queued after all attempts.
+     */
+    public boolean send(Runnable send) {
+        for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+            try {
+                send.run();
+                return true;
+            } catch (RejectedExecutionException e) {
+                if (!pause(attempt)) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean pause(int attempt) {
+        try {
+            Thread.sleep(retryMillis * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package greencity.service;
+
+import greencity.repository.SchedulerLockRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a scheduled job on one node of the cluster at a time. Before the job
+ * runs the node takes a lease in the {@code scheduler_locks} table, and nodes
+ * that find the lease taken skip the run.
+ *
+ * <p>
+ * A lease expires after {@code lockAtMostFor}, so a node that dies while
+ * running a job does not block it forever. On release the lease is kept until
+ * {@code lockAtLeastFor} has passed since it was taken, so nodes whose
+ * schedules fire a bit later within the same interval skip the run too.
+ */
+@Slf4j
+@Component
+public class ScheduledJobLock {
+    private static final String METRIC_NAME = "greencity.scheduler.lease";
+    private final SchedulerLockRepo schedulerLockRepo;
+    private final String nodeId;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor.
+     */
+    @Autowired
+    public ScheduledJobLock(SchedulerLockRepo schedulerLockRepo, MeterRegistry meterRegistry) {
+        this(schedulerLockRepo, hostName() + "-" + UUID.randomUUID(), meterRegistry);
+    }
+
+    ScheduledJobLock(SchedulerLockRepo schedulerLockRepo, String nodeId, MeterRegistry meterRegistry) {
+        this.schedulerLockRepo = schedulerLockRepo;
+        this.nodeId = nodeId;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a job if this node takes its lease.
+     *
+     * @param job            name of the job.
+     * @param lockAtMostFor  time after which the lease expires if the node does not
+     *                       release it.
+     * @param lockAtLeastFor minimum time the lease is held after it was taken.
+     * @param task           the job.
+     * @return {@code true} if the job has run on this node.
+     */
+    public boolean runLocked(String job, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        boolean acquired;
+        try {
+            acquired = schedulerLockRepo.tryAcquire(job, nodeId, lockAtMostFor.toMillis()) == 1;
+        } catch (DataAccessException e) {
+            count(job, "error");
+            log.warn("Lease of job {} could not be taken, the run is skipped", job, e);
+            return false;
+        }
+        if (!acquired) {
+            count(job, "skipped");
+            log.debug("Lease of job {} is held by another node, the run is skipped", job);
+            return false;
+        }
+        count(job, "acquired");
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            Timer.builder(METRIC_NAME + ".held")
+                .description("Time a scheduled job runs under its lease")
+                .tag("job", job)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            release(job, lockAtLeastFor);
+        }
+        return true;
+    }
+
+    private void release(String job, Duration lockAtLeastFor) {
+        try {
+            if (schedulerLockRepo.release(job, nodeId, lockAtLeastFor.toMillis()) == 0) {
+                count(job, "lost");
+                log.warn("Lease of job {} expired before the job finished", job);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Lease of job {} could not be released, it expires by itself", job, e);
+        }
+    }
+
+    private void count(String job, String outcome) {
+        Counter.builder(METRIC_NAME)
+            .description("Attempts to take the lease of a scheduled job")
+            .tag("job", job)
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .increment();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
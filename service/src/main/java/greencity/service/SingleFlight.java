@@ -0,0 +1,162 @@
+package greencity.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Table of lookups in flight, keyed by their arguments. The first caller of a
+ * key runs the lookup on its own thread, and callers of the same key that come
+ * while it runs wait for its result instead of running the lookup again.
+ *
+ * <p>
+ * The lookup is never run inside a map operation and no monitor is held while
+ * waiting, so a virtual thread waiting for a flight does not pin its carrier.
+ * At most {@code maxInFlight} keys are in flight; when the table is full, a
+ * caller runs its lookup alone. A caller that joins a flight gets its own copy
+ * of the result, so a mutable result is never shared between callers.
+ *
+ * @param <K> type of the key.
+ * @param <V> type of the result.
+ */
+final class SingleFlight<K, V> {
+    private static final String METRIC_NAME = "greencity.user.lookup.flights";
+    private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+    private final Counter ledCounter;
+    private final Counter joinedCounter;
+    private final Counter bypassedCounter;
+    private final UnaryOperator<V> copier;
+
+    /**
+     * Constructor for immutable results, which are shared as they are.
+     *
+     * @param name          name of the lookup, used as the {@code lookup} tag of
+     *                      the metrics.
+     * @param maxInFlight   number of keys that may be in flight at once.
+     * @param meterRegistry registry of the metrics.
+     */
+    SingleFlight(String name, int maxInFlight, MeterRegistry meterRegistry) {
+        this(name, maxInFlight, meterRegistry, UnaryOperator.identity());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name          name of the lookup, used as the {@code lookup} tag of
+     *                      the metrics.
+     * @param maxInFlight   number of keys that may be in flight at once.
+     * @param meterRegistry registry of the metrics.
+     * @param copier        copies a result for a caller that joined a flight.
+     */
+    SingleFlight(String name, int maxInFlight, MeterRegistry meterRegistry, UnaryOperator<V> copier) {
+        this.copier = copier;
+        this.slots = new Semaphore(maxInFlight);
+        this.ledCounter = counter(name, "led", meterRegistry);
+        this.joinedCounter = counter(name, "joined", meterRegistry);
+        this.bypassedCounter = counter(name, "bypassed", meterRegistry);
+        Gauge.builder(METRIC_NAME + ".in-flight", flights, Map::size)
+            .description("Keys with a lookup in flight")
+            .tag("lookup", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the result of the lookup of the key, shared with concurrent callers
+     * of the same key. An exception of the lookup is thrown to all of them. A
+     * lookup with a {@code null} key is run alone, as the table can not hold it.
+     *
+     * @param key    key of the lookup, may be {@code null}.
+     * @param lookup runs the lookup.
+     * @return result of the lookup, may be {@code null}.
+     */
+    V execute(K key, Supplier<V> lookup) {
+        if (key == null) {
+            return lookup.get();
+        }
+        CompletableFuture<V> flight = flights.get(key);
+        if (flight == null) {
+            if (!slots.tryAcquire()) {
+                bypassedCounter.increment();
+                return lookup.get();
+            }
+            CompletableFuture<V> ownFlight = new CompletableFuture<>();
+            flight = flights.putIfAbsent(key, ownFlight);
+            if (flight == null) {
+                return lead(key, ownFlight, lookup);
+            }
+            slots.release();
+        }
+        joinedCounter.increment();
+        return await(flight);
+    }
+
+    /**
+     * Detaches the flight of the key, so the next caller runs a new lookup instead
+     * of waiting for a result that may be already stale.
+     */
+    void forget(K key) {
+        flights.remove(key);
+    }
+
+    /**
+     * Detaches all flights.
+     */
+    void forgetAll() {
+        flights.clear();
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> lookup) {
+        ledCounter.increment();
+        try {
+            V value = lookup.get();
+            flight.complete(copy(value));
+            return value;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+            slots.release();
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        V value;
+        try {
+            value = flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+        return copy(value);
+    }
+
+    /**
+     * Copies a result. The flight keeps a copy of its own, so the leader may change
+     * its result while joined callers still copy theirs.
+     */
+    private V copy(V value) {
+        return value == null ? null : copier.apply(value);
+    }
+
+    private static Counter counter(String name, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(METRIC_NAME)
+            .description("Lookups by whether they ran, joined a flight or bypassed a full table")
+            .tag("lookup", name)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,91 @@
+package greencity.service;
+
+import greencity.constant.CacheConstants;
+import greencity.dto.user.UserVO;
+import greencity.events.UserChangedEvent;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached user lookups when a {@link UserChangedEvent} is published. An
+ * event published in a transaction is handled after the commit, so a lookup
+ * made in between can not put the old row back into the cache.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+    private final CacheManager cacheManager;
+    private final UserLookupFlights lookupFlights;
+
+    /**
+     * Evicts the entries of the changed user from every user cache.
+     *
+     * @param event {@link UserChangedEvent}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isAllUsers()) {
+            evictAll();
+        } else {
+            evict(event.getUserId(), event.getEmail());
+        }
+    }
+
+    /**
+     * Evicts the entries of one user and detaches its lookups in flight, whose
+     * results may predate the change. At least one of the keys should be given.
+     *
+     * @param userId id of the user, or {@code null} if it is not known.
+     * @param email  email of the user, or {@code null} if it is not known.
+     */
+    public void evict(Long userId, String email) {
+        lookupFlights.forget(userId, email);
+        if (userId != null) {
+            cache(CacheConstants.USERS_BY_ID).evict(userId);
+            cache(CacheConstants.PROFILE_PICTURE_PATHS).evict(userId);
+        }
+        if (email != null) {
+            cache(CacheConstants.USERS_BY_EMAIL).evict(email);
+            cache(CacheConstants.USER_IDS_BY_EMAIL).evict(email);
+            cache(CacheConstants.USER_UUIDS_BY_EMAIL).evict(email);
+        } else if (userId != null) {
+            evictIf(CacheConstants.USERS_BY_EMAIL, value -> value instanceof UserVO user
+                && userId.equals(user.getId()));
+            evictIf(CacheConstants.USER_IDS_BY_EMAIL, userId::equals);
+        }
+    }
+
+    /**
+     * Clears every user cache and detaches all lookups in flight.
+     */
+    public void evictAll() {
+        lookupFlights.forgetAll();
+        CacheConstants.USER_CACHES.forEach(name -> cache(name).clear());
+        log.debug("User caches are cleared");
+    }
+
+    /**
+     * Removes the entries whose value matches, for changes made by id when the
+     * email of the user is not at hand. Uuids are not touched, as an uuid is never
+     * changed for an email.
+     */
+    private void evictIf(String name, Predicate<Object> matches) {
+        if (cache(name).getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            nativeCache.asMap().values().removeIf(matches);
+        }
+    }
+
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + name + " is not configured");
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,204 @@
+package greencity.service;
+
+import greencity.events.UserChangedEvent;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends user changes to the other nodes of the cluster through Postgres
+ * {@code LISTEN/NOTIFY}, so a user changed on one node is evicted from the
+ * caches of every node within milliseconds instead of after the time to live.
+ *
+ * <p>
+ * A notification is sent after the transaction of the change commits, in a
+ * transaction of its own, so a failed notification can not abort or roll back
+ * the change. A notification that fails or is lost with its node is not sent
+ * again; the time to live of the caches bounds how long the change stays
+ * unseen. Every node listens on a connection of its own, outside of the pool.
+ * Notifications sent while this connection is down are lost, so the user caches
+ * are cleared each time it is opened.
+ */
+@Slf4j
+@Component
+public class UserCacheInvalidationBus implements SmartLifecycle {
+    static final String CHANNEL = "user_changed";
+    static final String APPLICATION_NAME = "greencity-user-cache-invalidation";
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+    private static final String SEPARATOR = "|";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate notifyTransaction;
+    private final UserCacheEvictionListener evictionListener;
+    private final ExecutorService executor;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollMillis;
+    private final long reconnectMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private volatile boolean listening;
+
+    /**
+     * Constructor.
+     */
+    @Autowired
+    public UserCacheInvalidationBus(JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        UserCacheEvictionListener evictionListener,
+        @Qualifier("userCacheInvalidationExecutor") ExecutorService executor,
+        @Value("${spring.datasource.url}") String url,
+        @Value("${spring.datasource.username}") String username,
+        @Value("${spring.datasource.password}") String password,
+        @Value("${greencity.cache.invalidation.poll-ms:1000}") int pollMillis,
+        @Value("${greencity.cache.invalidation.reconnect-delay-ms:5000}") long reconnectMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notifyTransaction = new TransactionTemplate(transactionManager);
+        this.notifyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.evictionListener = evictionListener;
+        this.executor = executor;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollMillis = pollMillis;
+        this.reconnectMillis = reconnectMillis;
+    }
+
+    /**
+     * Sends a user change to the other nodes once it is committed. The resources of
+     * the committed transaction are still bound at this point, so the notification
+     * is sent in a new transaction on another connection. The change is evicted on
+     * this node by {@link UserCacheEvictionListener}.
+     *
+     * @param event {@link UserChangedEvent}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        try {
+            notifyTransaction
+                .executeWithoutResult(status -> jdbcTemplate.queryForList(NOTIFY, CHANNEL, payload(event)));
+        } catch (DataAccessException e) {
+            log.warn("Change of user {} was not sent to other nodes", event.getUserId(), e);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        executor.execute(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    boolean isListening() {
+        return listening;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, connectionProperties())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                evictionListener.evictAll();
+                listening = true;
+                log.info("Listening to user changes of other nodes");
+                receive(connection.unwrap(PGConnection.class), connection);
+            } catch (SQLException | RuntimeException e) {
+                listening = false;
+                if (running) {
+                    log.warn("Connection for user changes of other nodes is lost, reconnecting in {} ms",
+                        reconnectMillis, e);
+                    pause();
+                }
+            }
+        }
+        listening = false;
+    }
+
+    /**
+     * Waits for notifications until the node stops. A quiet connection is checked
+     * after every wait, so a broken one is noticed even when no notifications come.
+     */
+    private void receive(PGConnection pgConnection, Connection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+            if (notifications != null && notifications.length > 0) {
+                for (PGNotification notification : notifications) {
+                    handle(notification.getParameter());
+                }
+            } else if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                throw new SQLException("Connection is not valid");
+            }
+        }
+    }
+
+    /**
+     * Evicts a change received from another node. Changes sent by this node are
+     * skipped, as they were evicted when they were made.
+     */
+    void handle(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        Long userId = parts[1].isEmpty() ? null : Long.valueOf(parts[1]);
+        String email = parts[2].isEmpty() ? null : parts[2];
+        if (userId == null && email == null) {
+            evictionListener.evictAll();
+        } else {
+            evictionListener.evict(userId, email);
+        }
+    }
+
+    private String payload(UserChangedEvent event) {
+        return nodeId + SEPARATOR
+            + (event.getUserId() == null ? "" : event.getUserId()) + SEPARATOR
+            + (event.getEmail() == null ? "" : event.getEmail());
+    }
+
+    private Properties connectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        properties.setProperty("tcpKeepAlive", "true");
+        return properties;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package greencity.service;
+
+import greencity.dto.user.UserVO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Coalesces concurrent identical user lookups that miss the cache, so a burst
+ * of requests for a popular user runs one query. A lookup made in a transaction
+ * is always run on its own, as it may have to see changes of that transaction.
+ * Callers that join a lookup of a user get their own copy of it. Flights of a
+ * changed user are detached by {@link UserCacheEvictionListener} together with
+ * its cache entries.
+ */
+@Component
+public class UserLookupFlights {
+    private final SingleFlight<Long, UserVO> usersById;
+    private final SingleFlight<String, UserVO> usersByEmail;
+    private final SingleFlight<String, Long> userIdsByEmail;
+
+    /**
+     * Constructor.
+     *
+     * @param maxInFlight number of keys of every lookup that may be in flight at
+     *                    once.
+     */
+    public UserLookupFlights(@Value("${greencity.user-lookup.max-in-flight:1000}") int maxInFlight,
+        MeterRegistry meterRegistry) {
+        this.usersById = new SingleFlight<>("users-by-id", maxInFlight, meterRegistry, UserVO::copy);
+        this.usersByEmail = new SingleFlight<>("users-by-email", maxInFlight, meterRegistry, UserVO::copy);
+        this.userIdsByEmail = new SingleFlight<>("user-ids-by-email", maxInFlight, meterRegistry);
+    }
+
+    /**
+     * Runs or joins the lookup of a user by id.
+     */
+    public UserVO findById(Long id, Supplier<UserVO> lookup) {
+        return coalesce(usersById, id, lookup);
+    }
+
+    /**
+     * Runs or joins the lookup of a user by email.
+     */
+    public UserVO findByEmail(String email, Supplier<UserVO> lookup) {
+        return coalesce(usersByEmail, email, lookup);
+    }
+
+    /**
+     * Runs or joins the lookup of a user id by email.
+     */
+    public Long findIdByEmail(String email, Supplier<Long> lookup) {
+        return coalesce(userIdsByEmail, email, lookup);
+    }
+
+    /**
+     * Detaches the flights of one user. Without an email all flights by email are
+     * detached, as their keys are not known.
+     *
+     * @param userId id of the user, or {@code null} if it is not known.
+     * @param email  email of the user, or {@code null} if it is not known.
+     */
+    public void forget(Long userId, String email) {
+        if (userId != null) {
+            usersById.forget(userId);
+        }
+        if (email != null) {
+            usersByEmail.forget(email);
+            userIdsByEmail.forget(email);
+        } else {
+            usersByEmail.forgetAll();
+            userIdsByEmail.forgetAll();
+        }
+    }
+
+    /**
+     * Detaches all flights.
+     */
+    public void forgetAll() {
+        usersById.forgetAll();
+        usersByEmail.forgetAll();
+        userIdsByEmail.forgetAll();
+    }
+
+    private static <K, V> V coalesce(SingleFlight<K, V> flights, K key, Supplier<V> lookup) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return lookup.get();
+        }
+        return flights.execute(key, lookup);
+    }
+}
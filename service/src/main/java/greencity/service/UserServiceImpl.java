@@ -1,5 +1,6 @@
 package greencity.service;
 
+import greencity.constant.CacheConstants;
 import greencity.constant.UpdateConstants;
 import greencity.dto.ubs.UbsTableCreationDto;
 import greencity.dto.user.*;
@@ -18,6 +19,7 @@ import greencity.entity.VerifyEmail;
 import greencity.enums.EmailNotification;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
+import greencity.events.UserChangedEvent;
 import greencity.exception.exceptions.*;
 import greencity.filters.UserSpecification;
 import greencity.repository.LanguageRepo;
@@ -29,13 +31,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -49,6 +55,14 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final String NOT_ACTIVATED_USERS_JOB = "not-activated-users";
+    /**
+     * Expected outcome of the lookups by email, which the other GreenCity services
+     * call for every request of a user. It is created once without a stack trace
+     * and thrown again every time.
+     */
+    private static final WrongEmailException USER_NOT_FOUND_BY_EMAIL =
+        new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, false);
     /**
      * Autowired greencity.repository.
      */
@@ -56,6 +70,11 @@ public class UserServiceImpl implements UserService {
     private final RestClient restClient;
     private final LanguageRepo languageRepo;
     private final UserDeactivationRepo userDeactivationRepo;
+    private final ProfilePictureService profilePictureService;
+    private final ChunkedPurgeExecutor purgeExecutor;
+    private final ScheduledJobLock scheduledJobLock;
+    private final UserLookupFlights lookupFlights;
+    private final ApplicationEventPublisher applicationEventPublisher;
     /**
      * Autowired mapper.
      */
@@ -70,22 +89,28 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserVO save(UserVO userVO) {
         User user = modelMapper.map(userVO, User.class);
-        return modelMapper.map(userRepo.save(user), UserVO.class);
+        UserVO saved = modelMapper.map(userRepo.save(user), UserVO.class);
+        publishUserChanged(userVO.getId(), userVO.getEmail());
+        return saved;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Cacheable(cacheNames = CacheConstants.USERS_BY_ID, key = "#id")
     public UserVO findById(Long id) {
-        User user = userRepo.findById(id)
-            .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
-        return modelMapper.map(user, UserVO.class);
+        return lookupFlights.findById(id, () -> {
+            User user = userRepo.findById(id)
+                .orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id, false));
+            return modelMapper.map(user, UserVO.class);
+        });
     }
 
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     @Override
     public PageableDto<UserForListDto> findByPage(Pageable pageable) {
         Page<User> users = userRepo.findAll(pageable);
@@ -103,6 +128,7 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     @Override
     public PageableAdvancedDto<UserManagementDto> findUserForManagementByPage(Pageable pageable) {
         Page<User> users = userRepo.findAll(pageable);
@@ -129,7 +155,9 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void updateUser(Long userId, UserManagementUpdateDto dto) {
         User user = findUserById(userId);
+        publishUserChanged(userId, user.getEmail());
         updateUserFromDto(dto, user);
+        publishUserChanged(userId, dto.getEmail());
     }
 
     /**
@@ -154,20 +182,25 @@ public class UserServiceImpl implements UserService {
     public void deleteById(Long id) {
         UserVO userVO = findById(id);
         userRepo.delete(modelMapper.map(userVO, User.class));
+        publishUserChanged(id, userVO.getEmail());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Cacheable(cacheNames = CacheConstants.USERS_BY_EMAIL, key = "#email", unless = "#result == null")
     public UserVO findByEmail(String email) {
-        Optional<User> optionalUser = userRepo.findByEmail(email);
-        return optionalUser.isEmpty() ? null : modelMapper.map(optionalUser.get(), UserVO.class);
+        return lookupFlights.findByEmail(email, () -> {
+            Optional<User> optionalUser = userRepo.findByEmail(email);
+            return optionalUser.isEmpty() ? null : modelMapper.map(optionalUser.get(), UserVO.class);
+        });
     }
 
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     @Override
     public List<UserVO> findAll() {
         return modelMapper.map(userRepo.findAll(), new TypeToken<List<UserVO>>() {
@@ -177,6 +210,7 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     @Override
     public PageableAdvancedDto<UserManagementVO> search(Pageable pageable,
         UserManagementViewDto userManagementViewDto) {
@@ -254,11 +288,9 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public Optional<UserVO> findNotDeactivatedByEmail(String email) {
-        log.info("email {}", email);
-        User notDeactivatedByEmail = userRepo.findNotDeactivatedByEmail(email)
-            .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
-        log.info("user: {}", notDeactivatedByEmail);
-        return Optional.of(modelMapper.map(notDeactivatedByEmail, UserVO.class));
+        log.debug("email {}", email);
+        return userRepo.findNotDeactivatedByEmail(email)
+            .map(user -> modelMapper.map(user, UserVO.class));
     }
 
     /**
@@ -267,20 +299,21 @@ public class UserServiceImpl implements UserService {
      * @author Zakhar Skaletskyi
      */
     @Override
+    @Cacheable(cacheNames = CacheConstants.USER_IDS_BY_EMAIL, key = "#email")
     public Long findIdByEmail(String email) {
-        log.info(LogMessage.IN_FIND_ID_BY_EMAIL, email);
-        return userRepo.findIdByEmail(email).orElseThrow(
-            () -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
+        log.debug(LogMessage.IN_FIND_ID_BY_EMAIL, email);
+        return lookupFlights.findIdByEmail(email,
+            () -> userRepo.findIdByEmail(email).orElseThrow(() -> USER_NOT_FOUND_BY_EMAIL));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Cacheable(cacheNames = CacheConstants.USER_UUIDS_BY_EMAIL, key = "#email", unless = "#result == null")
     public String findUuIdByEmail(String email) {
-        log.info(LogMessage.IN_FIND_UUID_BY_EMAIL, email);
-        return userRepo.findUuidByEmail(email).orElseThrow(
-            () -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL));
+        log.debug(LogMessage.IN_FIND_UUID_BY_EMAIL, email);
+        return userRepo.findUuidByEmail(email).orElseThrow(() -> USER_NOT_FOUND_BY_EMAIL);
     }
 
     /**
@@ -292,6 +325,7 @@ public class UserServiceImpl implements UserService {
         User user = findUserById(id);
         checkIfUserCanUpdate(user, email);
         user.setRole(role);
+        publishUserChanged(id, user.getEmail());
         return modelMapper.map(user, UserRoleDto.class);
     }
 
@@ -316,7 +350,9 @@ public class UserServiceImpl implements UserService {
         UserVO userVO = findById(id);
         userVO.setUserStatus(userStatus);
         User map = modelMapper.map(userVO, User.class);
-        return modelMapper.map(userRepo.save(map), UserStatusDto.class);
+        UserStatusDto updated = modelMapper.map(userRepo.save(map), UserStatusDto.class);
+        publishUserChanged(id, userVO.getEmail());
+        return updated;
     }
 
     /**
@@ -343,15 +379,18 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserVO updateLastVisit(UserVO userVO) {
         UserVO user = findById(userVO.getId());
-        log.info(user.getLastActivityTime() + "s");
+        log.debug("Last activity time of user {}: {}", userVO.getId(), user.getLastActivityTime());
         userVO.setLastActivityTime(LocalDateTime.now());
         User updatable = modelMapper.map(userVO, User.class);
-        return modelMapper.map(userRepo.save(updatable), UserVO.class);
+        UserVO updated = modelMapper.map(userRepo.save(updatable), UserVO.class);
+        publishUserChanged(userVO.getId(), userVO.getEmail());
+        return updated;
     }
 
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     public PageableDto<UserForListDto> getUsersByFilter(FilterUserDto filterUserDto, Pageable pageable) {
         Page<User> users = userRepo.findAll(new UserFilter(filterUserDto), pageable);
         List<UserForListDto> userForListDtos =
@@ -366,8 +405,10 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * {@inheritDoc}
+     * {@inheritDoc} It reads from the primary, as the user reloads the form right
+     * after saving it and the replica may not have the change yet.
      */
+    @Transactional
     @Override
     public UserUpdateDto getUserUpdateDtoByEmail(String email) {
         return modelMapper.map(
@@ -387,6 +428,7 @@ public class UserServiceImpl implements UserService {
         user.setName(dto.getName());
         user.setEmailNotification(dto.getEmailNotification());
         userRepo.save(user);
+        publishUserChanged(user.getId(), email);
         return dto;
     }
 
@@ -395,7 +437,9 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public int updateUserRefreshToken(String refreshTokenKey, Long id) {
-        return userRepo.updateUserRefreshToken(refreshTokenKey, id);
+        int rows = userRepo.updateUserRefreshToken(refreshTokenKey, id);
+        publishUserChanged(id, null);
+        return rows;
     }
 
     /**
@@ -436,7 +480,6 @@ public class UserServiceImpl implements UserService {
      *
      * @author Bogdan Kuzenko
      */
-    @Transactional
     @Override
     public List<CustomShoppingListItemResponseDto> getAvailableCustomShoppingListItems(Long userId, Long habitId) {
         return restClient.getAllAvailableCustomShoppingListItems(userId, habitId);
@@ -445,6 +488,7 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     @Override
     public long getActivatedUsersAmount() {
         return userRepo.countAllByUserStatus(UserStatus.ACTIVATED);
@@ -456,14 +500,17 @@ public class UserServiceImpl implements UserService {
      * @return profile picture path {@link String}
      */
     @Override
+    @Cacheable(cacheNames = CacheConstants.PROFILE_PICTURE_PATHS, key = "#id")
     public String getProfilePicturePathByUserId(Long id) {
         return userRepo
             .getProfilePicturePathByUserId(id)
-            .orElseThrow(() -> new NotFoundException(ErrorMessage.PROFILE_PICTURE_NOT_FOUND_BY_ID + id.toString()));
+            .orElseThrow(
+                () -> new NotFoundException(ErrorMessage.PROFILE_PICTURE_NOT_FOUND_BY_ID + id.toString(), false));
     }
 
     /**
-     * Update user profile picture {@link UserVO}.
+     * Update user profile picture {@link UserVO}. The method is not transactional,
+     * so no connection is held while the image is uploaded.
      *
      * @param image  {@link MultipartFile}
      * @param email  {@link String} - email of user that need to update.
@@ -487,7 +534,10 @@ public class UserServiceImpl implements UserService {
         } else {
             throw new BadRequestException(ErrorMessage.IMAGE_EXISTS);
         }
-        return modelMapper.map(userRepo.save(user), UserVO.class);
+        User savedUser = userRepo.save(user);
+        publishUserChanged(user.getId(), email);
+        profilePictureService.createThumbnails(savedUser.getId(), savedUser.getProfilePicturePath(), image);
+        return modelMapper.map(savedUser, UserVO.class);
     }
 
     /**
@@ -502,6 +552,8 @@ public class UserServiceImpl implements UserService {
             .orElseThrow(() -> new WrongEmailException(ErrorMessage.USER_NOT_FOUND_BY_EMAIL + email));
         user.setProfilePicturePath(null);
         userRepo.save(user);
+        publishUserChanged(user.getId(), email);
+        profilePictureService.deleteThumbnails(user.getId());
     }
 
     private PageableDto<UserProfilePictureDto> getPageableDto(
@@ -530,14 +582,17 @@ public class UserServiceImpl implements UserService {
         user.setShowEcoPlace(userProfileDtoRequest.getShowEcoPlace());
         user.setShowShoppingList(userProfileDtoRequest.getShowShoppingList());
         userRepo.save(user);
+        publishUserChanged(user.getId(), email);
         return UpdateConstants.getResultByLanguageCode(user.getLanguage().getCode());
     }
 
     /**
-     * Method return user profile information {@link UserVO}.
+     * Method return user profile information {@link UserVO}. It reads from the
+     * primary, as the profile is shown right after it is saved.
      *
      * @author Marian Datsko
      */
+    @Transactional
     @Override
     public UserProfileDtoResponse getUserProfileInformation(Long userId) {
         User user = userRepo
@@ -547,7 +602,10 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Updates last activity time for a given user.
+     * Updates last activity time for a given user. It is called on every heartbeat
+     * of the client, so the cached user is not evicted and its
+     * {@code lastActivityTime} may lag behind for the time to live of the cache.
+     * {@link #checkIfTheUserIsOnline(Long)} reads it from the database.
      *
      * @param userId               - {@link UserVO}'s id
      * @param userLastActivityTime - new {@link UserVO}'s last activity time
@@ -559,12 +617,15 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * The method checks by id if a {@link UserVO} is online.
+     * The method checks by id if a {@link UserVO} is online. It reads from the
+     * primary, so the last activity time written by
+     * {@link #updateUserLastActivityTime(Long, LocalDateTime)} is seen at once.
      *
      * @param userId {@link Long}
      * @return {@link Boolean}.
      * @author Yurii Zhurakovskyi
      */
+    @Transactional
     @Override
     public boolean checkIfTheUserIsOnline(Long userId) {
         if (userRepo.findById(userId).isEmpty()) {
@@ -582,7 +643,8 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * Method return user profile statistics {@link UserVO}.
+     * Method return user profile statistics {@link UserVO}. The statistics come
+     * from GreenCity only, so the method must not be transactional.
      *
      * @param userId - {@link UserVO}'s id
      * @author Marian Datsko
@@ -606,6 +668,7 @@ public class UserServiceImpl implements UserService {
             userRepo.findById(id).orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
         foundUser.setUserStatus(UserStatus.DEACTIVATED);
         userRepo.save(foundUser);
+        publishUserChanged(id, foundUser.getEmail());
         String reasons = userReasons.stream().map(Object::toString).collect(Collectors.joining("/"));
         userDeactivationRepo.save(UserDeactivationReason.builder()
             .dateTimeOfDeactivation(LocalDateTime.now())
@@ -623,6 +686,7 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     @Override
     public List<String> getDeactivationReason(Long id, String adminLang) {
         UserDeactivationReason userReason = userDeactivationRepo.getLastDeactivationReasons(id)
@@ -655,6 +719,7 @@ public class UserServiceImpl implements UserService {
             userRepo.findById(id).orElseThrow(() -> new WrongIdException(ErrorMessage.USER_NOT_FOUND_BY_ID + id));
         foundUser.setUserStatus(UserStatus.ACTIVATED);
         userRepo.save(foundUser);
+        publishUserChanged(id, foundUser.getEmail());
         return UserActivationDto.builder()
             .email(foundUser.getEmail())
             .name(foundUser.getName())
@@ -673,6 +738,7 @@ public class UserServiceImpl implements UserService {
             .orElseThrow(() -> new NotFoundException(ErrorMessage.USER_NOT_FOUND_BY_ID + userId));
         user.setLanguage(language);
         userRepo.save(user);
+        publishUserChanged(userId, user.getEmail());
     }
 
     /**
@@ -681,7 +747,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public List<Long> deactivateAllUsers(List<Long> listId) {
-        userRepo.deactivateSelectedUsers(listId);
+        publishAllUsersChanged(userRepo.deactivateSelectedUsers(listId));
         return listId;
     }
 
@@ -702,6 +768,7 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     @Override
     public PageableAdvancedDto<UserManagementDto> searchBy(Pageable paging, String query) {
         Page<User> page = userRepo.searchBy(paging, query);
@@ -723,6 +790,7 @@ public class UserServiceImpl implements UserService {
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     @Override
     public List<UserVO> findAllByEmailNotification(EmailNotification emailNotification) {
         return userRepo.findAllByEmailNotification(emailNotification).stream()
@@ -734,19 +802,48 @@ public class UserServiceImpl implements UserService {
      * {@inheritDoc}
      */
     @Override
-    @Transactional
     public int scheduleDeleteDeactivatedUsers() {
-        return userRepo.scheduleDeleteDeactivatedUsers();
+        int rows = purgeExecutor.purge("deactivated-users", userRepo::findDeactivatedUserIdsToDelete,
+            userRepo::deleteDeactivatedUsersByIds).rows();
+        publishAllUsersChanged(rows);
+        return rows;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    public int scheduleDeleteCreatedUsers() {
+        int rows = purgeExecutor.purge(NOT_ACTIVATED_USERS_JOB, userRepo::findCreatedUserIdsToDelete,
+            userRepo::deleteCreatedUsersByIds).rows();
+        publishAllUsersChanged(rows);
+        return rows;
+    }
+
+    /**
+     * Removes users that have not activated their accounts in time. It deletes
+     * accounts, so it is off unless
+     * {@code greencity.purge.not-activated-users.cron} is set to a cron expression.
+     * Access modifier is set to package-private since this method should be invoked
+     * by Spring Framework only. Only the node that takes the lease of the job runs
+     * it within an interval.
+     */
+    @Scheduled(cron = "${greencity.purge.not-activated-users.cron:-}")
+    void deleteNotActivatedUsers() {
+        scheduledJobLock.runLocked(NOT_ACTIVATED_USERS_JOB, Duration.ofMinutes(30), Duration.ofMinutes(50),
+            this::scheduleDeleteCreatedUsers);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Transactional(readOnly = true)
+    @Override
     public List<String> findAllUsersCities() {
         return userRepo.findAllUsersCities();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public UserVO findAdminById(Long id) {
         User user = userRepo.findById(id)
@@ -760,4 +857,14 @@ public class UserServiceImpl implements UserService {
 
         throw new LowRoleLevelException("You do not have authorities");
     }
+
+    private void publishUserChanged(Long id, String email) {
+        applicationEventPublisher.publishEvent(new UserChangedEvent(this, id, email));
+    }
+
+    private void publishAllUsersChanged(int rows) {
+        if (rows > 0) {
+            applicationEventPublisher.publishEvent(UserChangedEvent.allUsers(this));
+        }
+    }
 }
@@ -0,0 +1,274 @@
+package greencity.config;
+
+import greencity.client.RestClient;
+import greencity.constant.CacheConstants;
+import greencity.dto.user.UserVO;
+import greencity.entity.BulkJob;
+import greencity.entity.Language;
+import greencity.entity.User;
+import greencity.enums.BulkJobStatus;
+import greencity.enums.BulkJobType;
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.mapping.UserVOMapper;
+import greencity.repository.BulkJobRepo;
+import greencity.repository.LanguageRepo;
+import greencity.repository.UserDeactivationRepo;
+import greencity.repository.UserRepo;
+import greencity.service.ChunkedPurgeExecutor;
+import greencity.service.ProfilePictureService;
+import greencity.service.ScheduledJobLock;
+import greencity.service.UserLookupFlights;
+import greencity.service.UserService;
+import greencity.service.UserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Uses two databases of one Postgres server as the primary and the replica.
+ * Each database has a row with its own name, so a query shows where it was
+ * sent. The user and bulk job tests give the replica the schema but a stale
+ * copy of the data, as a lagging replica has.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class DataSourceConfigTest {
+    private static final String REPLICA = "replica";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void createDatabases() throws SQLException {
+        execute(POSTGRES.getJdbcUrl(), "CREATE DATABASE " + REPLICA);
+        execute(POSTGRES.getJdbcUrl(), "CREATE TABLE origins (name VARCHAR(16))",
+            "INSERT INTO origins VALUES ('primary')");
+        execute(replicaUrl(), "CREATE TABLE origins (name VARCHAR(16))",
+            "INSERT INTO origins VALUES ('replica')");
+    }
+
+    @AfterEach
+    void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void readOnlyTransactionReadsFromReplicaTest() {
+        context = startContext("greencity.datasource.replica.jdbc-url=" + replicaUrl());
+        EntityManager entityManager = entityManager();
+
+        String origin = transaction(true).execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            assertTrue(session.isDefaultReadOnly());
+            assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+            return origin(entityManager);
+        });
+
+        assertEquals(REPLICA, origin);
+    }
+
+    @Test
+    void readWriteTransactionReadsFromPrimaryTest() {
+        context = startContext("greencity.datasource.replica.jdbc-url=" + replicaUrl());
+        EntityManager entityManager = entityManager();
+
+        String origin = transaction(false).execute(status -> {
+            assertFalse(entityManager.unwrap(Session.class).isDefaultReadOnly());
+            return origin(entityManager);
+        });
+
+        assertEquals("primary", origin);
+    }
+
+    @Test
+    void readOnlyTransactionReadsFromPrimaryWithoutReplicaTest() {
+        context = startContext("greencity.datasource.replica.jdbc-url=");
+        EntityManager entityManager = entityManager();
+
+        String origin = transaction(true).execute(status -> origin(entityManager));
+
+        assertEquals("primary", origin);
+        assertFalse(context.containsBean("replicaDataSource"));
+    }
+
+    @Test
+    void cachedUserFinderReadsFromPrimaryTest() {
+        Long replicaUserId;
+        try (ConfigurableApplicationContext replica = startContext(UserServiceConfig.class, replicaUrl(),
+            "greencity.datasource.replica.jdbc-url=", "spring.jpa.hibernate.ddl-auto=create")) {
+            replicaUserId = persistUser(replica, "replica");
+        }
+        context = startContext(UserServiceConfig.class, POSTGRES.getJdbcUrl(),
+            "greencity.datasource.replica.jdbc-url=" + replicaUrl(), "spring.jpa.hibernate.ddl-auto=create");
+        Long userId = persistUser(context, "primary");
+        UserService userService = context.getBean(UserService.class);
+
+        assertEquals(replicaUserId, userId);
+        assertEquals("primary", userService.findById(userId).getName());
+        assertEquals("primary", context.getBean(CacheManager.class).getCache(CacheConstants.USERS_BY_ID)
+            .get(userId, UserVO.class).getName());
+    }
+
+    @Test
+    void bulkJobIsFoundOnPrimaryRightAfterSubmitTest() {
+        startContext(UserServiceConfig.class, replicaUrl(), "greencity.datasource.replica.jdbc-url=",
+            "spring.jpa.hibernate.ddl-auto=create").close();
+        context = startContext(UserServiceConfig.class, POSTGRES.getJdbcUrl(),
+            "greencity.datasource.replica.jdbc-url=" + replicaUrl(), "spring.jpa.hibernate.ddl-auto=create");
+        BulkJobRepo bulkJobRepo = context.getBean(BulkJobRepo.class);
+        Long jobId = bulkJobRepo.save(BulkJob.builder()
+            .type(BulkJobType.DEACTIVATE)
+            .status(BulkJobStatus.PENDING)
+            .userIds(new Long[] {1L})
+            .createdBy("admin@mail.com")
+            .total(1)
+            .createdAt(LocalDateTime.now())
+            .build()).getId();
+
+        assertTrue(bulkJobRepo.findById(jobId).isPresent());
+    }
+
+    private ConfigurableApplicationContext startContext(String replicaUrl) {
+        return startContext(JpaConfig.class, POSTGRES.getJdbcUrl(), replicaUrl, "spring.jpa.hibernate.ddl-auto=none");
+    }
+
+    private ConfigurableApplicationContext startContext(Class<?> config, String primaryUrl, String replicaUrl,
+        String ddlAuto) {
+        return new SpringApplicationBuilder(config)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + primaryUrl,
+                "spring.datasource.username=" + POSTGRES.getUsername(),
+                "spring.datasource.password=" + POSTGRES.getPassword(),
+                replicaUrl,
+                "greencity.datasource.replica.username=" + POSTGRES.getUsername(),
+                "greencity.datasource.replica.password=" + POSTGRES.getPassword(),
+                ddlAuto,
+                "greencity.time.after.last.activity=300000",
+                "spring.main.banner-mode=off")
+            .run();
+    }
+
+    private EntityManager entityManager() {
+        return SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+            context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate;
+    }
+
+    private static Long persistUser(ConfigurableApplicationContext context, String name) {
+        EntityManager entityManager =
+            SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        return new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(status -> {
+            Language language = Language.builder().code("en").build();
+            entityManager.persist(language);
+            User user = User.builder()
+                .name(name)
+                .email("replicated@mail.com")
+                .role(Role.ROLE_USER)
+                .userStatus(UserStatus.ACTIVATED)
+                .emailNotification(EmailNotification.DISABLED)
+                .dateOfRegistration(LocalDateTime.now())
+                .refreshTokenKey("refresh-key")
+                .language(language)
+                .build();
+            entityManager.persist(user);
+            return user.getId();
+        });
+    }
+
+    private static String origin(EntityManager entityManager) {
+        return (String) entityManager.createNativeQuery("SELECT name FROM origins").getSingleResult();
+    }
+
+    private static String replicaUrl() {
+        return POSTGRES.getJdbcUrl().replace("/" + POSTGRES.getDatabaseName(), "/" + REPLICA);
+    }
+
+    private static void execute(String url, String... sqls) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, POSTGRES.getUsername(),
+            POSTGRES.getPassword()); Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+    @Import(DataSourceConfig.class)
+    static class JpaConfig {
+    }
+
+    @Configuration
+    @EnableCaching
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+    @Import(DataSourceConfig.class)
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepo.class, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = {UserRepo.class, BulkJobRepo.class}))
+    static class UserServiceConfig {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConstants.USERS_BY_ID);
+        }
+
+        @Bean
+        UserService userService(UserRepo userRepo) {
+            ModelMapper modelMapper = new ModelMapper();
+            modelMapper.addConverter(new UserVOMapper());
+            return new UserServiceImpl(userRepo, mock(RestClient.class), mock(LanguageRepo.class),
+                mock(UserDeactivationRepo.class), mock(ProfilePictureService.class), mock(ChunkedPurgeExecutor.class),
+                mock(ScheduledJobLock.class), new UserLookupFlights(1000, new SimpleMeterRegistry()),
+                mock(ApplicationEventPublisher.class), modelMapper);
+        }
+    }
+}
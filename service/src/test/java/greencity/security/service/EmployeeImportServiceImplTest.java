@@ -0,0 +1,182 @@
+package greencity.security.service;
+
+import greencity.constant.ErrorMessage;
+import greencity.dto.user.EmployeeImportRecord;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.exception.exceptions.PasswordHashingUnavailableException;
+import greencity.repository.UserRepo;
+import greencity.security.dto.ownsecurity.EmployeeImportErrorDto;
+import greencity.security.dto.ownsecurity.EmployeeImportResultDto;
+import greencity.security.jwt.JwtTool;
+import greencity.security.repository.EmployeeImportRepo;
+import greencity.service.EmailService;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.modelmapper.ModelMapper;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmployeeImportServiceImplTest {
+    @Mock
+    private EmployeeImportRepo employeeImportRepo;
+    @Mock
+    private UserRepo userRepo;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private JwtTool jwtTool;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private ModelMapper modelMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmployeeImportServiceImpl employeeImportService;
+
+    @BeforeEach
+    void setUp() {
+        employeeImportService = service(2, 10);
+        when(modelMapper.map("en", Long.class)).thenReturn(1L);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(jwtTool.generateTokenKey()).thenReturn("refresh-key");
+        when(jwtTool.generateTokenKeyWithCodedDate()).thenReturn("restore-token");
+        when(employeeImportRepo.insertEmployees(anyList())).thenAnswer(invocation -> {
+            List<EmployeeImportRecord> records = invocation.getArgument(0);
+            return Map.of(records.get(0).getEmail(), 10L + records.size());
+        });
+    }
+
+    @Test
+    void importEmployeesInsertsValidRowsInChunksTest() {
+        when(userRepo.findExistingEmails(List.of("first@mail.com", "second@mail.com")))
+            .thenReturn(List.of("second@mail.com"));
+        String csv = """
+            name,email,uuid,isUbs
+            First,first@mail.com,uuid-1,true
+            Second,second@mail.com,uuid-2
+
+            lowercase,third@mail.com,uuid-3
+            First,first@mail.com,uuid-4
+            Fifth,fifth@mail.com,
+            "Sixth Jr",sixth@mail.com,uuid-6
+            only-two-columns,x
+            """;
+
+        EmployeeImportResultDto result = employeeImportService.importEmployees(stream(csv), "en");
+
+        assertEquals(7, result.getTotal());
+        assertEquals(2, result.getImported());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(3L, 5L, 6L, 8L, 9L),
+            result.getErrors().stream().map(EmployeeImportErrorDto::getLine).sorted().toList());
+        assertTrue(result.getErrors().contains(new EmployeeImportErrorDto(3, "second@mail.com",
+            ErrorMessage.USER_ALREADY_REGISTERED_WITH_THIS_EMAIL)));
+        assertTrue(result.getErrors().contains(new EmployeeImportErrorDto(6, "first@mail.com",
+            ErrorMessage.EMPLOYEE_IMPORT_DUPLICATE_EMAIL)));
+        assertTrue(result.getErrors().contains(new EmployeeImportErrorDto(9, null,
+            ErrorMessage.EMPLOYEE_IMPORT_WRONG_COLUMNS)));
+        assertTrue(result.getErrors().contains(new EmployeeImportErrorDto(8, "sixth@mail.com",
+            ErrorMessage.USER_ALREADY_REGISTERED_WITH_THIS_EMAIL)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmployeeImportRecord>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(employeeImportRepo, times(2)).insertEmployees(chunks.capture());
+        EmployeeImportRecord first = chunks.getAllValues().get(0).get(0);
+        assertEquals(Role.ROLE_UBS_EMPLOYEE, first.getRole());
+        assertEquals(UserStatus.CREATED, first.getUserStatus());
+        assertEquals("hash", first.getPassword());
+        assertEquals(1L, first.getLanguageId());
+        assertEquals(List.of("fifth@mail.com", "sixth@mail.com"),
+            chunks.getAllValues().get(1).stream().map(EmployeeImportRecord::getEmail).toList());
+        assertEquals("Sixth Jr", chunks.getAllValues().get(1).get(1).getName());
+        verify(emailService).sendRestoreEmail(11L, "First", "first@mail.com", "restore-token", "en", true);
+        verify(emailService).sendRestoreEmail(12L, "Fifth", "fifth@mail.com", "restore-token", "en", false);
+    }
+
+    @Test
+    void importEmployeesReportsFailedHashingTest() {
+        when(passwordEncoder.encode(anyString()))
+            .thenThrow(new PasswordHashingUnavailableException(ErrorMessage.PASSWORD_HASHING_UNAVAILABLE));
+
+        EmployeeImportResultDto result = employeeImportService.importEmployees(
+            stream("First,first@mail.com,uuid-1\n"), "en");
+
+        assertEquals(0, result.getImported());
+        assertEquals(List.of(new EmployeeImportErrorDto(1, "first@mail.com",
+            ErrorMessage.PASSWORD_HASHING_UNAVAILABLE)), result.getErrors());
+        verify(employeeImportRepo, never()).insertEmployees(anyList());
+        verify(emailService, never()).sendRestoreEmail(any(), any(), any(), any(), any(), eq(false));
+    }
+
+    @Test
+    void importEmployeesReportsEmailsThatWereNotQueuedTest() {
+        doThrow(new RejectedExecutionException()).when(emailService)
+            .sendRestoreEmail(any(), any(), any(), any(), any(), eq(false));
+
+        EmployeeImportResultDto result = employeeImportService.importEmployees(
+            stream("First,first@mail.com,uuid-1\n"), "en");
+
+        assertEquals(1, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertEquals(List.of(new EmployeeImportErrorDto(1, "first@mail.com",
+            ErrorMessage.EMPLOYEE_IMPORT_EMAIL_NOT_SENT)), result.getErrors());
+    }
+
+    @Test
+    void importEmployeesStopsAtRowLimitTest() {
+        employeeImportService = service(2, 1);
+
+        EmployeeImportResultDto result = employeeImportService.importEmployees(
+            stream("First,first@mail.com,uuid-1\nSecond,second@mail.com,uuid-2\nThird,third@mail.com,uuid-3\n"),
+            "en");
+
+        assertEquals(1, result.getTotal());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(new EmployeeImportErrorDto(2, null, ErrorMessage.EMPLOYEE_IMPORT_TOO_MANY_ROWS + 1)),
+            result.getErrors());
+    }
+
+    @Test
+    void splitLineTest() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""),
+            EmployeeImportServiceImpl.splitLine("a, \"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private EmployeeImportServiceImpl service(int chunkSize, int maxRows) {
+        return new EmployeeImportServiceImpl(employeeImportRepo, userRepo, passwordEncoder, jwtTool, emailService,
+            Validation.buildDefaultValidatorFactory().getValidator(), modelMapper, Runnable::run, transactionManager,
+            24, chunkSize, maxRows, 0L);
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
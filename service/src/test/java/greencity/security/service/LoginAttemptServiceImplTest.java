@@ -0,0 +1,122 @@
+package greencity.security.service;
+
+import greencity.exception.exceptions.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LoginAttemptServiceImplTest {
+    private static final String EMAIL = "test@gmail.com";
+    private static final String IP = "127.0.0.1";
+
+    @Mock
+    private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginAttemptServiceImpl loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(clock.millis()).thenReturn(1_000_000L);
+        loginAttemptService = new LoginAttemptServiceImpl(3, Duration.ofSeconds(30), 5, Duration.ofSeconds(10),
+            1000L, clock, meterRegistry);
+    }
+
+    @Test
+    void checkAttemptRejectsEmailAfterCapacityTest() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.checkAttempt(EMAIL, IP);
+        }
+
+        TooManyLoginAttemptsException exception = assertThrows(TooManyLoginAttemptsException.class,
+            () -> loginAttemptService.checkAttempt(EMAIL, IP));
+        assertEquals(10, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("greencity.login.throttled").tag("key", "email").counter().count());
+    }
+
+    @Test
+    void checkAttemptNormalizesEmailTest() {
+        loginAttemptService.checkAttempt(EMAIL, IP);
+        loginAttemptService.checkAttempt(" Test@Gmail.com", IP);
+        loginAttemptService.checkAttempt("TEST@GMAIL.COM ", IP);
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> loginAttemptService.checkAttempt(EMAIL, IP));
+    }
+
+    @Test
+    void checkAttemptRejectsIpAcrossEmailsTest() {
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.checkAttempt("user" + i + "@gmail.com", IP);
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class,
+            () -> loginAttemptService.checkAttempt("another@gmail.com", IP));
+        assertEquals(1, meterRegistry.get("greencity.login.throttled").tag("key", "ip").counter().count());
+        assertDoesNotThrow(() -> loginAttemptService.checkAttempt("another@gmail.com", "10.0.0.1"));
+    }
+
+    @Test
+    void checkAttemptRejectedForEmailKeepsIpBudgetTest() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.checkAttempt(EMAIL, IP);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThrows(TooManyLoginAttemptsException.class, () -> loginAttemptService.checkAttempt(EMAIL, IP));
+        }
+
+        assertDoesNotThrow(() -> loginAttemptService.checkAttempt("user1@gmail.com", IP));
+        assertDoesNotThrow(() -> loginAttemptService.checkAttempt("user2@gmail.com", IP));
+        assertThrows(TooManyLoginAttemptsException.class,
+            () -> loginAttemptService.checkAttempt("user3@gmail.com", IP));
+    }
+
+    @Test
+    void checkAttemptRejectedForIpKeepsEmailBudgetTest() {
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.checkAttempt("user" + i + "@gmail.com", IP);
+        }
+        for (int i = 0; i < 3; i++) {
+            assertThrows(TooManyLoginAttemptsException.class, () -> loginAttemptService.checkAttempt(EMAIL, IP));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> loginAttemptService.checkAttempt(EMAIL, "10.0.0.1"));
+        }
+    }
+
+    @Test
+    void checkAttemptRefillsOverTimeTest() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.checkAttempt(EMAIL, IP);
+        }
+        when(clock.millis()).thenReturn(1_010_000L);
+
+        assertDoesNotThrow(() -> loginAttemptService.checkAttempt(EMAIL, IP));
+        assertThrows(TooManyLoginAttemptsException.class, () -> loginAttemptService.checkAttempt(EMAIL, IP));
+    }
+
+    @Test
+    void loginSucceededRefillsEmailTest() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.checkAttempt(EMAIL, IP);
+        }
+
+        loginAttemptService.loginSucceeded(EMAIL);
+
+        assertDoesNotThrow(() -> loginAttemptService.checkAttempt(EMAIL, IP));
+    }
+}
@@ -7,9 +7,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,18 +22,21 @@ import greencity.ModelUtils;
 import greencity.constant.ErrorMessage;
 import greencity.dto.ownsecurity.OwnSecurityVO;
 import greencity.dto.user.UserAdminRegistrationDto;
+import greencity.dto.user.UserAuthDto;
 import greencity.dto.user.UserManagementDto;
 import greencity.dto.user.UserVO;
 import greencity.dto.verifyemail.VerifyEmailVO;
 import greencity.entity.Language;
 import greencity.entity.OwnSecurity;
 import greencity.entity.User;
+import greencity.events.UserChangedEvent;
 import greencity.entity.VerifyEmail;
 import greencity.enums.Role;
 import greencity.enums.UserStatus;
 import greencity.exception.exceptions.BadRefreshTokenException;
 import greencity.exception.exceptions.BadUserStatusException;
 import greencity.exception.exceptions.EmailNotVerified;
+import greencity.exception.exceptions.PasswordHashingUnavailableException;
 import greencity.exception.exceptions.PasswordsDoNotMatchesException;
 import greencity.exception.exceptions.UserAlreadyHasPasswordException;
 import greencity.exception.exceptions.UserAlreadyRegisteredException;
@@ -39,6 +45,8 @@ import greencity.exception.exceptions.UserDeactivatedException;
 import greencity.exception.exceptions.WrongEmailException;
 import greencity.exception.exceptions.WrongPasswordException;
 import greencity.repository.UserRepo;
+import greencity.security.dto.AccessRefreshTokensDto;
+import greencity.security.dto.SuccessSignInDto;
 import greencity.security.dto.ownsecurity.*;
 import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
@@ -49,6 +57,11 @@ import io.jsonwebtoken.ExpiredJwtException;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -59,6 +72,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -94,11 +108,14 @@ class OwnSecurityServiceImplTest {
     @Mock
     EmailService emailService;
 
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
+
     private OwnSecurityService ownSecurityService;
 
     private UserVO verifiedUser;
+    private UserAuthDto verifiedUserAuth;
     private OwnSignInDto ownSignInDto;
-    private UserVO notVerifiedUser;
     private UpdatePasswordDto updatePasswordDto;
     private UserManagementDto userManagementDto;
 
@@ -107,7 +124,7 @@ class OwnSecurityServiceImplTest {
         initMocks(this);
         ownSecurityService = new OwnSecurityServiceImpl(ownSecurityRepo, userService, passwordEncoder,
             jwtTool, 1, restorePasswordEmailRepo, modelMapper,
-            userRepo, emailService);
+            userRepo, emailService, applicationEventPublisher, 2000L);
 
         verifiedUser = UserVO.builder()
             .email("test@gmail.com")
@@ -116,17 +133,18 @@ class OwnSecurityServiceImplTest {
             .ownSecurity(OwnSecurityVO.builder().password("password").build())
             .role(Role.ROLE_USER)
             .build();
-        ownSignInDto = OwnSignInDto.builder()
+        verifiedUserAuth = UserAuthDto.builder()
+            .id(1L)
+            .name("name")
             .email("test@gmail.com")
+            .role(Role.ROLE_USER)
+            .userStatus(UserStatus.ACTIVATED)
             .password("password")
+            .refreshTokenKey("refresh-token-key")
             .build();
-        notVerifiedUser = UserVO.builder()
+        ownSignInDto = OwnSignInDto.builder()
             .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.ACTIVATED)
-            .verifyEmail(new VerifyEmailVO())
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
+            .password("password")
             .build();
         updatePasswordDto = UpdatePasswordDto.builder()
             .password("newPassword")
@@ -171,86 +189,102 @@ class OwnSecurityServiceImplTest {
 
     @Test
     void signIn() {
-        when(userService.findByEmail(anyString())).thenReturn(verifiedUser);
+        when(userRepo.findAuthByEmail(anyString())).thenReturn(Optional.of(verifiedUserAuth));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtTool.createAccessToken(anyString(), any(Role.class))).thenReturn("new-access-token");
-        when(jwtTool.createRefreshToken(any(UserVO.class))).thenReturn("new-refresh-token");
+        when(jwtTool.createAccessToken(any(UserAuthDto.class))).thenReturn("new-access-token");
+        when(jwtTool.createRefreshToken("test@gmail.com", Role.ROLE_USER, "refresh-token-key"))
+            .thenReturn("new-refresh-token");
 
-        ownSecurityService.signIn(ownSignInDto);
+        SuccessSignInDto result = ownSecurityService.signIn(ownSignInDto);
 
-        verify(userService, times(1)).findByEmail(anyString());
+        assertEquals(new SuccessSignInDto(1L, "new-access-token", "new-refresh-token", "name", true), result);
+        verify(userRepo, times(1)).findAuthByEmail(anyString());
+        verify(userService, never()).findByEmail(anyString());
         verify(passwordEncoder, times(1)).matches(anyString(), anyString());
-        verify(jwtTool, times(1)).createAccessToken(anyString(), any(Role.class));
-        verify(jwtTool, times(1)).createRefreshToken(any(UserVO.class));
+        verify(jwtTool, times(1)).createAccessToken(any(UserAuthDto.class));
+    }
+
+    @Test
+    void signInRehashesPasswordTest() {
+        when(userRepo.findAuthByEmail(anyString())).thenReturn(Optional.of(verifiedUserAuth));
+        when(passwordEncoder.matches("password", "password")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("password")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("stronger-hash");
+
+        ownSecurityService.signIn(ownSignInDto);
+
+        verify(ownSecurityRepo).updatePassword("stronger-hash", 1L);
+        verify(applicationEventPublisher)
+            .publishEvent(argThat((UserChangedEvent event) -> Long.valueOf(1L).equals(event.getUserId())
+                && "test@gmail.com".equals(event.getEmail())));
+    }
+
+    @Test
+    void signInDoesNotRehashPasswordTest() {
+        when(userRepo.findAuthByEmail(anyString())).thenReturn(Optional.of(verifiedUserAuth));
+        when(passwordEncoder.matches("password", "password")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("password")).thenReturn(false);
+
+        ownSecurityService.signIn(ownSignInDto);
+
+        verify(ownSecurityRepo, never()).updatePassword(anyString(), anyLong());
+    }
+
+    @Test
+    void signInIgnoresSaturatedRehashTest() {
+        when(userRepo.findAuthByEmail(anyString())).thenReturn(Optional.of(verifiedUserAuth));
+        when(passwordEncoder.matches("password", "password")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("password")).thenReturn(true);
+        when(passwordEncoder.encode("password"))
+            .thenThrow(new PasswordHashingUnavailableException(ErrorMessage.PASSWORD_HASHING_UNAVAILABLE));
+        when(jwtTool.createAccessToken(any(UserAuthDto.class))).thenReturn("new-access-token");
+
+        assertEquals("new-access-token", ownSecurityService.signIn(ownSignInDto).getAccessToken());
+        verify(ownSecurityRepo, never()).updatePassword(anyString(), anyLong());
     }
 
     @Test
     void signInNotVerifiedUser() {
-        when(userService.findByEmail(anyString())).thenReturn(notVerifiedUser);
+        UserAuthDto user = verifiedUserAuth.toBuilder().verifyEmailPending(true).build();
+        when(userRepo.findAuthByEmail(anyString())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtTool.createAccessToken(anyString(), any(Role.class))).thenReturn("new-access-token");
-        when(jwtTool.createRefreshToken(any(UserVO.class))).thenReturn("new-refresh-token");
         assertThrows(EmailNotVerified.class,
             () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInNullUserTest() {
-        when(userService.findByEmail("test@gmail.com")).thenReturn(null);
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.empty());
         assertThrows(WrongEmailException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInWrongPasswordTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.ACTIVATED)
-            .ownSecurity(null)
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        UserAuthDto user = verifiedUserAuth.toBuilder().password(null).build();
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(user));
         assertThrows(WrongPasswordException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInDeactivatedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.DEACTIVATED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        UserAuthDto user = verifiedUserAuth.toBuilder().userStatus(UserStatus.DEACTIVATED).build();
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInBlockedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.BLOCKED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        UserAuthDto user = verifiedUserAuth.toBuilder().userStatus(UserStatus.BLOCKED).build();
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
 
     @Test
     void signInCreatedUserTest() {
-        UserVO user = UserVO.builder()
-            .email("test@gmail.com")
-            .id(1L)
-            .userStatus(UserStatus.CREATED)
-            .ownSecurity(OwnSecurityVO.builder().password("password").build())
-            .role(Role.ROLE_USER)
-            .build();
-        when(userService.findByEmail("test@gmail.com")).thenReturn(user);
+        UserAuthDto user = verifiedUserAuth.toBuilder().userStatus(UserStatus.CREATED).build();
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(user));
         when(passwordEncoder.matches("password", "password")).thenReturn(true);
         assertThrows(BadUserStatusException.class, () -> ownSecurityService.signIn(ownSignInDto));
     }
@@ -258,12 +292,111 @@ class OwnSecurityServiceImplTest {
     @Test
     void updateAccessTokensTest() {
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(verifiedUserAuth));
         when(jwtTool.generateTokenKey()).thenReturn("token-key");
-        when(jwtTool.isTokenValid("12345", verifiedUser.getRefreshTokenKey())).thenReturn(true);
+        when(jwtTool.isTokenValid("12345", "refresh-token-key")).thenReturn(true);
+        when(userRepo.rotateRefreshTokenKey(1L, "refresh-token-key", "token-key")).thenReturn(1);
         ownSecurityService.updateAccessTokens("12345");
-        verify(jwtTool).createAccessToken(verifiedUser.getEmail(), verifiedUser.getRole());
-        verify(jwtTool).createRefreshToken(verifiedUser);
+        verify(jwtTool).createAccessToken(verifiedUserAuth);
+        verify(jwtTool).createRefreshToken("test@gmail.com", Role.ROLE_USER, "token-key");
+        verify(applicationEventPublisher)
+            .publishEvent(argThat((UserChangedEvent event) -> Long.valueOf(1L).equals(event.getUserId())
+                && "test@gmail.com".equals(event.getEmail())));
+    }
+
+    @Test
+    void updateAccessTokensCollapsesDuplicateRefreshesTest() {
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(verifiedUserAuth));
+        when(jwtTool.generateTokenKey()).thenReturn("token-key");
+        when(jwtTool.isTokenValid("12345", "refresh-token-key")).thenReturn(true);
+        when(userRepo.rotateRefreshTokenKey(1L, "refresh-token-key", "token-key")).thenReturn(1);
+        when(jwtTool.createAccessToken(verifiedUserAuth)).thenReturn("access-token");
+        when(jwtTool.createRefreshToken("test@gmail.com", Role.ROLE_USER, "token-key")).thenReturn("refresh-token");
+
+        AccessRefreshTokensDto first = ownSecurityService.updateAccessTokens("12345");
+        AccessRefreshTokensDto second = ownSecurityService.updateAccessTokens("12345");
+
+        assertEquals(first, second);
+        verify(userRepo, times(1)).rotateRefreshTokenKey(1L, "refresh-token-key", "token-key");
+    }
+
+    @Test
+    void updateAccessTokensDuplicateRefreshAfterRotationTest() {
+        UserAuthDto rotated = verifiedUserAuth.toBuilder().refreshTokenKey("token-key").build();
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findAuthByEmail("test@gmail.com"))
+            .thenReturn(Optional.of(verifiedUserAuth), Optional.of(rotated));
+        when(jwtTool.generateTokenKey()).thenReturn("token-key");
+        when(jwtTool.isTokenValid("12345", "refresh-token-key")).thenReturn(true);
+        when(userRepo.rotateRefreshTokenKey(1L, "refresh-token-key", "token-key")).thenReturn(1);
+        when(jwtTool.createRefreshToken("test@gmail.com", Role.ROLE_USER, "token-key")).thenReturn("refresh-token");
+
+        AccessRefreshTokensDto first = ownSecurityService.updateAccessTokens("12345");
+        AccessRefreshTokensDto second = ownSecurityService.updateAccessTokens("12345");
+
+        assertEquals(first, second);
+        verify(jwtTool, never()).isTokenValid("12345", "token-key");
+        verify(userRepo, times(1)).rotateRefreshTokenKey(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void updateAccessTokensOtherTokenIsNotSharedTest() {
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(jwtTool.getEmailOutOfAccessToken("67890")).thenReturn("test@gmail.com");
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(verifiedUserAuth));
+        when(jwtTool.generateTokenKey()).thenReturn("token-key");
+        when(jwtTool.isTokenValid("12345", "refresh-token-key")).thenReturn(true);
+        when(jwtTool.isTokenValid("67890", "refresh-token-key")).thenReturn(false);
+        when(userRepo.rotateRefreshTokenKey(1L, "refresh-token-key", "token-key")).thenReturn(1);
+
+        ownSecurityService.updateAccessTokens("12345");
+
+        assertThrows(BadRefreshTokenException.class, () -> ownSecurityService.updateAccessTokens("67890"));
+        verify(userRepo, times(1)).rotateRefreshTokenKey(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void updateAccessTokensConcurrentRefreshesShareRotationTest() throws Exception {
+        CountDownLatch rotationStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(verifiedUserAuth));
+        when(jwtTool.generateTokenKey()).thenReturn("token-key");
+        when(jwtTool.isTokenValid("12345", "refresh-token-key")).thenReturn(true);
+        when(userRepo.rotateRefreshTokenKey(1L, "refresh-token-key", "token-key")).thenAnswer(invocation -> {
+            rotationStarted.countDown();
+            release.await();
+            return 1;
+        });
+        when(jwtTool.createRefreshToken("test@gmail.com", Role.ROLE_USER, "token-key")).thenReturn("refresh-token");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<AccessRefreshTokensDto> first =
+                executor.submit(() -> ownSecurityService.updateAccessTokens("12345"));
+            assertTrue(rotationStarted.await(1, TimeUnit.SECONDS));
+            Future<AccessRefreshTokensDto> second =
+                executor.submit(() -> ownSecurityService.updateAccessTokens("12345"));
+            release.countDown();
+
+            assertEquals(first.get(1, TimeUnit.SECONDS), second.get(1, TimeUnit.SECONDS));
+            verify(userRepo, times(1)).rotateRefreshTokenKey(1L, "refresh-token-key", "token-key");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void updateAccessTokensLostRotationTest() {
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(verifiedUserAuth));
+        when(jwtTool.generateTokenKey()).thenReturn("token-key");
+        when(jwtTool.isTokenValid("12345", "refresh-token-key")).thenReturn(true);
+        when(userRepo.rotateRefreshTokenKey(1L, "refresh-token-key", "token-key")).thenReturn(0);
+
+        assertThrows(BadRefreshTokenException.class, () -> ownSecurityService.updateAccessTokens("12345"));
+        assertThrows(BadRefreshTokenException.class, () -> ownSecurityService.updateAccessTokens("12345"));
+        verify(userRepo, times(2)).rotateRefreshTokenKey(1L, "refresh-token-key", "token-key");
     }
 
     @Test
@@ -273,29 +406,42 @@ class OwnSecurityServiceImplTest {
             () -> ownSecurityService.updateAccessTokens("12345"));
     }
 
+    @Test
+    void updateAccessTokensUnknownUserTest() {
+        when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.empty());
+        assertThrows(BadRefreshTokenException.class,
+            () -> ownSecurityService.updateAccessTokens("12345"));
+    }
+
     @Test
     void updateAccessTokensBadRefreshTokenTest() {
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
-        when(jwtTool.isTokenValid("12345", verifiedUser.getRefreshTokenKey())).thenReturn(false);
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(verifiedUserAuth));
+        when(jwtTool.isTokenValid("12345", "refresh-token-key")).thenReturn(false);
+        assertThrows(BadRefreshTokenException.class,
+            () -> ownSecurityService.updateAccessTokens("12345"));
         assertThrows(BadRefreshTokenException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
+        verify(jwtTool, times(2)).isTokenValid("12345", "refresh-token-key");
+        verify(userRepo, never()).rotateRefreshTokenKey(anyLong(), anyString(), anyString());
+        verify(userService, never()).updateUserRefreshToken(anyString(), anyLong());
     }
 
     @Test
     void updateAccessTokensBlockedUserTest() {
-        verifiedUser.setUserStatus(UserStatus.BLOCKED);
+        UserAuthDto user = verifiedUserAuth.toBuilder().userStatus(UserStatus.BLOCKED).build();
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(user));
         assertThrows(UserBlockedException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
     }
 
     @Test
     void updateAccessTokensDeactivatedUserTest() {
-        verifiedUser.setUserStatus(UserStatus.DEACTIVATED);
+        UserAuthDto user = verifiedUserAuth.toBuilder().userStatus(UserStatus.DEACTIVATED).build();
         when(jwtTool.getEmailOutOfAccessToken("12345")).thenReturn("test@gmail.com");
-        when(userService.findByEmail("test@gmail.com")).thenReturn(verifiedUser);
+        when(userRepo.findAuthByEmail("test@gmail.com")).thenReturn(Optional.of(user));
         assertThrows(UserDeactivatedException.class,
             () -> ownSecurityService.updateAccessTokens("12345"));
     }
@@ -305,6 +451,8 @@ class OwnSecurityServiceImplTest {
         when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
         ownSecurityService.updatePassword("password", 1L);
         verify(ownSecurityRepo).updatePassword("encodedPassword", 1L);
+        verify(applicationEventPublisher).publishEvent(argThat(
+            (UserChangedEvent event) -> Long.valueOf(1L).equals(event.getUserId()) && event.getEmail() == null));
     }
 
     @Test
@@ -3,24 +3,32 @@ package greencity.security.service;
 import greencity.ModelUtils;
 import greencity.entity.RestorePasswordEmail;
 import greencity.entity.User;
+import greencity.events.UserChangedEvent;
 import greencity.exception.exceptions.BadRequestException;
 import greencity.exception.exceptions.NotFoundException;
 import greencity.exception.exceptions.UserActivationEmailTokenExpiredException;
 import greencity.exception.exceptions.WrongEmailException;
+import greencity.repository.PurgeCheckpointRepo;
 import greencity.repository.UserRepo;
+import greencity.security.events.UpdatePasswordEvent;
 import greencity.security.jwt.JwtTool;
 import greencity.security.repository.OwnSecurityRepo;
 import greencity.security.repository.RestorePasswordEmailRepo;
+import greencity.service.ChunkedPurgeExecutor;
 import greencity.service.EmailService;
+import greencity.service.ScheduledJobLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.Optional;
 
 import static greencity.ModelUtils.*;
@@ -28,6 +36,7 @@ import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.*;
 
@@ -47,6 +56,11 @@ class PasswordRecoveryServiceImplTest {
     private OwnSecurityRepo ownSecurityRepo;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private ScheduledJobLock scheduledJobLock;
+    @Spy
+    private ChunkedPurgeExecutor purgeExecutor = new ChunkedPurgeExecutor(1000, 0L, 60000L,
+        mock(PurgeCheckpointRepo.class), new SimpleMeterRegistry());
     @InjectMocks
     private PasswordRecoveryServiceImpl passwordRecoveryService;
 
@@ -99,8 +113,21 @@ class PasswordRecoveryServiceImplTest {
 
     @Test
     void deleteAllExpiredPasswordResetTokensTest() {
+        when(scheduledJobLock.runLocked(eq("expired-password-reset-tokens"), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                invocation.<Runnable>getArgument(3).run();
+                return true;
+            });
+        when(restorePasswordEmailRepo.findExpiredPasswordResetTokenIds(0L, 1000)).thenReturn(List.of(1L));
+        passwordRecoveryService.deleteAllExpiredPasswordResetTokens();
+        verify(restorePasswordEmailRepo).deleteExpiredPasswordResetTokensByIds(List.of(1L));
+    }
+
+    @Test
+    void deleteAllExpiredPasswordResetTokensLeaseHeldByAnotherNodeTest() {
+        when(scheduledJobLock.runLocked(eq("expired-password-reset-tokens"), any(), any(), any())).thenReturn(false);
         passwordRecoveryService.deleteAllExpiredPasswordResetTokens();
-        verify(restorePasswordEmailRepo).deleteAllExpiredPasswordResetTokens();
+        verifyNoInteractions(restorePasswordEmailRepo);
     }
 
     @Test
@@ -127,7 +154,8 @@ class PasswordRecoveryServiceImplTest {
         verify(passwordEncoder).encode(TEST_OWN_RESTORE_DTO.getPassword());
         verify(ownSecurityRepo).findByUserId(2L);
         verify(ownSecurityRepo).save(TEST_OWN_SECURITY);
-        verify(applicationEventPublisher).publishEvent(any());
+        verify(applicationEventPublisher).publishEvent(any(UpdatePasswordEvent.class));
+        verify(applicationEventPublisher).publishEvent(any(UserChangedEvent.class));
         verify(restorePasswordEmailRepo).delete(TEST_RESTORE_PASSWORD_EMAIL);
     }
 
@@ -155,7 +183,8 @@ class PasswordRecoveryServiceImplTest {
         verify(passwordEncoder).encode(TEST_OWN_RESTORE_DTO.getPassword());
         verify(ownSecurityRepo).findByUserId(2L);
         verify(userRepo).findById(2L);
-        verify(applicationEventPublisher).publishEvent(any());
+        verify(applicationEventPublisher).publishEvent(any(UpdatePasswordEvent.class));
+        verify(applicationEventPublisher).publishEvent(any(UserChangedEvent.class));
         verify(restorePasswordEmailRepo).delete(TEST_RESTORE_PASSWORD_EMAIL);
     }
 
@@ -5,18 +5,26 @@ import greencity.dto.ubs.UbsProfileCreationDto;
 import greencity.entity.User;
 import greencity.entity.VerifyEmail;
 import greencity.enums.UserStatus;
+import greencity.events.UserChangedEvent;
 import greencity.exception.exceptions.UserActivationEmailTokenExpiredException;
+import greencity.repository.PurgeCheckpointRepo;
 import greencity.repository.UserRepo;
 import greencity.security.repository.VerifyEmailRepo;
+import greencity.service.ChunkedPurgeExecutor;
+import greencity.service.ScheduledJobLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static greencity.ModelUtils.getUbsProfileCreationDto;
@@ -32,6 +40,13 @@ class VerifyEmailServiceImplTest {
     private ModelMapper modelMapper;
     @Mock
     private UserRepo userRepo;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private ScheduledJobLock scheduledJobLock;
+    @Spy
+    private ChunkedPurgeExecutor purgeExecutor = new ChunkedPurgeExecutor(2, 0L, 60000L,
+        mock(PurgeCheckpointRepo.class), new SimpleMeterRegistry());
 
     private final User user = User.builder()
         .id(1L)
@@ -54,6 +69,7 @@ class VerifyEmailServiceImplTest {
         verifyEmailService.verifyByToken(1L, "token");
         verify(verifyEmailRepo, times(1)).deleteVerifyEmailByTokenAndUserId(1L, "token");
         verify(userRepo, times(1)).findById(1L);
+        verify(applicationEventPublisher).publishEvent(any(UserChangedEvent.class));
     }
 
     @Test
@@ -66,4 +82,38 @@ class VerifyEmailServiceImplTest {
             () -> verifyEmailService.verifyByToken(1L, "token"));
     }
 
+    @Test
+    void deleteAllUsersThatDidNotVerifyEmailTest() {
+        when(verifyEmailRepo.findUserIdsWithExpiredVerifyEmail(0L, 2)).thenReturn(List.of(1L, 2L));
+        when(verifyEmailRepo.findUserIdsWithExpiredVerifyEmail(2L, 2)).thenReturn(List.of(3L));
+        when(verifyEmailRepo.deleteUsersThatDidNotVerifyEmailByIds(List.of(1L, 2L))).thenReturn(2);
+        when(verifyEmailRepo.deleteUsersThatDidNotVerifyEmailByIds(List.of(3L))).thenReturn(1);
+
+        Assertions.assertEquals(3, verifyEmailService.deleteAllUsersThatDidNotVerifyEmail());
+        verify(applicationEventPublisher).publishEvent(argThat((UserChangedEvent event) -> event.isAllUsers()));
+    }
+
+    @Test
+    void deleteNotVerifiedUsersTest() {
+        when(scheduledJobLock.runLocked(eq("not-verified-users"), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                invocation.<Runnable>getArgument(3).run();
+                return true;
+            });
+        when(verifyEmailRepo.findUserIdsWithExpiredVerifyEmail(0L, 2)).thenReturn(List.of(1L));
+        when(verifyEmailRepo.deleteUsersThatDidNotVerifyEmailByIds(List.of(1L))).thenReturn(1);
+
+        verifyEmailService.deleteNotVerifiedUsers();
+
+        verify(verifyEmailRepo).deleteUsersThatDidNotVerifyEmailByIds(List.of(1L));
+    }
+
+    @Test
+    void deleteNotVerifiedUsersLeaseHeldByAnotherNodeTest() {
+        when(scheduledJobLock.runLocked(eq("not-verified-users"), any(), any(), any())).thenReturn(false);
+
+        verifyEmailService.deleteNotVerifiedUsers();
+
+        verifyNoInteractions(verifyEmailRepo);
+    }
 }
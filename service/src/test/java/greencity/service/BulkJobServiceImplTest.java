@@ -0,0 +1,292 @@
+package greencity.service;
+
+import greencity.constant.ErrorMessage;
+import greencity.dto.user.BulkJobDto;
+import greencity.dto.user.UserActivationDto;
+import greencity.dto.user.UserDeactivationReasonDto;
+import greencity.dto.user.UserRecipientDto;
+import greencity.entity.BulkJob;
+import greencity.enums.BulkJobStatus;
+import greencity.enums.BulkJobType;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.events.UserChangedEvent;
+import greencity.exception.exceptions.BadRequestException;
+import greencity.exception.exceptions.NotFoundException;
+import greencity.repository.BulkJobRepo;
+import greencity.repository.UserRepo;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkJobServiceImplTest {
+    private static final String ADMIN_EMAIL = "admin@gmail.com";
+
+    @Mock
+    private BulkJobRepo bulkJobRepo;
+    @Mock
+    private UserRepo userRepo;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private Executor rejectingExecutor;
+    @Mock
+    private ScheduledJobLock scheduledJobLock;
+
+    private BulkJob savedJob;
+    private BulkJobServiceImpl bulkJobService;
+
+    @BeforeEach
+    void setUp() {
+        bulkJobService = service(Runnable::run);
+        when(bulkJobRepo.save(any(BulkJob.class))).thenAnswer(invocation -> {
+            savedJob = invocation.getArgument(0);
+            savedJob.setId(1L);
+            return savedJob;
+        });
+        when(bulkJobRepo.claim(eq(1L), eq(BulkJobStatus.PENDING), eq(BulkJobStatus.RUNNING), any())).thenReturn(1);
+        when(bulkJobRepo.findById(1L)).thenAnswer(invocation -> Optional.ofNullable(savedJob));
+        when(bulkJobRepo.updateProgress(eq(1L), anyInt(), anyInt(), anyInt(), anyInt(), any())).thenReturn(1);
+    }
+
+    @Test
+    void submitDeactivationChangesUsersInChunksTest() {
+        when(userRepo.findRecipientsByIds(List.of(1L, 2L))).thenReturn(List.of(
+            recipient(1L, "admin@gmail.com", UserStatus.ACTIVATED),
+            recipient(2L, "user2@gmail.com", UserStatus.ACTIVATED)));
+        when(userRepo.findRecipientsByIds(List.of(3L, 4L))).thenReturn(List.of(
+            recipient(3L, "user3@gmail.com", UserStatus.DEACTIVATED),
+            recipient(4L, "user4@gmail.com", UserStatus.CREATED)));
+        when(userRepo.findRecipientsByIds(List.of(5L))).thenReturn(Collections.emptyList());
+
+        BulkJobDto result = bulkJobService.submitDeactivation(List.of(1L, 2L, 3L, 2L, 4L, 5L), ADMIN_EMAIL);
+
+        assertEquals(1L, result.getId());
+        assertEquals(BulkJobType.DEACTIVATE, result.getType());
+        assertEquals(5, result.getTotal());
+        verify(userRepo).updateStatusByIds(List.of(2L), UserStatus.DEACTIVATED);
+        verify(userRepo).updateStatusByIds(List.of(4L), UserStatus.DEACTIVATED);
+        ArgumentCaptor<UserDeactivationReasonDto> emails = ArgumentCaptor.forClass(UserDeactivationReasonDto.class);
+        verify(emailService, times(2)).sendReasonOfDeactivation(emails.capture());
+        assertEquals(List.of("user2@gmail.com", "user4@gmail.com"),
+            emails.getAllValues().stream().map(UserDeactivationReasonDto::getEmail).toList());
+        assertEquals("en", emails.getAllValues().get(1).getLang());
+        verify(bulkJobRepo).updateProgress(eq(1L), eq(2), eq(1), eq(1), eq(0), any());
+        verify(bulkJobRepo).updateProgress(eq(1L), eq(4), eq(2), eq(2), eq(0), any());
+        verify(bulkJobRepo).updateProgress(eq(1L), eq(5), eq(2), eq(2), eq(0), any());
+        verify(bulkJobRepo).finish(eq(1L), eq(BulkJobStatus.COMPLETED), isNull(), any());
+        ArgumentCaptor<UserChangedEvent> events = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(applicationEventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(2L, 4L), events.getAllValues().stream().map(UserChangedEvent::getUserId).toList());
+    }
+
+    @Test
+    void submitActivationNotifiesUsersTest() {
+        when(userRepo.findRecipientsByIds(List.of(1L))).thenReturn(List.of(
+            recipient(1L, "user1@gmail.com", UserStatus.DEACTIVATED)));
+
+        bulkJobService.submitActivation(List.of(1L), ADMIN_EMAIL);
+
+        verify(userRepo).updateStatusByIds(List.of(1L), UserStatus.ACTIVATED);
+        verify(emailService).sendMessageOfActivation(UserActivationDto.builder()
+            .email("user1@gmail.com")
+            .name("user1@gmail.com")
+            .lang("ua")
+            .build());
+    }
+
+    @Test
+    void submitRoleChangeDoesNotSendEmailsTest() {
+        when(userRepo.findRecipientsByIds(List.of(1L, 2L))).thenReturn(List.of(
+            recipient(1L, "user1@gmail.com", UserStatus.ACTIVATED),
+            new UserRecipientDto(2L, "user2", "user2@gmail.com", Role.ROLE_MODERATOR, UserStatus.ACTIVATED, "ua")));
+
+        bulkJobService.submitRoleChange(List.of(1L, 2L), Role.ROLE_MODERATOR, ADMIN_EMAIL);
+
+        verify(userRepo).updateRoleByIds(List.of(1L), Role.ROLE_MODERATOR);
+        verifyNoInteractions(emailService);
+        verify(bulkJobRepo).finish(eq(1L), eq(BulkJobStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    void notificationIsRetriedWhenMailQueueIsFullTest() {
+        when(userRepo.findRecipientsByIds(List.of(1L))).thenReturn(List.of(
+            recipient(1L, "user1@gmail.com", UserStatus.ACTIVATED)));
+        doThrow(new RejectedExecutionException()).when(emailService).sendReasonOfDeactivation(any());
+
+        bulkJobService.submitDeactivation(List.of(1L), ADMIN_EMAIL);
+
+        verify(emailService, times(5)).sendReasonOfDeactivation(any());
+        verify(bulkJobRepo).updateProgress(eq(1L), eq(1), eq(1), eq(0), eq(1), any());
+    }
+
+    @Test
+    void jobFailsWhenChunkFailsTest() {
+        when(userRepo.findRecipientsByIds(List.of(1L))).thenThrow(new IllegalStateException("connection lost"));
+
+        bulkJobService.submitDeactivation(List.of(1L), ADMIN_EMAIL);
+
+        verify(bulkJobRepo).finish(eq(1L), eq(BulkJobStatus.FAILED), eq("connection lost"), any());
+        verify(bulkJobRepo, never()).updateProgress(any(), anyInt(), anyInt(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void jobFinishedElsewhereStopsAfterChunkTest() {
+        when(userRepo.findRecipientsByIds(any())).thenReturn(Collections.emptyList());
+        when(bulkJobRepo.updateProgress(eq(1L), anyInt(), anyInt(), anyInt(), anyInt(), any())).thenReturn(0);
+
+        bulkJobService.submitDeactivation(List.of(1L, 2L, 3L), ADMIN_EMAIL);
+
+        verify(userRepo).findRecipientsByIds(List.of(1L, 2L));
+        verify(userRepo, never()).findRecipientsByIds(List.of(3L));
+        verify(bulkJobRepo, never()).finish(any(), any(), any(), any());
+    }
+
+    @Test
+    void jobClaimedByAnotherWorkerIsSkippedTest() {
+        when(bulkJobRepo.claim(eq(1L), eq(BulkJobStatus.PENDING), eq(BulkJobStatus.RUNNING), any())).thenReturn(0);
+
+        bulkJobService.submitDeactivation(List.of(1L), ADMIN_EMAIL);
+
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    void submitFailsWhenQueueIsFullTest() {
+        doThrow(new RejectedExecutionException()).when(rejectingExecutor).execute(any());
+        bulkJobService = service(rejectingExecutor);
+
+        BulkJobDto result = bulkJobService.submitActivation(List.of(1L), ADMIN_EMAIL);
+
+        assertEquals(BulkJobStatus.FAILED, result.getStatus());
+        assertEquals(ErrorMessage.BULK_JOB_QUEUE_IS_FULL, result.getErrorMessage());
+        verify(bulkJobRepo).finish(eq(1L), eq(BulkJobStatus.FAILED), eq(ErrorMessage.BULK_JOB_QUEUE_IS_FULL), any());
+    }
+
+    @Test
+    void submitRejectsEmptyAndTooLargeListsTest() {
+        List<Long> empty = List.of();
+        List<Long> tooLarge = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L);
+
+        assertThrows(BadRequestException.class, () -> bulkJobService.submitDeactivation(empty, ADMIN_EMAIL));
+        assertThrows(BadRequestException.class, () -> bulkJobService.submitDeactivation(tooLarge, ADMIN_EMAIL));
+        verify(bulkJobRepo, never()).save(any());
+    }
+
+    @Test
+    void failStaleJobsFailsRunningJobsWithoutProgressTest() {
+        runWithLease();
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        LocalDateTime before = LocalDateTime.now();
+
+        bulkJobService.failStaleJobs();
+
+        verify(bulkJobRepo).finishStale(eq(BulkJobStatus.RUNNING), staleBefore.capture(), eq(BulkJobStatus.FAILED),
+            eq(ErrorMessage.BULK_JOB_IS_STALE), any());
+        assertFalse(staleBefore.getValue().isBefore(before.minusMinutes(30)));
+        assertTrue(staleBefore.getValue().isBefore(before.minusMinutes(29)));
+    }
+
+    @Test
+    void failStaleJobsQueuesPendingJobsAgainTest() {
+        runWithLease();
+        savedJob = BulkJob.builder().id(1L).type(BulkJobType.ACTIVATE).status(BulkJobStatus.PENDING)
+            .userIds(new Long[] {2L}).createdBy(ADMIN_EMAIL).total(1).build();
+        when(bulkJobRepo.findIdsByStatusCreatedBefore(eq(BulkJobStatus.PENDING), any())).thenReturn(List.of(1L, 3L));
+        when(userRepo.findRecipientsByIds(List.of(2L))).thenReturn(List.of(
+            recipient(2L, "user2@gmail.com", UserStatus.DEACTIVATED)));
+
+        bulkJobService.failStaleJobs();
+
+        verify(userRepo).updateStatusByIds(List.of(2L), UserStatus.ACTIVATED);
+        verify(bulkJobRepo).finish(eq(1L), eq(BulkJobStatus.COMPLETED), isNull(), any());
+        verify(bulkJobRepo).claim(eq(3L), eq(BulkJobStatus.PENDING), eq(BulkJobStatus.RUNNING), any());
+        verify(bulkJobRepo, never()).finish(eq(3L), any(), any(), any());
+    }
+
+    @Test
+    void failStaleJobsLeavesPendingJobsWhenQueueIsFullTest() {
+        doThrow(new RejectedExecutionException()).when(rejectingExecutor).execute(any());
+        bulkJobService = service(rejectingExecutor);
+        runWithLease();
+        when(bulkJobRepo.findIdsByStatusCreatedBefore(eq(BulkJobStatus.PENDING), any())).thenReturn(List.of(1L));
+
+        bulkJobService.failStaleJobs();
+
+        verify(bulkJobRepo, never()).claim(any(), any(), any(), any());
+        verify(bulkJobRepo, never()).finish(any(), any(), any(), any());
+    }
+
+    @Test
+    void failStaleJobsIsSkippedWithoutLeaseTest() {
+        when(scheduledJobLock.runLocked(eq("stale-bulk-jobs"), any(), any(), any())).thenReturn(false);
+
+        bulkJobService.failStaleJobs();
+
+        verify(bulkJobRepo, never()).finishStale(any(), any(), any(), any(), any());
+        verify(bulkJobRepo, never()).findIdsByStatusCreatedBefore(any(), any());
+    }
+
+    @Test
+    void getJobTest() {
+        BulkJob job = BulkJob.builder().id(2L).status(BulkJobStatus.RUNNING).total(10).processed(4).build();
+        when(bulkJobRepo.findById(2L)).thenReturn(Optional.of(job));
+
+        BulkJobDto result = bulkJobService.getJob(2L);
+
+        assertEquals(BulkJobStatus.RUNNING, result.getStatus());
+        assertEquals(4, result.getProcessed());
+        assertThrows(NotFoundException.class, () -> bulkJobService.getJob(3L));
+    }
+
+    private void runWithLease() {
+        when(scheduledJobLock.runLocked(eq("stale-bulk-jobs"), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                invocation.<Runnable>getArgument(3).run();
+                return true;
+            });
+    }
+
+    private BulkJobServiceImpl service(Executor executor) {
+        return new BulkJobServiceImpl(bulkJobRepo, userRepo, emailService, executor, transactionManager,
+            new ModelMapper(), applicationEventPublisher, scheduledJobLock, 2, 10, 0L, 1800000L);
+    }
+
+    private static UserRecipientDto recipient(Long id, String email, UserStatus status) {
+        return new UserRecipientDto(id, email, email, Role.ROLE_USER, status, id == 4L ? null : "ua");
+    }
+}
@@ -0,0 +1,173 @@
+package greencity.service;
+
+import greencity.repository.PurgeCheckpointRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ChunkedPurgeExecutorTest {
+    private static final String JOB = "test-job";
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private PurgeCheckpointRepo checkpointRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChunkedPurgeExecutor purgeExecutor;
+    private List<Long> rows;
+    private List<List<Long>> deletedBatches;
+    private Map<String, Long> checkpoints;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(clock.millis()).thenReturn(0L);
+        checkpoints = new HashMap<>();
+        when(checkpointRepo.findLastId(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(invocation.<String>getArgument(0))));
+        doAnswer(invocation -> checkpoints.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(checkpointRepo).saveLastId(anyString(), any());
+        doAnswer(invocation -> checkpoints.remove(invocation.<String>getArgument(0)))
+            .when(checkpointRepo).deleteByJob(anyString());
+        purgeExecutor = newPurgeExecutor();
+        rows = new ArrayList<>(List.of(1L, 3L, 4L, 7L, 9L));
+        deletedBatches = new ArrayList<>();
+    }
+
+    @Test
+    void purgeDeletesInIdOrderedBatchesTest() {
+        PurgeRunStats stats = purgeExecutor.purge(JOB, this::findIds, this::delete);
+
+        assertEquals(List.of(List.of(1L, 3L), List.of(4L, 7L), List.of(9L)), deletedBatches);
+        assertEquals(5, stats.rows());
+        assertEquals(3, stats.batches());
+        assertEquals(9L, stats.lastId());
+        assertTrue(stats.completed());
+        assertTrue(rows.isEmpty());
+        assertEquals(5, meterRegistry.get("greencity.purge.rows").tag("job", JOB).counter().count());
+        assertEquals(1, meterRegistry.get("greencity.purge.duration").tag("job", JOB).timer().count());
+        assertEquals(stats, purgeExecutor.getLastRun(JOB).orElseThrow());
+    }
+
+    @Test
+    void purgeResumesAfterExceededBudgetTest() {
+        when(clock.millis()).thenReturn(0L, 20_000L);
+
+        PurgeRunStats first = purgeExecutor.purge(JOB, this::findIds, this::delete);
+
+        assertFalse(first.completed());
+        assertEquals(2, first.rows());
+        assertEquals(3L, first.lastId());
+
+        rows.add(2L);
+        when(clock.millis()).thenReturn(0L);
+        PurgeRunStats second = purgeExecutor.purge(JOB, this::findIds, this::delete);
+
+        assertTrue(second.completed());
+        assertEquals(3, second.rows());
+        assertEquals(List.of(4L, 7L), deletedBatches.get(1));
+        assertEquals(List.of(2L), rows);
+
+        purgeExecutor.purge(JOB, this::findIds, this::delete);
+
+        assertTrue(rows.isEmpty());
+    }
+
+    @Test
+    void purgeResumesAfterFailedBatchTest() {
+        ToIntFunction<List<Long>> failing = ids -> {
+            if (ids.contains(4L)) {
+                throw new IllegalStateException("lock timeout");
+            }
+            return delete(ids);
+        };
+
+        assertThrows(IllegalStateException.class, () -> purgeExecutor.purge(JOB, this::findIds, failing));
+        assertFalse(purgeExecutor.getLastRun(JOB).orElseThrow().completed());
+
+        PurgeRunStats stats = purgeExecutor.purge(JOB, this::findIds, this::delete);
+
+        assertEquals(List.of(List.of(1L, 3L), List.of(4L, 7L), List.of(9L)), deletedBatches);
+        assertEquals(3, stats.rows());
+        assertTrue(stats.completed());
+    }
+
+    @Test
+    void purgeResumesFromSavedCheckpointAfterRestartTest() {
+        when(clock.millis()).thenReturn(0L, 20_000L);
+
+        PurgeRunStats first = purgeExecutor.purge(JOB, this::findIds, this::delete);
+
+        assertFalse(first.completed());
+        assertEquals(3L, checkpoints.get(JOB));
+
+        rows.add(2L);
+        when(clock.millis()).thenReturn(0L);
+        PurgeRunStats second = newPurgeExecutor().purge(JOB, this::findIds, this::delete);
+
+        assertTrue(second.completed());
+        assertEquals(List.of(4L, 7L), deletedBatches.get(1));
+        assertEquals(List.of(2L), rows);
+        assertTrue(checkpoints.isEmpty());
+    }
+
+    @Test
+    void purgeWithNothingToDeleteTest() {
+        rows.clear();
+
+        PurgeRunStats stats = purgeExecutor.purge(JOB, this::findIds, this::delete);
+
+        assertEquals(0, stats.rows());
+        assertEquals(0, stats.batches());
+        assertTrue(stats.completed());
+        assertTrue(deletedBatches.isEmpty());
+    }
+
+    private ChunkedPurgeExecutor newPurgeExecutor() {
+        return new ChunkedPurgeExecutor(2, Duration.ZERO, Duration.ofSeconds(10), clock, checkpointRepo,
+            meterRegistry);
+    }
+
+    private List<Long> findIds(Long afterId, int limit) {
+        return rows.stream()
+            .filter(id -> id > afterId)
+            .sorted()
+            .limit(limit)
+            .toList();
+    }
+
+    private int delete(List<Long> ids) {
+        deletedBatches.add(ids);
+        int deleted = 0;
+        for (Long id : ids) {
+            if (rows.remove(id)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
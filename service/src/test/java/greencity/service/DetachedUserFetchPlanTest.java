@@ -0,0 +1,174 @@
+package greencity.service;
+
+import greencity.dto.user.UserVO;
+import greencity.entity.Language;
+import greencity.entity.OwnSecurity;
+import greencity.entity.User;
+import greencity.entity.UserDeactivationReason;
+import greencity.enums.EmailNotification;
+import greencity.enums.Role;
+import greencity.enums.UserStatus;
+import greencity.mapping.UserVOMapper;
+import greencity.repository.UserRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.LazyInitializationException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Loads users through the repository methods used by the services, with no
+ * session open around them, as a request sees them with open-in-view off. Every
+ * method must load the user with one query, and the loaded user must be mapped
+ * without a {@link LazyInitializationException}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class DetachedUserFetchPlanTest {
+    private static final String EMAIL = "detached@mail.com";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static ConfigurableApplicationContext context;
+    private static UserRepo userRepo;
+    private static Statistics statistics;
+    private static ModelMapper modelMapper;
+    private static Long userId;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(JpaConfig.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "spring.datasource.username=" + POSTGRES.getUsername(),
+                "spring.datasource.password=" + POSTGRES.getPassword(),
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "spring.main.banner-mode=off")
+            .run();
+        userRepo = context.getBean(UserRepo.class);
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        modelMapper = new ModelMapper();
+        modelMapper.addConverter(new UserVOMapper());
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        userId = new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).execute(status -> {
+            Language language = Language.builder().code("en").build();
+            entityManager.persist(language);
+            User user = User.builder()
+                .name("Detached")
+                .email(EMAIL)
+                .role(Role.ROLE_USER)
+                .userStatus(UserStatus.ACTIVATED)
+                .emailNotification(EmailNotification.DISABLED)
+                .dateOfRegistration(LocalDateTime.now())
+                .refreshTokenKey("refresh-key")
+                .language(language)
+                .build();
+            user.setOwnSecurity(OwnSecurity.builder().password("hash").user(user).build());
+            entityManager.persist(user);
+            entityManager.persist(UserDeactivationReason.builder()
+                .reason("reason")
+                .dateTimeOfDeactivation(LocalDateTime.now())
+                .user(user)
+                .build());
+            return user.getId();
+        });
+    }
+
+    @AfterAll
+    static void stopContext() {
+        context.close();
+    }
+
+    @Test
+    void findByIdLoadsMappableUserWithOneQueryTest() {
+        User user = load(() -> userRepo.findById(userId).orElseThrow());
+
+        assertMappable(user);
+    }
+
+    @Test
+    void findByEmailLoadsMappableUserWithOneQueryTest() {
+        User user = load(() -> userRepo.findByEmail(EMAIL).orElseThrow());
+
+        assertMappable(user);
+    }
+
+    @Test
+    void findNotDeactivatedByEmailLoadsMappableUserWithOneQueryTest() {
+        User user = load(() -> userRepo.findNotDeactivatedByEmail(EMAIL).orElseThrow());
+
+        assertMappable(user);
+    }
+
+    @Test
+    void findAllByEmailNotificationLoadsMappableUsersWithOneQueryTest() {
+        List<User> users = load(() -> userRepo.findAllByEmailNotification(EmailNotification.DISABLED));
+
+        assertEquals(1, users.size());
+        assertMappable(users.get(0));
+    }
+
+    @Test
+    void lazyAssociationOutsideOfSessionFailsTest() {
+        User user = load(() -> userRepo.findById(userId).orElseThrow());
+
+        List<UserDeactivationReason> reasons = user.getUserDeactivationReasons();
+        assertThrows(LazyInitializationException.class, reasons::size);
+    }
+
+    private static <T> T load(Supplier<T> query) {
+        statistics.clear();
+        T loaded = query.get();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return loaded;
+    }
+
+    private static void assertMappable(User user) {
+        UserVO userVO = assertDoesNotThrow(() -> modelMapper.map(user, UserVO.class));
+        assertDoesNotThrow(user::hashCode);
+        assertDoesNotThrow(() -> user.getLanguage().toString());
+        assertEquals("en", userVO.getLanguageVO().getCode());
+        assertEquals("hash", userVO.getOwnSecurity().getPassword());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepo.class, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = UserRepo.class))
+    static class JpaConfig {
+    }
+}
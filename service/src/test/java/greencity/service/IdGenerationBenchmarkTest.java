@@ -0,0 +1,230 @@
+package greencity.service;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares inserts of users with identity ids and with pooled sequence ids on
+ * Postgres, with the batching settings of the application. A user is inserted
+ * with its password row, as on sign up. The throughput of both variants is
+ * written to the log, and the statement counts are checked.
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+class IdGenerationBenchmarkTest {
+    private static final int BULK_USERS = 2000;
+    private static final int SIGN_UPS = 300;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static ConfigurableApplicationContext context;
+    private static EntityManagerFactory entityManagerFactory;
+    private static EntityManager entityManager;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(BenchmarkConfig.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "spring.datasource.username=" + POSTGRES.getUsername(),
+                "spring.datasource.password=" + POSTGRES.getPassword(),
+                "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "spring.jpa.properties.hibernate.order_inserts=true",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "spring.main.banner-mode=off")
+            .run();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @AfterAll
+    static void stopContext() {
+        context.close();
+    }
+
+    @Test
+    void bulkInsertWithSequenceIdsIsBatchedTest() {
+        bulkInsert("warm-up", IdentityUser::new);
+        bulkInsert("warm-up", SequenceUser::new);
+
+        long identityStatements = bulkInsert("identity", IdentityUser::new);
+        long sequenceStatements = bulkInsert("sequence", SequenceUser::new);
+
+        assertTrue(identityStatements >= 2L * BULK_USERS);
+        assertTrue(sequenceStatements * 10 < identityStatements);
+    }
+
+    @Test
+    void signUpWithSequenceIdsTest() {
+        signUps("warm-up", IdentityUser::new);
+        signUps("warm-up", SequenceUser::new);
+
+        long identityStatements = signUps("identity", IdentityUser::new);
+        long sequenceStatements = signUps("sequence", SequenceUser::new);
+
+        assertTrue(sequenceStatements <= identityStatements + 2L * SIGN_UPS / 50 + 2);
+    }
+
+    private static long bulkInsert(String variant, Function<String, Object> newUser) {
+        Statistics statistics = statistics();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < BULK_USERS; i++) {
+                entityManager.persist(newUser.apply(variant + "-bulk-" + System.nanoTime() + "@mail.com"));
+            }
+            entityManager.flush();
+        });
+        return report("bulk insert", variant, BULK_USERS, start, statistics);
+    }
+
+    private static long signUps(String variant, Function<String, Object> newUser) {
+        Statistics statistics = statistics();
+        long start = System.nanoTime();
+        for (int i = 0; i < SIGN_UPS; i++) {
+            String email = variant + "-sign-up-" + System.nanoTime() + "@mail.com";
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.persist(newUser.apply(email));
+                entityManager.flush();
+            });
+        }
+        return report("sign up", variant, SIGN_UPS, start, statistics);
+    }
+
+    private static Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static long report(String operation, String variant, int users, long start, Statistics statistics) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long statements = statistics.getPrepareStatementCount();
+        log.info("{} with {} ids: {} users/s, {} statements for {} users", operation, variant,
+            Math.round(users / seconds), statements, users);
+        return statements;
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = IdGenerationBenchmarkTest.class)
+    static class BenchmarkConfig {
+    }
+
+    @Entity
+    @Table(name = "benchmark_identity_users")
+    static class IdentityUser {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        private String email;
+        @OneToOne(mappedBy = "user", cascade = CascadeType.PERSIST)
+        private IdentityPassword password;
+
+        protected IdentityUser() {
+        }
+
+        IdentityUser(String email) {
+            this.email = email;
+            this.password = new IdentityPassword(this);
+        }
+    }
+
+    @Entity
+    @Table(name = "benchmark_identity_passwords")
+    static class IdentityPassword {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        private String password;
+        @OneToOne
+        private IdentityUser user;
+
+        protected IdentityPassword() {
+        }
+
+        IdentityPassword(IdentityUser user) {
+            this.password = "hash";
+            this.user = user;
+        }
+    }
+
+    @Entity
+    @Table(name = "benchmark_sequence_users")
+    static class SequenceUser {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_sequence_users_seq")
+        @SequenceGenerator(name = "benchmark_sequence_users_seq", sequenceName = "benchmark_sequence_users_seq",
+            allocationSize = 50)
+        private Long id;
+        private String email;
+        @OneToOne(mappedBy = "user", cascade = CascadeType.PERSIST)
+        private SequencePassword password;
+
+        protected SequenceUser() {
+        }
+
+        SequenceUser(String email) {
+            this.email = email;
+            this.password = new SequencePassword(this);
+        }
+    }
+
+    @Entity
+    @Table(name = "benchmark_sequence_passwords")
+    static class SequencePassword {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_sequence_passwords_seq")
+        @SequenceGenerator(name = "benchmark_sequence_passwords_seq",
+            sequenceName = "benchmark_sequence_passwords_seq", allocationSize = 50)
+        private Long id;
+        private String password;
+        @OneToOne
+        private SequenceUser user;
+
+        protected SequencePassword() {
+        }
+
+        SequencePassword(SequenceUser user) {
+            this.password = "hash";
+            this.user = user;
+        }
+    }
+}
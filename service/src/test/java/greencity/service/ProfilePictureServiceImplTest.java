@@ -0,0 +1,184 @@
+package greencity.service;
+
+import greencity.client.RestClient;
+import greencity.enums.ProfilePictureSize;
+import greencity.exception.exceptions.NotFoundException;
+import greencity.repository.UserRepo;
+import greencity.validator.ImageProbe;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.multipart.MultipartFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProfilePictureServiceImplTest {
+    private static final String PICTURE_PATH = "picture-path";
+
+    @Mock
+    private RestClient restClient;
+    @Mock
+    private UserRepo userRepo;
+
+    private ProfilePictureServiceImpl profilePictureService;
+
+    @BeforeEach
+    void setUp() {
+        Executor directExecutor = Runnable::run;
+        profilePictureService = new ProfilePictureServiceImpl(restClient, userRepo, directExecutor,
+            ImageProbe.withDefaults(), 0.8f, 1_000_000L);
+        when(userRepo.getProfilePicturePathByUserId(1L)).thenReturn(Optional.of(PICTURE_PATH));
+        when(userRepo.saveProfilePictureThumbnailPath(eq(1L), anyString(), anyString(), eq(PICTURE_PATH)))
+            .thenReturn(1);
+    }
+
+    @Test
+    void createThumbnailsTest() throws IOException {
+        MultipartFile image = new MultipartFileImpl("mainFile", "picture.png", "image/png", png(640, 480));
+        when(restClient.getAccessToken()).thenReturn("Bearer token");
+        when(restClient.uploadImage(any(MultipartFile.class), eq("Bearer token"))).thenReturn("thumbnail-path");
+
+        profilePictureService.createThumbnails(1L, PICTURE_PATH, image);
+
+        for (ProfilePictureSize size : ProfilePictureSize.values()) {
+            byte[] thumbnail = profilePictureService.getCachedThumbnail(1L, size).orElseThrow();
+            BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(thumbnail));
+            assertEquals(size.getDimension(), decoded.getWidth());
+            assertEquals(size.getDimension(), decoded.getHeight());
+            verify(userRepo).saveProfilePictureThumbnailPath(1L, size.name(), "thumbnail-path", PICTURE_PATH);
+        }
+        verify(restClient, times(ProfilePictureSize.values().length))
+            .uploadImage(any(MultipartFile.class), eq("Bearer token"));
+    }
+
+    @Test
+    void createThumbnailsOfReplacedPictureAreDroppedTest() throws IOException {
+        MultipartFile image = new MultipartFileImpl("mainFile", "picture.png", "image/png", png(300, 300));
+        when(userRepo.getProfilePicturePathByUserId(1L)).thenReturn(Optional.of("newer-picture-path"));
+
+        profilePictureService.createThumbnails(1L, PICTURE_PATH, image);
+
+        assertTrue(profilePictureService.getCachedThumbnail(1L, ProfilePictureSize.SMALL).isEmpty());
+        verify(restClient, never()).uploadImage(any(MultipartFile.class), any());
+        verify(userRepo, never()).saveProfilePictureThumbnailPath(any(), any(), any(), any());
+    }
+
+    @Test
+    void createThumbnailsOfPictureReplacedBeforeSaveAreDroppedTest() throws IOException {
+        MultipartFile image = new MultipartFileImpl("mainFile", "picture.png", "image/png", png(300, 300));
+        when(restClient.uploadImage(any(MultipartFile.class), any())).thenReturn("thumbnail-path");
+        when(userRepo.saveProfilePictureThumbnailPath(eq(1L), anyString(), anyString(), eq(PICTURE_PATH)))
+            .thenReturn(0);
+
+        profilePictureService.createThumbnails(1L, PICTURE_PATH, image);
+
+        for (ProfilePictureSize size : ProfilePictureSize.values()) {
+            assertTrue(profilePictureService.getCachedThumbnail(1L, size).isEmpty());
+        }
+        verify(restClient, times(1)).uploadImage(any(MultipartFile.class), any());
+    }
+
+    @Test
+    void createThumbnailsOfDeletedPictureAreDroppedTest() throws IOException {
+        MultipartFile image = new MultipartFileImpl("mainFile", "picture.png", "image/png", png(300, 300));
+        when(userRepo.getProfilePicturePathByUserId(1L)).thenReturn(Optional.empty());
+
+        profilePictureService.createThumbnails(1L, PICTURE_PATH, image);
+
+        verify(restClient, never()).uploadImage(any(MultipartFile.class), any());
+    }
+
+    @Test
+    void createThumbnailsSkipsUnsupportedImageTest() {
+        MultipartFile image = new MultipartFileImpl("mainFile", "picture.png", "image/png", new byte[] {1, 2, 3});
+
+        profilePictureService.createThumbnails(1L, PICTURE_PATH, image);
+
+        assertTrue(profilePictureService.getCachedThumbnail(1L, ProfilePictureSize.SMALL).isEmpty());
+        verify(restClient, never()).uploadImage(any(MultipartFile.class), anyString());
+    }
+
+    @Test
+    void createThumbnailsRejectedTest() throws IOException {
+        Executor rejectingExecutor = task -> {
+            throw new RejectedExecutionException();
+        };
+        profilePictureService = new ProfilePictureServiceImpl(restClient, userRepo, rejectingExecutor,
+            ImageProbe.withDefaults(), 0.8f, 1000L);
+        MultipartFile image = new MultipartFileImpl("mainFile", "picture.png", "image/png", png(10, 10));
+
+        profilePictureService.createThumbnails(1L, PICTURE_PATH, image);
+
+        assertFalse(profilePictureService.getCachedThumbnail(1L, ProfilePictureSize.SMALL).isPresent());
+    }
+
+    @Test
+    void resizeCropsToSquareTest() {
+        BufferedImage resized = profilePictureService.resize(new BufferedImage(1000, 300, BufferedImage.TYPE_INT_ARGB),
+            ProfilePictureSize.MEDIUM.getDimension());
+        assertEquals(128, resized.getWidth());
+        assertEquals(128, resized.getHeight());
+        assertEquals(BufferedImage.TYPE_INT_RGB, resized.getType());
+    }
+
+    @Test
+    void getThumbnailPathTest() {
+        when(userRepo.findProfilePictureThumbnailPath(1L, "SMALL")).thenReturn(Optional.of("small-path"));
+        assertEquals("small-path", profilePictureService.getThumbnailPath(1L, ProfilePictureSize.SMALL));
+    }
+
+    @Test
+    void getThumbnailPathFallsBackToOriginalTest() {
+        when(userRepo.findProfilePictureThumbnailPath(1L, "SMALL")).thenReturn(Optional.empty());
+        when(userRepo.getProfilePicturePathByUserId(1L)).thenReturn(Optional.of("original-path"));
+        assertEquals("original-path", profilePictureService.getThumbnailPath(1L, ProfilePictureSize.SMALL));
+    }
+
+    @Test
+    void getThumbnailPathNotFoundTest() {
+        when(userRepo.findProfilePictureThumbnailPath(1L, "SMALL")).thenReturn(Optional.empty());
+        when(userRepo.getProfilePicturePathByUserId(1L)).thenReturn(Optional.empty());
+        assertThrows(NotFoundException.class,
+            () -> profilePictureService.getThumbnailPath(1L, ProfilePictureSize.SMALL));
+    }
+
+    @Test
+    void deleteThumbnailsTest() throws IOException {
+        MultipartFile image = new MultipartFileImpl("mainFile", "picture.png", "image/png", png(300, 300));
+        profilePictureService.createThumbnails(1L, PICTURE_PATH, image);
+
+        profilePictureService.deleteThumbnails(1L);
+
+        assertTrue(profilePictureService.getCachedThumbnail(1L, ProfilePictureSize.LARGE).isEmpty());
+        verify(userRepo).deleteProfilePictureThumbnails(1L);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
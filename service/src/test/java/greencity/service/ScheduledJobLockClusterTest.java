@@ -0,0 +1,177 @@
+package greencity.service;
+
+import greencity.entity.SchedulerLock;
+import greencity.repository.SchedulerLockRepo;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts two application contexts against one Postgres database, as two
+ * replicas of the application would, and checks that a job runs on one of them
+ * only.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ScheduledJobLockClusterTest {
+    private static final String JOB = "cluster-job";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private ConfigurableApplicationContext firstNode;
+    private ConfigurableApplicationContext secondNode;
+
+    @BeforeAll
+    static void createTable() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+            POSTGRES.getPassword()); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE scheduler_locks (name VARCHAR(64) PRIMARY KEY, "
+                + "locked_until TIMESTAMP WITH TIME ZONE NOT NULL, locked_at TIMESTAMP WITH TIME ZONE NOT NULL, "
+                + "locked_by VARCHAR(255) NOT NULL)");
+        }
+    }
+
+    @BeforeEach
+    void startNodes() {
+        firstNode = startNode();
+        secondNode = startNode();
+        firstNode.getBean(SchedulerLockRepo.class).deleteAll();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        firstNode.close();
+        secondNode.close();
+    }
+
+    @Test
+    void jobRunsOnOneNodeWhenBothFireTogetherTest() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> results = List.of(
+                executor.submit(() -> runOn(firstNode, start, runs)),
+                executor.submit(() -> runOn(secondNode, start, runs)));
+            start.countDown();
+            long ran = 0;
+            for (Future<Boolean> result : results) {
+                ran += Boolean.TRUE.equals(result.get(30, TimeUnit.SECONDS)) ? 1 : 0;
+            }
+            assertEquals(1, ran);
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void leaseIsKeptForAtLeastTheGivenTimeTest() throws Exception {
+        ScheduledJobLock first = firstNode.getBean(ScheduledJobLock.class);
+        ScheduledJobLock second = secondNode.getBean(ScheduledJobLock.class);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(first.runLocked(JOB, Duration.ofMinutes(1), Duration.ofSeconds(2), runs::incrementAndGet));
+        assertFalse(second.runLocked(JOB, Duration.ofMinutes(1), Duration.ofSeconds(2), runs::incrementAndGet));
+
+        Thread.sleep(2500);
+
+        assertTrue(second.runLocked(JOB, Duration.ofMinutes(1), Duration.ofSeconds(2), runs::incrementAndGet));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverTest() throws Exception {
+        ScheduledJobLock first = firstNode.getBean(ScheduledJobLock.class);
+        ScheduledJobLock second = secondNode.getBean(ScheduledJobLock.class);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> stuck = executor.submit(() -> first.runLocked(JOB, Duration.ofSeconds(1), Duration.ZERO,
+                () -> {
+                    firstRunning.countDown();
+                    await(secondDone);
+                }));
+            firstRunning.await(10, TimeUnit.SECONDS);
+            Thread.sleep(1500);
+
+            assertTrue(second.runLocked(JOB, Duration.ofMinutes(1), Duration.ZERO, runs::incrementAndGet));
+            secondDone.countDown();
+            assertTrue(stuck.get(10, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean runOn(ConfigurableApplicationContext node, CountDownLatch start, AtomicInteger runs)
+        throws InterruptedException {
+        start.await();
+        return node.getBean(ScheduledJobLock.class).runLocked(JOB, Duration.ofMinutes(1), Duration.ofMinutes(1),
+            runs::incrementAndGet);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(NodeConfig.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "spring.datasource.username=" + POSTGRES.getUsername(),
+                "spring.datasource.password=" + POSTGRES.getPassword(),
+                "spring.jpa.hibernate.ddl-auto=none",
+                "spring.main.banner-mode=off")
+            .run();
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = SchedulerLock.class)
+    @EnableJpaRepositories(basePackageClasses = SchedulerLockRepo.class, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = SchedulerLockRepo.class))
+    @Import(ScheduledJobLock.class)
+    static class NodeConfig {
+    }
+}
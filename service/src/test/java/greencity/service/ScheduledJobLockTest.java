@@ -0,0 +1,93 @@
+package greencity.service;
+
+import greencity.repository.SchedulerLockRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledJobLockTest {
+    private static final String JOB = "test-job";
+    private static final String NODE = "node-1";
+    private static final Duration AT_MOST = Duration.ofMinutes(10);
+    private static final Duration AT_LEAST = Duration.ofMinutes(5);
+
+    @Mock
+    private SchedulerLockRepo schedulerLockRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ScheduledJobLock scheduledJobLock;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduledJobLock = new ScheduledJobLock(schedulerLockRepo, NODE, meterRegistry);
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    void runLockedRunsJobAndReleasesLeaseTest() {
+        when(schedulerLockRepo.tryAcquire(JOB, NODE, 600_000L)).thenReturn(1);
+        when(schedulerLockRepo.release(JOB, NODE, 300_000L)).thenReturn(1);
+
+        assertTrue(scheduledJobLock.runLocked(JOB, AT_MOST, AT_LEAST, runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        verify(schedulerLockRepo).release(JOB, NODE, 300_000L);
+        assertEquals(1, leaseCount("acquired"));
+        assertEquals(1, meterRegistry.get("greencity.scheduler.lease.held").tag("job", JOB).timer().count());
+    }
+
+    @Test
+    void runLockedSkipsJobWhenLeaseIsTakenTest() {
+        when(schedulerLockRepo.tryAcquire(JOB, NODE, 600_000L)).thenReturn(0);
+
+        assertFalse(scheduledJobLock.runLocked(JOB, AT_MOST, AT_LEAST, runs::incrementAndGet));
+
+        assertEquals(0, runs.get());
+        verify(schedulerLockRepo, never()).release(JOB, NODE, 300_000L);
+        assertEquals(1, leaseCount("skipped"));
+    }
+
+    @Test
+    void runLockedSkipsJobWhenDatabaseFailsTest() {
+        when(schedulerLockRepo.tryAcquire(JOB, NODE, 600_000L)).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertFalse(scheduledJobLock.runLocked(JOB, AT_MOST, AT_LEAST, runs::incrementAndGet));
+
+        assertEquals(0, runs.get());
+        assertEquals(1, leaseCount("error"));
+    }
+
+    @Test
+    void runLockedReleasesLeaseWhenJobFailsTest() {
+        when(schedulerLockRepo.tryAcquire(JOB, NODE, 600_000L)).thenReturn(1);
+        when(schedulerLockRepo.release(JOB, NODE, 300_000L)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> scheduledJobLock.runLocked(JOB, AT_MOST, AT_LEAST, () -> {
+            throw new IllegalStateException();
+        }));
+
+        verify(schedulerLockRepo).release(JOB, NODE, 300_000L);
+        assertEquals(1, leaseCount("lost"));
+    }
+
+    private double leaseCount(String outcome) {
+        return meterRegistry.get("greencity.scheduler.lease").tag("job", JOB).tag("outcome", outcome).counter()
+            .count();
+    }
+}
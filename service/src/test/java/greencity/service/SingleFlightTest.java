@@ -0,0 +1,182 @@
+package greencity.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private static final String KEY = "test@gmail.com";
+    private static final int CALLERS = 50;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, Object> singleFlight;
+    private CountDownLatch release;
+    private AtomicInteger lookups;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("users-by-email", 1, meterRegistry);
+        release = new CountDownLatch(1);
+        lookups = new AtomicInteger();
+    }
+
+    @Test
+    void concurrentCallsOfOneKeyShareOneLookupTest() throws Exception {
+        Object user = new Object();
+        List<Future<Object>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(KEY, blockingLookup(() -> user))));
+            }
+            awaitCount("joined", CALLERS - 1);
+            release.countDown();
+            for (Future<Object> result : results) {
+                assertSame(user, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, count("led"));
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void joinedCallersGetTheirOwnCopyTest() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        SingleFlight<String, List<String>> copyingFlight =
+            new SingleFlight<>("users-by-email", 1, meterRegistry, ArrayList::new);
+        List<String> user = new ArrayList<>(List.of("name"));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<String>> leader = executor.submit(() -> copyingFlight.execute(KEY, () -> {
+                blockingLookup(() -> user).get();
+                return user;
+            }));
+            awaitCount("led", 1);
+            Future<List<String>> joined = executor.submit(() -> copyingFlight.execute(KEY, ArrayList::new));
+            awaitCount("joined", 1);
+            release.countDown();
+
+            assertSame(user, leader.get(5, TimeUnit.SECONDS));
+            user.add("changed by the leader");
+            List<String> copy = joined.get(5, TimeUnit.SECONDS);
+            assertNotSame(user, copy);
+            assertEquals(List.of("name"), copy);
+        }
+    }
+
+    @Test
+    void exceptionOfLookupIsThrownToJoinedCallersTest() throws Exception {
+        IllegalStateException exception = new IllegalStateException("not found");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute(KEY, blockingLookup(() -> {
+                throw exception;
+            })));
+            awaitCount("led", 1);
+            Future<Object> joined = executor.submit(() -> singleFlight.execute(KEY, blockingLookup(Object::new)));
+            awaitCount("joined", 1);
+            release.countDown();
+
+            assertSame(exception, assertThrows(Exception.class, leader::get).getCause());
+            assertSame(exception, assertThrows(Exception.class, joined::get).getCause());
+        }
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void fullTableRunsLookupAloneTest() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute(KEY, blockingLookup(Object::new)));
+            awaitCount("led", 1);
+
+            assertEquals("other", singleFlight.execute("other@gmail.com", () -> "other"));
+            assertEquals(1, count("bypassed"));
+
+            release.countDown();
+            leader.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void nullKeyRunsLookupAloneTest() {
+        assertNull(singleFlight.execute(null, () -> null));
+        assertEquals("found", singleFlight.execute(null, () -> "found"));
+
+        assertEquals(0, count("led"));
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void completedFlightIsNotSharedWithLaterCallsTest() {
+        assertEquals("first", singleFlight.execute(KEY, () -> "first"));
+        assertEquals("second", singleFlight.execute(KEY, () -> "second"));
+
+        assertEquals(2, count("led"));
+        assertEquals(0, count("joined"));
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void forgottenFlightIsNotJoinedTest() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("users-by-email", 2, meterRegistry);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute(KEY, blockingLookup(() -> "stale")));
+            awaitCount("led", 1);
+            singleFlight.forget(KEY);
+
+            assertEquals("fresh", singleFlight.execute(KEY, () -> "fresh"));
+
+            release.countDown();
+            assertEquals("stale", leader.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(0, count("joined"));
+    }
+
+    private Supplier<Object> blockingLookup(Supplier<Object> result) {
+        return () -> {
+            lookups.incrementAndGet();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    private void awaitCount(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(outcome) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, count(outcome));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("greencity.user.lookup.flights").tag("outcome", outcome).counter().count();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("greencity.user.lookup.flights.in-flight").gauge().value();
+    }
+}
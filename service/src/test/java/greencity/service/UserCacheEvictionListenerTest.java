@@ -0,0 +1,79 @@
+package greencity.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import greencity.constant.CacheConstants;
+import greencity.dto.user.UserVO;
+import greencity.events.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UserCacheEvictionListenerTest {
+    private static final String EMAIL = "test@gmail.com";
+    private static final String OTHER_EMAIL = "other@gmail.com";
+
+    private CacheManager cacheManager;
+    private UserCacheEvictionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        CacheConstants.USER_CACHES
+            .forEach(name -> caffeineCacheManager.registerCustomCache(name, Caffeine.newBuilder().build()));
+        cacheManager = caffeineCacheManager;
+        listener = new UserCacheEvictionListener(cacheManager, new UserLookupFlights(10, new SimpleMeterRegistry()));
+        put(1L, EMAIL);
+        put(2L, OTHER_EMAIL);
+    }
+
+    @Test
+    void onUserChangedEvictsUserByIdAndEmailTest() {
+        listener.onUserChanged(new UserChangedEvent(this, 1L, EMAIL));
+
+        assertNull(cacheManager.getCache(CacheConstants.USERS_BY_ID).get(1L));
+        assertNull(cacheManager.getCache(CacheConstants.PROFILE_PICTURE_PATHS).get(1L));
+        assertNull(cacheManager.getCache(CacheConstants.USERS_BY_EMAIL).get(EMAIL));
+        assertNull(cacheManager.getCache(CacheConstants.USER_IDS_BY_EMAIL).get(EMAIL));
+        assertNull(cacheManager.getCache(CacheConstants.USER_UUIDS_BY_EMAIL).get(EMAIL));
+        assertNotNull(cacheManager.getCache(CacheConstants.USERS_BY_ID).get(2L));
+        assertNotNull(cacheManager.getCache(CacheConstants.USERS_BY_EMAIL).get(OTHER_EMAIL));
+    }
+
+    @Test
+    void onUserChangedWithoutEmailEvictsEntriesOfUserTest() {
+        listener.onUserChanged(new UserChangedEvent(this, 1L, null));
+
+        assertNull(cacheManager.getCache(CacheConstants.USERS_BY_ID).get(1L));
+        assertNull(cacheManager.getCache(CacheConstants.USERS_BY_EMAIL).get(EMAIL));
+        assertNull(cacheManager.getCache(CacheConstants.USER_IDS_BY_EMAIL).get(EMAIL));
+        assertEquals("uuid-1", cacheManager.getCache(CacheConstants.USER_UUIDS_BY_EMAIL).get(EMAIL).get());
+        assertNotNull(cacheManager.getCache(CacheConstants.USERS_BY_EMAIL).get(OTHER_EMAIL));
+        assertNotNull(cacheManager.getCache(CacheConstants.USER_IDS_BY_EMAIL).get(OTHER_EMAIL));
+    }
+
+    @Test
+    void onUserChangedForAllUsersClearsCachesTest() {
+        listener.onUserChanged(UserChangedEvent.allUsers(this));
+
+        for (String name : CacheConstants.USER_CACHES) {
+            assertNull(cacheManager.getCache(name).get(1L));
+            assertNull(cacheManager.getCache(name).get(2L));
+            assertNull(cacheManager.getCache(name).get(EMAIL));
+            assertNull(cacheManager.getCache(name).get(OTHER_EMAIL));
+        }
+    }
+
+    private void put(Long id, String email) {
+        UserVO user = UserVO.builder().id(id).email(email).build();
+        cacheManager.getCache(CacheConstants.USERS_BY_ID).put(id, user);
+        cacheManager.getCache(CacheConstants.USERS_BY_EMAIL).put(email, user);
+        cacheManager.getCache(CacheConstants.USER_IDS_BY_EMAIL).put(email, id);
+        cacheManager.getCache(CacheConstants.USER_UUIDS_BY_EMAIL).put(email, "uuid-" + id);
+        cacheManager.getCache(CacheConstants.PROFILE_PICTURE_PATHS).put(id, "picture-" + id);
+    }
+}
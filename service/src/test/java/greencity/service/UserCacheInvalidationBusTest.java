@@ -0,0 +1,169 @@
+package greencity.service;
+
+import greencity.config.CacheConfig;
+import greencity.config.CacheInvalidationConfig;
+import greencity.constant.CacheConstants;
+import greencity.dto.user.UserVO;
+import greencity.events.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs two nodes on one Postgres database and checks that a user changed on one
+ * node is evicted from the caches of the other.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserCacheInvalidationBusTest {
+    private static final String EMAIL = "test@gmail.com";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startNodes() {
+        first = startNode();
+        second = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        first.close();
+        second.close();
+    }
+
+    @BeforeEach
+    void awaitListeners() {
+        await().atMost(10, TimeUnit.SECONDS).until(() -> first.getBean(UserCacheInvalidationBus.class).isListening()
+            && second.getBean(UserCacheInvalidationBus.class).isListening());
+    }
+
+    @Test
+    void userChangedOnOneNodeIsEvictedOnOtherNodeTest() {
+        putUser(second, 1L, EMAIL);
+        putUser(second, 2L, "other@gmail.com");
+
+        first.publishEvent(new UserChangedEvent(this, 1L, EMAIL));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cache(second, CacheConstants.USERS_BY_ID).get(1L) == null);
+        assertNull(cache(second, CacheConstants.USERS_BY_EMAIL).get(EMAIL));
+        assertNull(cache(second, CacheConstants.USER_IDS_BY_EMAIL).get(EMAIL));
+        assertNotNull(cache(second, CacheConstants.USERS_BY_ID).get(2L));
+        assertNotNull(cache(second, CacheConstants.USERS_BY_EMAIL).get("other@gmail.com"));
+    }
+
+    @Test
+    void changeOfRolledBackTransactionIsNotSentTest() {
+        putUser(second, 3L, "third@gmail.com");
+        putUser(second, 4L, "fourth@gmail.com");
+        TransactionTemplate transactionTemplate =
+            new TransactionTemplate(first.getBean(PlatformTransactionManager.class));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            first.publishEvent(new UserChangedEvent(this, 3L, "third@gmail.com"));
+            status.setRollbackOnly();
+        });
+        transactionTemplate
+            .executeWithoutResult(status -> first.publishEvent(new UserChangedEvent(this, 4L, "fourth@gmail.com")));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cache(second, CacheConstants.USERS_BY_ID).get(4L) == null);
+        assertNotNull(cache(second, CacheConstants.USERS_BY_ID).get(3L));
+        assertNotNull(cache(second, CacheConstants.USERS_BY_EMAIL).get("third@gmail.com"));
+    }
+
+    @Test
+    void failedNotificationDoesNotAbortTransactionOfChangeTest() {
+        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate =
+            new TransactionTemplate(first.getBean(PlatformTransactionManager.class));
+        String tooLongEmail = "a".repeat(9000) + "@gmail.com";
+        putUser(second, 6L, "sixth@gmail.com");
+
+        Integer afterChange = transactionTemplate.execute(status -> {
+            first.publishEvent(new UserChangedEvent(this, 7L, tooLongEmail));
+            return jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+        });
+        first.publishEvent(new UserChangedEvent(this, 6L, "sixth@gmail.com"));
+
+        assertEquals(1, afterChange);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cache(second, CacheConstants.USERS_BY_ID).get(6L) == null);
+    }
+
+    @Test
+    void cachesAreClearedWhenConnectionIsRestoredTest() {
+        putUser(second, 5L, "fifth@gmail.com");
+
+        first.getBean(JdbcTemplate.class).queryForList(
+            "SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = ?",
+            UserCacheInvalidationBus.APPLICATION_NAME);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache(second, CacheConstants.USERS_BY_ID).get(5L) == null);
+        assertNull(cache(second, CacheConstants.USERS_BY_EMAIL).get("fifth@gmail.com"));
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(NodeConfig.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "spring.datasource.username=" + POSTGRES.getUsername(),
+                "spring.datasource.password=" + POSTGRES.getPassword(),
+                "greencity.cache.invalidation.poll-ms=100",
+                "greencity.cache.invalidation.reconnect-delay-ms=100",
+                "spring.main.banner-mode=off")
+            .run();
+    }
+
+    private static void putUser(ConfigurableApplicationContext node, Long id, String email) {
+        UserVO user = UserVO.builder().id(id).email(email).build();
+        cache(node, CacheConstants.USERS_BY_ID).put(id, user);
+        cache(node, CacheConstants.USERS_BY_EMAIL).put(email, user);
+        cache(node, CacheConstants.USER_IDS_BY_EMAIL).put(email, id);
+    }
+
+    private static Cache cache(ConfigurableApplicationContext node, String name) {
+        return node.getBean(CacheManager.class).getCache(name);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @Import({CacheConfig.class, CacheInvalidationConfig.class, UserCacheEvictionListener.class,
+        UserLookupFlights.class, UserCacheInvalidationBus.class})
+    static class NodeConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
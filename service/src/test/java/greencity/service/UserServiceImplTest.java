@@ -15,27 +15,33 @@ import greencity.dto.user.*;
 import greencity.entity.*;
 import greencity.enums.EmailNotification;
 import greencity.enums.Role;
+import greencity.events.UserChangedEvent;
 import greencity.exception.exceptions.*;
 import greencity.filters.UserSpecification;
 import greencity.repository.LanguageRepo;
+import greencity.repository.PurgeCheckpointRepo;
 import greencity.repository.UserDeactivationRepo;
 import greencity.repository.UserRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.provider.Arguments;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.TypeToken;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
@@ -68,6 +74,22 @@ class UserServiceImplTest {
     @Mock
     LanguageRepo languageRepo;
 
+    @Mock
+    ProfilePictureService profilePictureService;
+
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
+
+    @Spy
+    ChunkedPurgeExecutor purgeExecutor = new ChunkedPurgeExecutor(1000, 0L, 60000L,
+        mock(PurgeCheckpointRepo.class), new SimpleMeterRegistry());
+
+    @Mock
+    ScheduledJobLock scheduledJobLock;
+
+    @Spy
+    UserLookupFlights lookupFlights = new UserLookupFlights(10, new SimpleMeterRegistry());
+
     private User user = User.builder()
         .id(1L)
         .name("Taras")
@@ -145,8 +167,48 @@ class UserServiceImplTest {
 
     @Test
     void scheduleDeleteDeactivatedUsers() {
-        when(userRepo.scheduleDeleteDeactivatedUsers()).thenReturn(1);
+        when(userRepo.findDeactivatedUserIdsToDelete(0L, 1000)).thenReturn(List.of(1L));
+        when(userRepo.deleteDeactivatedUsersByIds(List.of(1L))).thenReturn(1);
         assertEquals(1, userService.scheduleDeleteDeactivatedUsers());
+        verify(applicationEventPublisher).publishEvent(argThat((UserChangedEvent event) -> event.isAllUsers()));
+    }
+
+    @Test
+    void scheduleDeleteDeactivatedUsersWithoutRowsDoesNotClearCachesTest() {
+        when(userRepo.findDeactivatedUserIdsToDelete(0L, 1000)).thenReturn(List.of());
+        assertEquals(0, userService.scheduleDeleteDeactivatedUsers());
+        verify(applicationEventPublisher, never()).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void scheduleDeleteCreatedUsers() {
+        when(userRepo.findCreatedUserIdsToDelete(0L, 1000)).thenReturn(List.of(1L, 2L));
+        when(userRepo.deleteCreatedUsersByIds(List.of(1L, 2L))).thenReturn(2);
+        assertEquals(2, userService.scheduleDeleteCreatedUsers());
+    }
+
+    @Test
+    void deleteNotActivatedUsersTest() {
+        when(scheduledJobLock.runLocked(eq("not-activated-users"), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                invocation.<Runnable>getArgument(3).run();
+                return true;
+            });
+        when(userRepo.findCreatedUserIdsToDelete(0L, 1000)).thenReturn(List.of(1L));
+        when(userRepo.deleteCreatedUsersByIds(List.of(1L))).thenReturn(1);
+
+        userService.deleteNotActivatedUsers();
+
+        verify(userRepo).deleteCreatedUsersByIds(List.of(1L));
+    }
+
+    @Test
+    void deleteNotActivatedUsersLeaseHeldByAnotherNodeTest() {
+        when(scheduledJobLock.runLocked(eq("not-activated-users"), any(), any(), any())).thenReturn(false);
+
+        userService.deleteNotActivatedUsers();
+
+        verify(userRepo, never()).deleteCreatedUsersByIds(any());
     }
 
     @Test
@@ -170,7 +232,7 @@ class UserServiceImplTest {
     void updateUserStatusDeactivatedTest() {
         when(userRepo.findById(userId2)).thenReturn(Optional.of(user2));
         when(modelMapper.map(user2, UserVO.class)).thenReturn(userVO2);
-        when(userRepo.findByEmail(any())).thenReturn(Optional.of(user2));
+        when(userRepo.findByEmail(user2.getEmail())).thenReturn(Optional.of(user2));
         when(modelMapper.map(Optional.of(user2), UserVO.class)).thenReturn(userVO2);
         when(userRepo.findById(userId)).thenReturn(Optional.of(user));
         when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
@@ -179,7 +241,7 @@ class UserServiceImplTest {
         UserStatusDto value = new UserStatusDto();
         value.setUserStatus(DEACTIVATED);
         when(modelMapper.map(user, UserStatusDto.class)).thenReturn(value);
-        assertEquals(DEACTIVATED, userService.updateStatus(userId, DEACTIVATED, any()).getUserStatus());
+        assertEquals(DEACTIVATED, userService.updateStatus(userId, DEACTIVATED, user2.getEmail()).getUserStatus());
     }
 
     @Test
@@ -259,6 +321,9 @@ class UserServiceImplTest {
         when(modelMapper.map(userVO, User.class)).thenReturn(user);
         userService.deleteById(userId);
         verify(userRepo).delete(user);
+        verify(applicationEventPublisher)
+            .publishEvent(argThat((UserChangedEvent event) -> userId.equals(event.getUserId())
+                && userVO.getEmail().equals(event.getEmail())));
     }
 
     @Test
@@ -268,6 +333,13 @@ class UserServiceImplTest {
         assertEquals(2L, (long) userService.findIdByEmail(email));
     }
 
+    @Test
+    void findByEmailWithoutEmailTest() {
+        when(userRepo.findByEmail(null)).thenReturn(Optional.empty());
+
+        assertNull(userService.findByEmail(null));
+    }
+
     @Test
     void findIdByEmailNotFound() {
         String email = "email";
@@ -275,6 +347,16 @@ class UserServiceImplTest {
         assertThrows(WrongEmailException.class, () -> userService.findIdByEmail(email));
     }
 
+    @Test
+    void findIdByEmailNotFoundThrowsWithoutStackTrace() {
+        WrongEmailException thrown = assertThrows(WrongEmailException.class,
+            () -> userService.findIdByEmail("email"));
+
+        assertEquals(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, thrown.getMessage());
+        assertEquals(0, thrown.getStackTrace().length);
+        assertSame(thrown, assertThrows(WrongEmailException.class, () -> userService.findUuIdByEmail("email")));
+    }
+
     @Test
     void findUuIdByEmailTest() {
         String email = "email";
@@ -434,6 +516,19 @@ class UserServiceImplTest {
                 "test"));
     }
 
+    @Test
+    void updateUserProfilePictureCreatesThumbnailsTest() {
+        MultipartFile image = new MultipartFileImpl("mainFile", "picture.png", "image/png", new byte[] {1});
+        when(userRepo.findByEmail(userEmail)).thenReturn(Optional.of(user));
+        when(restClient.uploadImage(image)).thenReturn("picture-path");
+        when(userRepo.save(user)).thenReturn(user);
+        when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
+
+        assertEquals(userVO, userService.updateUserProfilePicture(image, userEmail, null));
+        assertEquals("picture-path", user.getProfilePicturePath());
+        verify(profilePictureService).createThumbnails(user.getId(), "picture-path", image);
+    }
+
     @Test
     void geTUserProfileStatistics() {
         when(restClient.findAmountOfPublishedNews(TestConst.SIMPLE_LONG_NUMBER))
@@ -512,6 +607,7 @@ class UserServiceImplTest {
         LocalDateTime currentTime = LocalDateTime.now();
         userService.updateUserLastActivityTime(userId, currentTime);
         verify(userRepo).updateUserLastActivityTime(userId, currentTime);
+        verifyNoInteractions(applicationEventPublisher);
     }
 
     @Test
@@ -595,13 +691,11 @@ class UserServiceImplTest {
     }
 
     @Test
-    void findNotDeactivatedByEmailShouldThrowNotFoundException() {
-        when(userRepo.findByEmail(anyString())).thenReturn(Optional.empty());
+    void findNotDeactivatedByEmailReturnsEmptyForUnknownEmail() {
+        when(userRepo.findNotDeactivatedByEmail(anyString())).thenReturn(Optional.empty());
 
-        Exception thrown = assertThrows(NotFoundException.class,
-            () -> userService.findNotDeactivatedByEmail("test@gmail.com"));
-
-        assertEquals(ErrorMessage.USER_NOT_FOUND_BY_EMAIL, thrown.getMessage());
+        assertEquals(Optional.empty(), userService.findNotDeactivatedByEmail("test@gmail.com"));
+        verify(modelMapper, never()).map(any(), eq(UserVO.class));
     }
 
     @Test
@@ -652,7 +746,9 @@ class UserServiceImplTest {
     @Test
     void deactivateAllUsers() {
         List<Long> longList = List.of(1L, 2L);
+        when(userRepo.deactivateSelectedUsers(longList)).thenReturn(2);
         assertEquals(longList, userService.deactivateAllUsers(longList));
+        verify(applicationEventPublisher).publishEvent(argThat((UserChangedEvent event) -> event.isAllUsers()));
     }
 
     @Test
@@ -806,6 +902,9 @@ class UserServiceImplTest {
         when(modelMapper.map(user, UserVO.class)).thenReturn(userVO);
         userService.deleteUserProfilePicture(email);
         assertNull(user.getProfilePicturePath());
+        verify(profilePictureService).deleteThumbnails(user.getId());
+        verify(applicationEventPublisher)
+            .publishEvent(argThat((UserChangedEvent event) -> email.equals(event.getEmail())));
     }
 
     @Test